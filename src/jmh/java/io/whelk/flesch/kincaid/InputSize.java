@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Benchmark inputs built from the test corpus under
+ * {@code src/test/resources/io/whelk/flesch/kincaid/corpus}.
+ * 
+ * @since 0.1.12
+ */
+public enum InputSize {
+
+  /** one sentence, nine words */
+  SHORT,
+
+  /** one paragraph, about 140 words */
+  PARAGRAPH,
+
+  /** the whole corpus repeated to roughly 25,000 words */
+  BOOK;
+
+  private static final List<String> CORPUS = List.of("cinderella", "gettysburg", "dialogue", "technical");
+  private static final int BOOK_WORDS = 25_000;
+
+  public String text() {
+    switch (this) {
+      case SHORT:
+        return "The quick brown fox jumps over the lazy dog.";
+      case PARAGRAPH:
+        return corpus("cinderella");
+      default:
+        return book();
+    }
+  }
+
+  private static String book() {
+    var book = new StringBuilder();
+    var words = 0;
+
+    while (words < BOOK_WORDS) {
+      for (var name : CORPUS) {
+        var text = corpus(name);
+        book.append(text).append("\n\n");
+        words += text.split("\\s+").length;
+      }
+    }
+
+    return book.toString();
+  }
+
+  private static String corpus(String name) {
+    try (var in = InputSize.class.getResourceAsStream("corpus/" + name + ".txt")) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end scoring from raw text.
+ * 
+ * @since 0.1.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadabilityCalculatorBenchmark {
+
+  @Param
+  public InputSize size;
+
+  private String content;
+  private ReadabilityAnalyzer ruleBased;
+
+  @Setup
+  public void setUp() {
+    content = size.text();
+    ruleBased = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+  }
+
+  @Benchmark
+  public double calculateReadingEase() {
+    return ReadabilityCalculator.calculateReadingEase(content);
+  }
+
+  @Benchmark
+  public double calculateGradeLevel() {
+    return ReadabilityCalculator.calculateGradeLevel(content);
+  }
+
+  @Benchmark
+  public ReadabilityReport analyze() {
+    return ReadabilityCalculator.analyze(content);
+  }
+
+  @Benchmark
+  public ReadabilityReport analyzeRuleBased() {
+    return ruleBased.analyze(content);
+  }
+
+  @Benchmark
+  public ReadabilityReport analyzeParallel() {
+    return ReadabilityAnalyzer.defaultAnalyzer().analyzeParallel(content);
+  }
+
+  @Benchmark
+  public ReadabilityReport analyzeRuleBasedParallel() {
+    return ruleBased.analyzeParallel(content);
+  }
+
+}
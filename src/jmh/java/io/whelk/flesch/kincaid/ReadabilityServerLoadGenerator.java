@@ -0,0 +1,225 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load test of {@link ReadabilityServer}: sends requests at a fixed
+ * rate whether or not earlier ones have answered, and reports latency
+ * percentiles measured from each request's scheduled send time, so a stalled
+ * server shows up as queueing delay instead of silently lowering the offered
+ * load. Shed requests ({@code 503}) are counted apart and kept out of the
+ * percentiles.
+ * 
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.whelk.flesch.kincaid.ReadabilityServerLoadGenerator \
+ *     -Dexec.args="--rps 200 --duration 30 --input PARAGRAPH"
+ * </pre>
+ * 
+ * Without {@code --url} an in-process server is started on an ephemeral port.
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityServerLoadGenerator {
+
+  private final HttpClient client = HttpClient.newBuilder() //
+      .version(HttpClient.Version.HTTP_1_1) //
+      .connectTimeout(Duration.ofSeconds(5)) //
+      .build();
+
+  private final URI uri;
+  private final String body;
+  private final String contentType;
+  private final int rps;
+
+  private ReadabilityServerLoadGenerator(URI uri, String body, String contentType, int rps) {
+    this.uri = uri;
+    this.body = body;
+    this.contentType = contentType;
+    this.rps = rps;
+  }
+
+  public static void main(String[] args) throws Exception {
+    String url = null;
+    var rps = 100;
+    var duration = 30;
+    var warmup = 5;
+    var batch = 1;
+    var input = InputSize.PARAGRAPH;
+    var engine = TokenizerEngine.coreNlp();
+    var threads = 0;
+
+    for (var i = 0; i < args.length; i++) {
+      var arg = args[i];
+      var value = i + 1 < args.length ? args[++i] : "";
+      switch (arg) {
+        case "--url":
+          url = value;
+          break;
+        case "--rps":
+          rps = Integer.parseInt(value);
+          break;
+        case "--duration":
+          duration = Integer.parseInt(value);
+          break;
+        case "--warmup":
+          warmup = Integer.parseInt(value);
+          break;
+        case "--batch":
+          batch = Integer.parseInt(value);
+          break;
+        case "--threads":
+          threads = Integer.parseInt(value);
+          break;
+        case "--input":
+          input = InputSize.valueOf(value.toUpperCase(Locale.ROOT));
+          break;
+        case "--engine":
+          engine = value.equals("rule-based") ? TokenizerEngine.ruleBased() : TokenizerEngine.coreNlp();
+          break;
+        default:
+          throw new IllegalArgumentException("unknown option " + arg);
+      }
+    }
+
+    ReadabilityServer server = null;
+    if (url == null) {
+      if (engine == TokenizerEngine.coreNlp())
+        CoreNlpPipeline.defaultPipeline().warmUp();
+
+      server = ReadabilityServer.builder() //
+          .analyzer(ReadabilityAnalyzer.builder().tokenizer(engine).build()) //
+          .threads(threads) //
+          .build() //
+          .start();
+      url = "http://localhost:" + server.getPort();
+    }
+
+    var text = input.text();
+    var path = batch > 1 ? ReadabilityServer.BATCH_PATH : ReadabilityServer.SCORE_PATH;
+    var body = batch > 1 //
+        ? "[" + String.join(",", Collections.nCopies(batch, Json.quote(text))) + "]"
+        : text;
+    var contentType = batch > 1 ? "application/json" : "text/plain";
+    var generator = new ReadabilityServerLoadGenerator(URI.create(url + path), body, contentType, rps);
+
+    try {
+      System.out.printf(Locale.ROOT, "%s: %d requests/s of %s x%d for %d s after %d s warm-up%n", //
+          url + path, rps, input, batch, duration, warmup);
+      generator.run(warmup);
+      generator.run(duration).print();
+    } finally {
+      if (server != null)
+        server.close();
+    }
+  }
+
+  private Result run(int seconds) throws InterruptedException {
+    var requests = (int) Math.min(Integer.MAX_VALUE, (long) rps * seconds);
+    var interval = TimeUnit.SECONDS.toNanos(1) / rps;
+    var result = new Result(requests, seconds);
+    var start = System.nanoTime();
+
+    for (var i = 0; i < requests; i++) {
+      var scheduled = start + i * interval;
+      var wait = scheduled - System.nanoTime();
+      if (wait > 0)
+        LockSupport.parkNanos(wait);
+
+      var index = i;
+      var request = HttpRequest.newBuilder(uri) //
+          .header("Content-Type", contentType) //
+          .timeout(Duration.ofSeconds(30)) //
+          .POST(HttpRequest.BodyPublishers.ofString(body)) //
+          .build();
+
+      client.sendAsync(request, HttpResponse.BodyHandlers.discarding()) //
+          .whenComplete((response, error) -> result.record(index, scheduled, response, error));
+    }
+
+    result.await(TimeUnit.SECONDS.toNanos(30));
+    return result;
+  }
+
+  private static final class Result {
+
+    final long[] latencies;
+    final int seconds;
+    final LongAdder ok = new LongAdder();
+    final LongAdder shed = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final AtomicLong completed = new AtomicLong();
+
+    Result(int requests, int seconds) {
+      this.latencies = new long[requests];
+      this.seconds = seconds;
+      Arrays.fill(latencies, -1);
+    }
+
+    void record(int index, long scheduled, HttpResponse<Void> response, Throwable error) {
+      var latency = System.nanoTime() - scheduled;
+      if (error != null || response.statusCode() != 200 && response.statusCode() != 503)
+        failed.increment();
+      else if (response.statusCode() == 503)
+        shed.increment();
+      else {
+        latencies[index] = latency;
+        ok.increment();
+      }
+      completed.incrementAndGet();
+    }
+
+    void await(long timeoutNanos) throws InterruptedException {
+      var deadline = System.nanoTime() + timeoutNanos;
+      while (completed.get() < latencies.length && System.nanoTime() < deadline)
+        Thread.sleep(10);
+    }
+
+    void print() {
+      var sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+      var unanswered = latencies.length - completed.get();
+
+      System.out.printf(Locale.ROOT, "sent %d, ok %d (%.1f/s), shed %d, failed %d, unanswered %d%n", //
+          latencies.length, ok.sum(), ok.sum() / (double) seconds, shed.sum(), failed.sum(), unanswered);
+      if (sorted.length == 0)
+        return;
+
+      System.out.printf(Locale.ROOT, "latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n", //
+          millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+          sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+      var index = (int) Math.ceil(quantile * sorted.length) - 1;
+      return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Syllable counting over the words of each input, through the shared
+ * {@link SyllableCache} and straight through the hyphenation engine.
+ * 
+ * @since 0.1.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyllableBenchmark {
+
+  @Param
+  public InputSize size;
+
+  private List<String> words;
+  private SyllableCounter hyphenation;
+  private SyllableDictionary dictionary;
+
+  @Setup
+  public void setUp() throws IOException {
+    words = Tokenizer.tokenizeSentences(Tokenizer.tokenizeContent(size.text()));
+    hyphenation = SyllableCounter.hyphenation();
+
+    var file = Files.createTempFile("syllables", ".dict");
+    file.toFile().deleteOnExit();
+    SyllableDictionary.write(words, file);
+    dictionary = SyllableDictionary.open(file);
+  }
+
+  @Benchmark
+  public long countSyllables() {
+    return ReadabilityCalculator.countSyllables(words);
+  }
+
+  @Benchmark
+  public long countSyllablesUncached() {
+    var total = 0L;
+    for (var word : words)
+      total += hyphenation.countSyllables(word);
+    return total;
+  }
+
+  @Benchmark
+  public long countSyllablesDictionary() {
+    var total = 0L;
+    for (var word : words)
+      total += dictionary.countSyllables(word);
+    return total;
+  }
+
+}
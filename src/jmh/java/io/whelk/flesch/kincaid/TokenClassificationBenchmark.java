@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.whelk.flesch.kincaid.PennTreebankValidator.PennTreebankTag;
+
+/**
+ * Per-token classification cost: word filtering through the default
+ * {@link TokenFilterPolicy} and the letters-only check ahead of hyphenation.
+ * The {@code legacy*} benchmarks keep the pre-0.1.12 enum scan over an
+ * invalid tag list and the regex as a baseline; compare their
+ * {@code gc.alloc.rate.norm} (bytes per token) with the current path.
+ * 
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.includes=TokenClassificationBenchmark
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenClassificationBenchmark {
+
+  private static final List<PennTreebankTag> legacyInvalidWordTags = List.of( //
+      PennTreebankTag.UNKNOWN, //
+      PennTreebankTag.POS, //
+      PennTreebankTag.SYM);
+
+  @State(Scope.Benchmark)
+  public static class Tags {
+
+    /** a common tag, the last word tag, possessive and punctuation */
+    @Param({ "NN", "WRB", "POS", "." })
+    public String posTag;
+
+  }
+
+  @State(Scope.Benchmark)
+  public static class Words {
+
+    @Param({ "the", "stepchild", "U.S." })
+    public String word;
+
+  }
+
+  @Benchmark
+  public boolean isWordTag(Tags tags) {
+    return PennTreebankValidator.isWordTag(tags.posTag);
+  }
+
+  @Benchmark
+  public boolean legacyIsWordTag(Tags tags) {
+    var tag = Arrays //
+        .stream(PennTreebankTag.values()) //
+        .filter(p -> p.name().equals(tags.posTag)) //
+        .findFirst() //
+        .orElse(PennTreebankTag.UNKNOWN);
+
+    return !legacyInvalidWordTags.contains(tag);
+  }
+
+  @Benchmark
+  public boolean isAsciiLetters(Words words) {
+    return ReadabilityCalculator.isAsciiLetters(words.word);
+  }
+
+  @Benchmark
+  public boolean legacyIsAsciiLetters(Words words) {
+    return words.word.matches("[a-zA-Z]+");
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Level;
+import edu.stanford.nlp.simple.Sentence;
+
+/**
+ * Sentence splitting, POS tagging and word filtering through the shared
+ * {@link CoreNlpPipeline}. {@code tokenizeContent} tags every token up front,
+ * so {@code tokenizeSentences} measures only the word filter.
+ * 
+ * @since 0.1.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenizerBenchmark {
+
+  @Param
+  public InputSize size;
+
+  private String content;
+  private List<Sentence> sentences;
+
+  @Setup(Level.Trial)
+  public void setUpContent() {
+    content = size.text();
+    sentences = Tokenizer.tokenizeContent(content);
+  }
+
+  @Benchmark
+  public List<Sentence> tokenizeContent() {
+    return Tokenizer.tokenizeContent(content);
+  }
+
+  @Benchmark
+  public List<String> tokenizeSentences() {
+    return Tokenizer.tokenizeSentences(sentences);
+  }
+
+}
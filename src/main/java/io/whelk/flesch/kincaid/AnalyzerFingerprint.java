@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import io.whelk.hy.phen.Hyphenator;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Hash of everything besides the content that decides a report: library
+ * versions, tokenizer, syllable counter and familiar words. {@link ResultCache}
+ * mixes it into each key, so analyzers configured differently never share
+ * results, even through a shared {@link ResultStore}, and an upgrade scores
+ * stored content again.
+ * 
+ * <p>
+ * Built-in components describe their settings. A custom
+ * {@link TokenizerEngine} or {@link SyllableCounter} is opaque, so it is
+ * identified by instance and by a nonce drawn once per JVM: its results are
+ * reused only by the analyzer that produced them, and never from a store after
+ * a restart.
+ * 
+ * @since 0.1.12
+ */
+@UtilityClass
+class AnalyzerFingerprint {
+
+  private static final String NONCE = UUID.randomUUID().toString();
+
+  private static final String VERSIONS = "whelk-flesch-kincaid " //
+      + mavenVersion(ReadabilityAnalyzer.class, "io.whelk.flesch.kincaid", "whelk-flesch-kincaid") //
+      + " whelk-hy-phen-a-tion " //
+      + mavenVersion(Hyphenator.class, "io.whelk.hy.phen", "whelk-hy-phen-a-tion") //
+      + " corenlp " + StanfordCoreNLP.class.getPackage().getImplementationVersion();
+
+  /**
+   * @param analyzer to describe
+   * @return hash of the configuration of {@code analyzer}
+   */
+  static ContentHash of(ReadabilityAnalyzer analyzer) {
+    return ContentHash.of(String.join("\n", //
+        VERSIONS, //
+        describe(analyzer.getTokenizer()), //
+        describe(analyzer.getSyllableCounter()), //
+        describe(analyzer.getFamiliarWords())));
+  }
+
+  static String describe(TokenizerEngine tokenizer) {
+    if (tokenizer instanceof CoreNlpTokenizerEngine)
+      return ((CoreNlpTokenizerEngine) tokenizer).fingerprint();
+    if (tokenizer instanceof RuleBasedTokenizerEngine)
+      return "rule-based";
+    return opaque(tokenizer);
+  }
+
+  static String describe(SyllableCounter counter) {
+    if (counter instanceof SyllableCache)
+      return describe(((SyllableCache) counter).getDelegate());
+    if (counter instanceof HyphenationSyllableCounter)
+      return "hyphenation";
+    if (counter instanceof VowelGroupSyllableCounter)
+      return ((VowelGroupSyllableCounter) counter).fingerprint();
+    if (counter instanceof SyllableDictionary) {
+      var dictionary = (SyllableDictionary) counter;
+      return dictionary.fingerprint() + " then " + describe(dictionary.getFallback());
+    }
+    return opaque(counter);
+  }
+
+  static String describe(Set<String> familiarWords) {
+    return familiarWords == null //
+        ? "no familiar words"
+        : "familiar words " + ContentHash.of(String.join(" ", new TreeSet<>(familiarWords)));
+  }
+
+  private static String opaque(Object component) {
+    return component.getClass().getName() + "@" + System.identityHashCode(component) + " " + NONCE;
+  }
+
+  /** version recorded by the Maven build, or {@code unknown} outside a jar */
+  private static String mavenVersion(Class<?> type, String groupId, String artifactId) {
+    var resource = "/META-INF/maven/" + groupId + "/" + artifactId + "/pom.properties";
+    try (InputStream in = type.getResourceAsStream(resource)) {
+      if (in == null)
+        return "unknown";
+
+      var properties = new Properties();
+      properties.load(in);
+      return properties.getProperty("version", "unknown");
+    } catch (IOException e) {
+      return "unknown";
+    }
+  }
+
+}
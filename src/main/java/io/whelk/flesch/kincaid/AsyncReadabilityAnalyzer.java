@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Builder;
+
+/**
+ * Asynchronous facade over a {@link ReadabilityAnalyzer} that scores on a
+ * dedicated, bounded pool of CPU threads, keeping tokenizing and tagging off
+ * request and I/O threads.
+ * 
+ * <p>
+ * At most {@code threads + queueCapacity} documents are accepted at once.
+ * Once saturated, {@link SaturationPolicy#REJECT} fails new futures
+ * immediately with {@link RejectedExecutionException}, while
+ * {@link SaturationPolicy#QUEUE} blocks the submitting thread until a slot
+ * frees up, which is cheap on virtual threads.
+ * 
+ * <p>
+ * Cancelling a future before its document starts removes the document from
+ * the queue and frees its slot at once; a document already being scored runs
+ * to completion and its result is discarded. Returned futures complete on
+ * pool threads, so chain slow stages with the {@code *Async} methods and an
+ * executor of your own.
+ * 
+ * <pre>
+ * try (var async = AsyncReadabilityAnalyzer.builder() //
+ *     .threads(4) //
+ *     .queueCapacity(256) //
+ *     .build()) {
+ *   async.analyze(content) //
+ *       .orTimeout(2, TimeUnit.SECONDS) //
+ *       .thenAccept(report -&gt; respond(report.getReadingEase()));
+ * }
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class AsyncReadabilityAnalyzer implements AutoCloseable {
+
+  private static final AtomicInteger POOL_IDS = new AtomicInteger();
+
+  private final ReadabilityAnalyzer analyzer;
+  private final SaturationPolicy saturationPolicy;
+  private final ThreadPoolExecutor pool;
+  private final Semaphore slots;
+
+  /**
+   * Behaviour when every thread is busy and the queue is full.
+   */
+  public enum SaturationPolicy {
+
+    /** fail the returned future with {@link RejectedExecutionException} */
+    REJECT,
+
+    /** block the submitting thread until a slot frees up */
+    QUEUE
+
+  }
+
+  /**
+   * @param analyzer         to score with, defaults to
+   *                         {@link ReadabilityAnalyzer#defaultAnalyzer()}
+   * @param threads          scoring threads, defaults to the number of
+   *                         available processors
+   * @param queueCapacity    documents waiting for a thread, defaults to 16 per
+   *                         thread
+   * @param saturationPolicy behaviour once saturated, defaults to
+   *                         {@link SaturationPolicy#REJECT}
+   */
+  @Builder
+  private AsyncReadabilityAnalyzer(ReadabilityAnalyzer analyzer, int threads, int queueCapacity,
+      SaturationPolicy saturationPolicy) {
+    if (threads < 0 || queueCapacity < 0)
+      throw new IllegalArgumentException("threads and queueCapacity must not be negative");
+
+    var poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    var capacity = queueCapacity > 0 ? queueCapacity : poolSize * 16;
+    var poolId = POOL_IDS.incrementAndGet();
+    var threadIds = new AtomicInteger();
+
+    this.analyzer = analyzer != null ? analyzer : ReadabilityAnalyzer.defaultAnalyzer();
+    this.saturationPolicy = saturationPolicy != null ? saturationPolicy : SaturationPolicy.REJECT;
+    this.slots = new Semaphore(poolSize + capacity);
+    this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+        runnable -> {
+          var thread = new Thread(runnable, "readability-" + poolId + "-" + threadIds.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Score {@code content} on the pool.
+   * 
+   * @param content to score
+   * @return future report; failed with {@link RejectedExecutionException} if
+   *         rejected or closed
+   */
+  public CompletableFuture<ReadabilityReport> analyze(String content) {
+    if (pool.isShutdown())
+      return CompletableFuture.failedFuture(new RejectedExecutionException("analyzer is closed"));
+
+    if (saturationPolicy == SaturationPolicy.REJECT) {
+      if (!slots.tryAcquire())
+        return CompletableFuture.failedFuture(new RejectedExecutionException("analyzer is saturated"));
+    } else {
+      try {
+        slots.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return CompletableFuture.failedFuture(new RejectedExecutionException("interrupted waiting for a slot", e));
+      }
+    }
+
+    var future = new CompletableFuture<ReadabilityReport>();
+    Runnable task = () -> {
+      try {
+        if (!future.isDone())
+          future.complete(analyzer.analyze(content));
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      } finally {
+        slots.release();
+      }
+    };
+
+    try {
+      pool.execute(task);
+    } catch (RejectedExecutionException e) {
+      slots.release();
+      future.completeExceptionally(e);
+      return future;
+    }
+
+    // a task still queued never runs, so its slot is released here instead
+    future.whenComplete((report, e) -> {
+      if (future.isCancelled() && pool.remove(task))
+        slots.release();
+    });
+
+    return future;
+  }
+
+  /**
+   * @return documents accepted but not yet started
+   */
+  public int getQueuedCount() {
+    return pool.getQueue().size();
+  }
+
+  /**
+   * @return documents being scored
+   */
+  public int getActiveCount() {
+    return pool.getActiveCount();
+  }
+
+  /**
+   * Stop accepting documents. Documents already accepted are still scored.
+   */
+  @Override
+  public void close() {
+    pool.shutdown();
+  }
+
+  /**
+   * @param timeout to wait
+   * @param unit    of {@code timeout}
+   * @return true if every accepted document finished in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return pool.awaitTermination(timeout, unit);
+  }
+
+}
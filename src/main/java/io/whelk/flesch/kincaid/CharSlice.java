@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * Reusable, mutable {@link CharSequence} view over a range of another sequence.
+ * Lets engines hand out token text without copying it into a new
+ * {@code String}.
+ * 
+ * @since 0.1.12
+ */
+final class CharSlice implements CharSequence {
+
+  private CharSequence source;
+  private int begin;
+  private int end;
+
+  CharSlice reset(CharSequence source, int begin, int end) {
+    this.source = source;
+    this.begin = begin;
+    this.end = end;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return end - begin;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return source.charAt(begin + index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return source.subSequence(begin + start, begin + end);
+  }
+
+  @Override
+  public String toString() {
+    return source.subSequence(begin, end).toString();
+  }
+
+}
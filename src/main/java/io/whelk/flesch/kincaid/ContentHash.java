@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import lombok.Value;
+
+/**
+ * 128-bit MurmurHash3 (x64 variant) of a document's UTF-16 code units, used
+ * as the identity of cached results. Collisions are negligible at any
+ * realistic cache size, so content is never compared character by character.
+ * 
+ * @since 0.1.12
+ */
+@Value
+public class ContentHash {
+
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  long high;
+  long low;
+
+  /**
+   * @param content to hash
+   * @return hash of {@code content}, equal to Murmur3 x64 128 over its
+   *         UTF-16LE bytes with seed zero
+   */
+  public static ContentHash of(CharSequence content) {
+    var length = content.length();
+    var blocks = length / 8;
+    long h1 = 0;
+    long h2 = 0;
+
+    for (int block = 0; block < blocks; block++) {
+      var i = block * 8;
+      var k1 = chars(content, i, 4);
+      var k2 = chars(content, i + 4, 4);
+
+      h1 ^= mixK1(k1);
+      h1 = Long.rotateLeft(h1, 27);
+      h1 += h2;
+      h1 = h1 * 5 + 0x52dce729;
+
+      h2 ^= mixK2(k2);
+      h2 = Long.rotateLeft(h2, 31);
+      h2 += h1;
+      h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    var tail = blocks * 8;
+    var remaining = length - tail;
+    if (remaining > 4)
+      h2 ^= mixK2(chars(content, tail + 4, remaining - 4));
+    if (remaining > 0)
+      h1 ^= mixK1(chars(content, tail, Math.min(remaining, 4)));
+
+    h1 ^= length * 2L;
+    h2 ^= length * 2L;
+
+    h1 += h2;
+    h2 += h1;
+
+    h1 = fmix(h1);
+    h2 = fmix(h2);
+
+    h1 += h2;
+    h2 += h1;
+
+    return new ContentHash(h1, h2);
+  }
+
+  /**
+   * @param hex 32 hexadecimal digits from {@link #toString()}
+   * @return parsed hash
+   * @throws IllegalArgumentException if {@code hex} is malformed
+   */
+  public static ContentHash parse(String hex) {
+    if (hex == null || hex.length() != 32)
+      throw new IllegalArgumentException("expected 32 hexadecimal digits: " + hex);
+
+    try {
+      return new ContentHash(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+          Long.parseUnsignedLong(hex.substring(16), 16));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("expected 32 hexadecimal digits: " + hex, e);
+    }
+  }
+
+  /**
+   * @param scope hash of the configuration that produced a result
+   * @return hash identifying this content under {@code scope}
+   */
+  ContentHash scoped(ContentHash scope) {
+    var h1 = fmix(high ^ scope.high);
+    var h2 = fmix(low ^ scope.low);
+    h1 += h2;
+    h2 += h1;
+    return new ContentHash(h1, h2);
+  }
+
+  /**
+   * @return 32 lower-case hexadecimal digits
+   */
+  @Override
+  public String toString() {
+    return hex(high) + hex(low);
+  }
+
+  private static String hex(long value) {
+    var digits = Long.toHexString(value);
+    return "0".repeat(16 - digits.length()) + digits;
+  }
+
+  /** little-endian packing of up to four UTF-16 code units */
+  private static long chars(CharSequence content, int begin, int count) {
+    long k = 0;
+    for (int i = count - 1; i >= 0; i--)
+      k = (k << 16) | content.charAt(begin + i);
+    return k;
+  }
+
+  private static long mixK1(long k1) {
+    k1 *= C1;
+    k1 = Long.rotateLeft(k1, 31);
+    return k1 * C2;
+  }
+
+  private static long mixK2(long k2) {
+    k2 *= C2;
+    k2 = Long.rotateLeft(k2, 33);
+    return k2 * C1;
+  }
+
+  private static long fmix(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import edu.stanford.nlp.io.IOUtils;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.Annotator;
+import edu.stanford.nlp.pipeline.AnnotatorImplementations;
+import edu.stanford.nlp.pipeline.AnnotatorPool;
+import edu.stanford.nlp.pipeline.DefaultPaths;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.util.Lazy;
+import io.whelk.flesch.kincaid.ReadabilityMetrics.Stage;
+import lombok.Value;
+
+/**
+ * Shared CoreNLP pipeline that loads only the annotators this library needs:
+ * {@code tokenize}, {@code ssplit} and {@code pos}. Models load lazily on first
+ * use, or eagerly through {@link #warmUp()} so the multi-second POS tagger
+ * load happens at startup instead of on the first request after a deploy.
+ * 
+ * <p>
+ * A pipeline is safe to share across threads; annotating documents
+ * concurrently does not reload or copy the models. Pipelines with equal
+ * properties share one set of annotators, loaded once. Annotators are pooled
+ * by the full property set rather than in CoreNLP's process-wide pool, which
+ * is keyed by annotator name, so pipelines with different models never hand
+ * each other their annotators.
+ * 
+ * @since 0.1.12
+ */
+public final class CoreNlpPipeline {
+
+  private static final Map<Map<Object, Object>, AnnotatorPool> POOLS = new ConcurrentHashMap<>();
+  private static final CoreNlpPipeline DEFAULT = new CoreNlpPipeline(defaultProperties());
+
+  private final Properties properties;
+  private volatile StanfordCoreNLP pipeline;
+  private List<StageAnnotator> stages;
+
+  /**
+   * @param properties CoreNLP configuration; must list the {@code tokenize},
+   *                   {@code ssplit} and {@code pos} annotators and no others
+   */
+  public CoreNlpPipeline(Properties properties) {
+    this.properties = (Properties) properties.clone();
+  }
+
+  /**
+   * @return pipeline shared by {@link TokenizerEngine#coreNlp()}
+   */
+  public static CoreNlpPipeline defaultPipeline() {
+    return DEFAULT;
+  }
+
+  /**
+   * @return English {@code tokenize}, {@code ssplit} and {@code pos}
+   *         configuration matching the CoreNLP simple API
+   */
+  public static Properties defaultProperties() {
+    var properties = new Properties();
+    properties.setProperty("annotators", "tokenize,ssplit,pos");
+    properties.setProperty("language", "english");
+    properties.setProperty("tokenize.class", "PTBTokenizer");
+    properties.setProperty("tokenize.language", "en");
+    return properties;
+  }
+
+  /**
+   * Load the annotators and models now, if not already loaded.
+   * 
+   * @return time spent and approximate heap retained by this call; zero if the
+   *         pipeline was already loaded
+   * @throws IllegalStateException if a required model is missing
+   */
+  public StartupReport warmUp() {
+    if (pipeline != null)
+      return new StartupReport(Duration.ZERO, 0);
+
+    var memory = ManagementFactory.getMemoryMXBean();
+    var heapBefore = memory.getHeapMemoryUsage().getUsed();
+    var start = System.nanoTime();
+
+    pipeline();
+
+    var loadTime = Duration.ofNanos(System.nanoTime() - start);
+    var heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+    return new StartupReport(loadTime, Math.max(0, heapAfter - heapBefore));
+  }
+
+  /**
+   * Verify that every configured annotator is one this pipeline supports and
+   * that the models they load are present on the classpath or file system,
+   * without loading them. Of the supported annotators only {@code pos} loads
+   * a model. Called before the pipeline loads, so a trimmed deployment
+   * missing a model fails with its name instead of midway through loading.
+   * 
+   * @throws IllegalStateException if an annotator is unsupported or a
+   *                               required model is missing
+   */
+  public void checkModels() {
+    for (var annotator : properties.getProperty("annotators", "").split(",")) {
+      annotator = annotator.strip();
+      if (annotator.isEmpty() || annotator.equals("tokenize") || annotator.equals("ssplit"))
+        continue;
+      if (!annotator.equals("pos"))
+        throw new IllegalStateException("annotator " + annotator + " is not supported; use tokenize, ssplit and pos");
+
+      var model = properties.getProperty("pos.model", DefaultPaths.DEFAULT_POS_MODEL);
+      if (!IOUtils.existsInClasspathOrFileSystem(model))
+        throw new IllegalStateException("POS tagger model " + model
+            + " not found; add the stanford-corenlp models jar or use the lite distribution");
+    }
+  }
+
+  /**
+   * @return configuration sorted by key, for {@link AnalyzerFingerprint}
+   */
+  String fingerprint() {
+    return new TreeMap<>(properties).toString();
+  }
+
+  /**
+   * @return annotators timed as stages, in pipeline order; empty until loaded
+   */
+  List<Annotator> stageAnnotators() {
+    if (pipeline == null)
+      return List.of();
+
+    return stages.stream().map(StageAnnotator::getAnnotator).collect(Collectors.toList());
+  }
+
+  /**
+   * @return true once annotators and models are loaded
+   */
+  public boolean isLoaded() {
+    return pipeline != null;
+  }
+
+  /**
+   * @param content to tokenize, split and tag
+   * @return annotated document
+   */
+  Annotation annotate(String content) {
+    return annotate(content, ReadabilityMetrics.noop());
+  }
+
+  /**
+   * @param content to tokenize, split and tag
+   * @param metrics to time each annotator with, when enabled
+   * @return annotated document
+   */
+  Annotation annotate(String content, ReadabilityMetrics metrics) {
+    var annotation = new Annotation(content);
+    var loaded = pipeline();
+
+    if (!metrics.isEnabled()) {
+      loaded.annotate(annotation);
+      return annotation;
+    }
+
+    for (var stage : stages) {
+      var start = System.nanoTime();
+      stage.getAnnotator().annotate(annotation);
+      if (stage.getStage() != null)
+        metrics.recordLatency(stage.getStage(), System.nanoTime() - start);
+    }
+
+    return annotation;
+  }
+
+  private StanfordCoreNLP pipeline() {
+    var loaded = pipeline;
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = pipeline;
+        if (loaded == null) {
+          checkModels();
+          var pool = POOLS.computeIfAbsent(Map.copyOf(properties), key -> annotatorPool(properties));
+          loaded = new StanfordCoreNLP(properties, true, pool);
+          // published by the volatile write below
+          stages = stagesOf(loaded, pool);
+          pipeline = loaded;
+        }
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Pool of the annotators this library supports, each built from
+   * {@code properties} on first use and shared by every pipeline with equal
+   * properties.
+   */
+  private static AnnotatorPool annotatorPool(Properties properties) {
+    var implementations = new AnnotatorImplementations();
+    var pool = new AnnotatorPool();
+    pool.register("tokenize", properties, Lazy.cache(() -> implementations.tokenizer(properties)));
+    pool.register("ssplit", properties, Lazy.cache(() -> implementations.wordToSentences(properties)));
+    pool.register("pos", properties, Lazy.cache(() -> implementations.posTagger(properties)));
+    return pool;
+  }
+
+  /**
+   * CoreNLP 4.5 folds {@code ssplit} into {@code tokenize}; annotators other
+   * than these and {@code pos} run untimed.
+   */
+  private static List<StageAnnotator> stagesOf(StanfordCoreNLP pipeline, AnnotatorPool pool) {
+    var stages = new ArrayList<StageAnnotator>();
+
+    for (var name : pipeline.getProperties().getProperty("annotators").split(",")) {
+      name = name.strip();
+      if (name.isEmpty())
+        continue;
+
+      Stage stage = null;
+      if (name.equals("tokenize") || name.equals("ssplit"))
+        stage = Stage.SENTENCE_SPLITTING;
+      else if (name.equals("pos"))
+        stage = Stage.POS_TAGGING;
+
+      stages.add(new StageAnnotator(pool.get(name), stage));
+    }
+
+    return List.copyOf(stages);
+  }
+
+  @Value
+  private static class StageAnnotator {
+
+    Annotator annotator;
+    Stage stage;
+
+  }
+
+  /**
+   * Cost of loading a pipeline. Heap usage is sampled without forcing a
+   * collection, so it includes transient garbage created while loading.
+   */
+  @Value
+  public static class StartupReport {
+
+    Duration loadTime;
+    long heapBytes;
+
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import edu.stanford.nlp.ling.CoreAnnotations.CharacterOffsetEndAnnotation;
+import edu.stanford.nlp.ling.CoreAnnotations.SentencesAnnotation;
+import edu.stanford.nlp.ling.CoreAnnotations.TokensAnnotation;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.util.CoreMap;
+import io.whelk.flesch.kincaid.ReadabilityMetrics.Stage;
+
+/**
+ * {@link TokenizerEngine} backed by a shared {@link CoreNlpPipeline} and a
+ * {@link TokenFilterPolicy}. Tags are filtered before any visitor or syllable
+ * work.
+ * 
+ * @since 0.1.12
+ */
+final class CoreNlpTokenizerEngine implements TokenizerEngine {
+
+  static final CoreNlpTokenizerEngine INSTANCE = new CoreNlpTokenizerEngine(CoreNlpPipeline.defaultPipeline(),
+      TokenFilterPolicy.defaultPolicy());
+
+  private final CoreNlpPipeline pipeline;
+  private final TokenFilterPolicy filter;
+
+  CoreNlpTokenizerEngine(CoreNlpPipeline pipeline, TokenFilterPolicy filter) {
+    this.pipeline = pipeline;
+    this.filter = filter;
+  }
+
+  /**
+   * @return pipeline configuration and filter, for {@link AnalyzerFingerprint}
+   */
+  String fingerprint() {
+    return "corenlp " + pipeline.fingerprint() + " " + filter.fingerprint();
+  }
+
+  @Override
+  public void tokenize(String content, TokenVisitor visitor) {
+    tokenize(content, visitor, ReadabilityMetrics.noop());
+  }
+
+  @Override
+  public void tokenize(String content, TokenVisitor visitor, ReadabilityMetrics metrics) {
+    if (content == null)
+      return;
+
+    var sentences = pipeline.annotate(content, metrics).get(SentencesAnnotation.class);
+
+    if (!metrics.isEnabled()) {
+      for (CoreMap sentence : sentences)
+        visit(sentence, visitor);
+      return;
+    }
+
+    // exclude time spent in the visitor, which records its own stages
+    var start = System.nanoTime();
+    var visiting = 0L;
+    for (CoreMap sentence : sentences) {
+      for (CoreLabel token : sentence.get(TokensAnnotation.class)) {
+        if (filter.accepts(token.tag())) {
+          var visitStart = System.nanoTime();
+          visitor.word(token.originalText());
+          visiting += System.nanoTime() - visitStart;
+        }
+      }
+      visitor.endSentence(sentence.get(CharacterOffsetEndAnnotation.class));
+    }
+    metrics.recordLatency(Stage.TOKEN_FILTERING, System.nanoTime() - start - visiting);
+  }
+
+  private void visit(CoreMap sentence, TokenVisitor visitor) {
+    for (CoreLabel token : sentence.get(TokensAnnotation.class)) {
+      if (filter.accepts(token.tag()))
+        visitor.word(token.originalText());
+    }
+    visitor.endSentence(sentence.get(CharacterOffsetEndAnnotation.class));
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link ResultStore} holding each report in
+ * {@code directory/<first two hex digits>/<hash>} as the space-separated
+ * sentence, word, syllable, character, polysyllable, complex-word and
+ * unfamiliar-word counts followed by the write time in epoch milliseconds.
+ * Malformed files read as absent and are rewritten on the next miss.
+ * 
+ * @since 0.1.12
+ */
+final class FileResultStore implements ResultStore {
+
+  private final Path directory;
+
+  FileResultStore(Path directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public StoredReport load(ContentHash hash) {
+    String line;
+    try {
+      line = Files.readString(pathOf(hash), StandardCharsets.UTF_8).strip();
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    var counts = line.split(" ");
+    if (counts.length != 8)
+      return null;
+
+    try {
+      var report = ReadabilityReport.builder() //
+          .sentenceCount(Long.parseLong(counts[0])) //
+          .wordCount(Long.parseLong(counts[1])) //
+          .syllableCount(Long.parseLong(counts[2])) //
+          .characterCount(Long.parseLong(counts[3])) //
+          .polysyllableCount(Long.parseLong(counts[4])) //
+          .complexWordCount(Long.parseLong(counts[5])) //
+          .unfamiliarWordCount(Long.parseLong(counts[6])) //
+          .build();
+      return new StoredReport(report, Long.parseLong(counts[7]));
+    } catch (NumberFormatException e) {
+      // torn or foreign file, treat as absent
+      return null;
+    }
+  }
+
+  @Override
+  public void save(ContentHash hash, StoredReport stored) {
+    var path = pathOf(hash);
+    var report = stored.getReport();
+    var line = report.getSentenceCount() //
+        + " " + report.getWordCount() //
+        + " " + report.getSyllableCount() //
+        + " " + report.getCharacterCount() //
+        + " " + report.getPolysyllableCount() //
+        + " " + report.getComplexWordCount() //
+        + " " + report.getUnfamiliarWordCount() //
+        + " " + stored.getWrittenAt() + "\n";
+
+    try {
+      Files.createDirectories(path.getParent());
+      var temp = Files.createTempFile(path.getParent(), hash.toString(), ".tmp");
+      try {
+        Files.writeString(temp, line, StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path pathOf(ContentHash hash) {
+    var hex = hash.toString();
+    return directory.resolve(hex.substring(0, 2)).resolve(hex);
+  }
+
+}
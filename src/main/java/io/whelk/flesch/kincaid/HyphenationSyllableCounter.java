@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import io.whelk.hy.phen.Hyphenator;
+
+/**
+ * {@link SyllableCounter} backed by {@link Hyphenator}, returned by
+ * {@link SyllableCounter#hyphenation()}.
+ * 
+ * @since 0.1.12
+ */
+final class HyphenationSyllableCounter implements SyllableCounter {
+
+  static final HyphenationSyllableCounter INSTANCE = new HyphenationSyllableCounter();
+
+  private HyphenationSyllableCounter() {}
+
+  @Override
+  public int countSyllables(String word) {
+    // null or empty strings have no syllables
+    if (word == null || word.trim().isEmpty())
+      return 0;
+
+    if (!ReadabilityCalculator.isAsciiLetters(word)) {
+      // the hyphenation patterns are ASCII, fall back to vowel groups
+      if (ReadabilityCalculator.isLetters(word))
+        return VowelGroupSyllableCounter.ENGLISH.countSyllables(word);
+
+      // words with special characters are likely abbreviated NNP or NNPS, count as 1
+      return 1;
+    }
+
+    return Hyphenator.hyphen(word).syllables().size();
+  }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader and string encoder for line-delimited records. Objects
+ * parse to {@link Map}, arrays to {@link List}, numbers to {@link Double}.
+ * Objects and arrays nest at most {@value #MAX_DEPTH} deep, so hostile input
+ * is rejected instead of overflowing the stack.
+ * 
+ * @since 0.1.12
+ */
+final class Json {
+
+  static final int MAX_DEPTH = 256;
+
+  private final String text;
+  private int position;
+  private int depth;
+
+  private Json(String text) {
+    this.text = text;
+  }
+
+  /**
+   * @param text single JSON value
+   * @return parsed value
+   * @throws IllegalArgumentException if {@code text} is not valid JSON
+   */
+  static Object parse(String text) {
+    var json = new Json(text);
+    var value = json.value();
+    json.skipWhitespace();
+    if (json.position != text.length())
+      throw json.error("unexpected trailing characters");
+    return value;
+  }
+
+  /**
+   * @param text single JSON object
+   * @return parsed object
+   * @throws IllegalArgumentException if {@code text} is not a JSON object
+   */
+  @SuppressWarnings("unchecked")
+  static Map<String, Object> parseObject(String text) {
+    var value = parse(text);
+    if (!(value instanceof Map))
+      throw new IllegalArgumentException("expected a JSON object");
+    return (Map<String, Object>) value;
+  }
+
+  /**
+   * @param value to encode, may be {@code null}
+   * @return JSON string literal, or {@code null}
+   */
+  static String quote(String value) {
+    if (value == null)
+      return "null";
+
+    var out = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      var c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20)
+            out.append(String.format("\\u%04x", (int) c));
+          else
+            out.append(c);
+      }
+    }
+    return out.append('"').toString();
+  }
+
+  /**
+   * @param value to encode
+   * @return JSON number, or {@code null} if {@code value} is not finite
+   */
+  static String number(double value) {
+    return Double.isFinite(value) ? Double.toString(value) : "null";
+  }
+
+  private Object value() {
+    skipWhitespace();
+    if (position >= text.length())
+      throw error("unexpected end of input");
+
+    var c = text.charAt(position);
+    switch (c) {
+      case '{':
+      case '[':
+        if (++depth > MAX_DEPTH)
+          throw error("nesting deeper than " + MAX_DEPTH);
+        var nested = c == '{' ? object() : array();
+        depth--;
+        return nested;
+      case '"':
+        return string();
+      case 't':
+        return literal("true", Boolean.TRUE);
+      case 'f':
+        return literal("false", Boolean.FALSE);
+      case 'n':
+        return literal("null", null);
+      default:
+        if (c == '-' || (c >= '0' && c <= '9'))
+          return number();
+        throw error("unexpected character '" + c + "'");
+    }
+  }
+
+  private Map<String, Object> object() {
+    var object = new LinkedHashMap<String, Object>();
+    position++;
+    skipWhitespace();
+    if (consume('}'))
+      return object;
+
+    do {
+      skipWhitespace();
+      if (position >= text.length() || text.charAt(position) != '"')
+        throw error("expected a string key");
+      var key = string();
+      skipWhitespace();
+      if (!consume(':'))
+        throw error("expected ':'");
+      object.put(key, value());
+      skipWhitespace();
+    } while (consume(','));
+
+    if (!consume('}'))
+      throw error("expected ',' or '}'");
+    return object;
+  }
+
+  private List<Object> array() {
+    var array = new ArrayList<Object>();
+    position++;
+    skipWhitespace();
+    if (consume(']'))
+      return array;
+
+    do {
+      array.add(value());
+      skipWhitespace();
+    } while (consume(','));
+
+    if (!consume(']'))
+      throw error("expected ',' or ']'");
+    return array;
+  }
+
+  private String string() {
+    var out = new StringBuilder();
+    position++;
+
+    while (position < text.length()) {
+      var c = text.charAt(position++);
+      if (c == '"')
+        return out.toString();
+      if (c != '\\') {
+        out.append(c);
+        continue;
+      }
+
+      if (position >= text.length())
+        break;
+      var escaped = text.charAt(position++);
+      switch (escaped) {
+        case 'b':
+          out.append('\b');
+          break;
+        case 'f':
+          out.append('\f');
+          break;
+        case 'n':
+          out.append('\n');
+          break;
+        case 'r':
+          out.append('\r');
+          break;
+        case 't':
+          out.append('\t');
+          break;
+        case 'u':
+          if (position + 4 > text.length())
+            throw error("truncated unicode escape");
+          try {
+            out.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+          } catch (NumberFormatException e) {
+            throw error("invalid unicode escape");
+          }
+          position += 4;
+          break;
+        default:
+          out.append(escaped);
+      }
+    }
+
+    throw error("unterminated string");
+  }
+
+  private Double number() {
+    var begin = position;
+    while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0)
+      position++;
+
+    try {
+      return Double.valueOf(text.substring(begin, position));
+    } catch (NumberFormatException e) {
+      throw error("invalid number");
+    }
+  }
+
+  private Object literal(String literal, Object value) {
+    if (!text.startsWith(literal, position))
+      throw error("unexpected literal");
+    position += literal.length();
+    return value;
+  }
+
+  private boolean consume(char c) {
+    if (position < text.length() && text.charAt(position) == c) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length() && Character.isWhitespace(text.charAt(position)))
+      position++;
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at position " + position);
+  }
+
+}
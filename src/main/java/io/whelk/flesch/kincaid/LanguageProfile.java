@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Per-language tokenizer, syllable counter and reading-ease constants. Each
+ * language scores with its own adaptation of the Flesch formula,
+ * 
+ * <pre>
+ * base - sentenceLengthWeight * (words / sentences) - wordLengthWeight * (syllables / words)
+ * </pre>
+ * 
+ * so a multilingual catalog can be scored by one service, picking the profile
+ * from each document's language tag:
+ * 
+ * <pre>
+ * var ease = LanguageProfile.forLanguage("de").readingEase(content);
+ * </pre>
+ * 
+ * Built-in profiles cover English (Flesch), German (Amstad), French
+ * (Kandel–Moles), Spanish (Fernández-Huerta), Italian (Flesch–Vacca) and
+ * Dutch (Douma). They are created on first use and shared; like the
+ * {@link ReadabilityAnalyzer} they wrap, profiles are immutable and safe to
+ * share across threads.
+ * 
+ * <p>
+ * Only English has hyphenation patterns and CoreNLP models on the classpath,
+ * so the other languages count syllables by vowel groups and split sentences
+ * with {@link TokenizerEngine#ruleBased()}. {@link #register(LanguageProfile)}
+ * replaces a profile, for instance with a CoreNLP pipeline loaded with the
+ * language's own models.
+ * 
+ * @since 0.1.12
+ */
+@Getter
+public final class LanguageProfile {
+
+  private static final Map<String, Supplier<LanguageProfile>> BUILT_IN = Map.of( //
+      "en", LanguageProfile::english, //
+      "de", () -> vowelGroups("de", "Amstad", 180, 1, 58.5, VowelGroupSyllableCounter.GERMAN), //
+      "fr", () -> vowelGroups("fr", "Kandel-Moles", 207, 1.015, 73.6, VowelGroupSyllableCounter.FRENCH), //
+      "es", () -> vowelGroups("es", "Fernández-Huerta", 206.84, 1.02, 60, VowelGroupSyllableCounter.SPANISH), //
+      "it", () -> vowelGroups("it", "Flesch-Vacca", 206, 1, 65, VowelGroupSyllableCounter.ITALIAN), //
+      "nl", () -> vowelGroups("nl", "Douma", 206.835, 0.93, 77, VowelGroupSyllableCounter.DUTCH));
+
+  private static final Map<String, LanguageProfile> PROFILES = new ConcurrentHashMap<>();
+
+  /** ISO 639 language code, such as {@code de} */
+  private final String language;
+
+  /** name of the reading-ease adaptation, such as {@code Amstad} */
+  private final String formula;
+
+  private final double base;
+  private final double sentenceLengthWeight;
+  private final double wordLengthWeight;
+
+  private final TokenizerEngine tokenizer;
+  private final SyllableCounter syllableCounter;
+
+  /** analyzer with this profile's tokenizer and syllable counter */
+  private final ReadabilityAnalyzer analyzer;
+
+  /**
+   * @param language             language tag, normalized to its ISO 639 code
+   * @param formula              name of the reading-ease adaptation, defaults
+   *                             to the language code
+   * @param base                 reading ease of a text of one-syllable words
+   *                             in one-word sentences, before weighting
+   * @param sentenceLengthWeight points deducted per word in the average
+   *                             sentence
+   * @param wordLengthWeight     points deducted per syllable in the average
+   *                             word
+   * @param tokenizer            defaults to {@link TokenizerEngine#ruleBased()}
+   * @param syllableCounter      defaults to a cached vowel-group counter
+   */
+  @Builder
+  private LanguageProfile(String language, String formula, double base, double sentenceLengthWeight,
+      double wordLengthWeight, TokenizerEngine tokenizer, SyllableCounter syllableCounter) {
+    this.language = normalize(language);
+    this.formula = formula != null ? formula : this.language;
+    this.base = base;
+    this.sentenceLengthWeight = sentenceLengthWeight;
+    this.wordLengthWeight = wordLengthWeight;
+    this.tokenizer = tokenizer != null ? tokenizer : TokenizerEngine.ruleBased();
+    this.syllableCounter = syllableCounter != null //
+        ? syllableCounter
+        : SyllableCache.builder().delegate(SyllableCounter.vowelGroups("aeiouyàáâäèéêëìíîïòóôöùúûü")).build();
+    this.analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(this.tokenizer) //
+        .syllableCounter(this.syllableCounter) //
+        .build();
+  }
+
+  private static LanguageProfile english() {
+    return LanguageProfile.builder() //
+        .language("en") //
+        .formula("Flesch") //
+        .base(206.835) //
+        .sentenceLengthWeight(1.015) //
+        .wordLengthWeight(84.6) //
+        .tokenizer(TokenizerEngine.coreNlp()) //
+        .syllableCounter(SyllableCache.defaultCache()) //
+        .build();
+  }
+
+  private static LanguageProfile vowelGroups(String language, String formula, double base,
+      double sentenceLengthWeight, double wordLengthWeight, SyllableCounter counter) {
+    return LanguageProfile.builder() //
+        .language(language) //
+        .formula(formula) //
+        .base(base) //
+        .sentenceLengthWeight(sentenceLengthWeight) //
+        .wordLengthWeight(wordLengthWeight) //
+        .syllableCounter(SyllableCache.builder().delegate(counter).build()) //
+        .build();
+  }
+
+  /**
+   * Registered profile for {@code languageTag}, created on first use.
+   * 
+   * @param languageTag BCP 47 tag such as {@code de-AT}, or an underscore
+   *                    locale such as {@code fr_CA}; only the language is
+   *                    considered
+   * @return shared profile of the language
+   * @throws IllegalArgumentException if no profile is registered for the
+   *                                  language
+   */
+  public static LanguageProfile forLanguage(String languageTag) {
+    var language = normalize(languageTag);
+    var profile = PROFILES.computeIfAbsent(language, key -> {
+      var supplier = BUILT_IN.get(key);
+      return supplier != null ? supplier.get() : null;
+    });
+
+    if (profile == null)
+      throw new IllegalArgumentException("no language profile for " + languageTag);
+
+    return profile;
+  }
+
+  /**
+   * @param locale of the content
+   * @return shared profile of the locale's language
+   * @throws IllegalArgumentException if no profile is registered for the
+   *                                  language
+   * @see #forLanguage(String)
+   */
+  public static LanguageProfile forLocale(Locale locale) {
+    if (locale == null)
+      throw new IllegalArgumentException("locale must not be null");
+
+    return forLanguage(locale.toLanguageTag());
+  }
+
+  /**
+   * @param languageTag to look up
+   * @return true if {@link #forLanguage(String)} has a profile for the tag
+   */
+  public static boolean isSupported(String languageTag) {
+    try {
+      var language = normalize(languageTag);
+      return PROFILES.containsKey(language) || BUILT_IN.containsKey(language);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Add a profile, or replace the one registered for its language.
+   * 
+   * @param profile to register
+   */
+  public static void register(LanguageProfile profile) {
+    if (profile == null)
+      throw new IllegalArgumentException("profile must not be null");
+
+    PROFILES.put(profile.getLanguage(), profile);
+  }
+
+  /**
+   * @return language codes with a built-in or registered profile
+   */
+  public static Set<String> languages() {
+    var languages = new TreeSet<>(BUILT_IN.keySet());
+    languages.addAll(PROFILES.keySet());
+    return languages;
+  }
+
+  private static String normalize(String languageTag) {
+    var language = languageTag == null ? "" : Locale.forLanguageTag(languageTag.trim().replace('_', '-')).getLanguage();
+    if (language.isEmpty())
+      throw new IllegalArgumentException("invalid language tag " + languageTag);
+
+    return language;
+  }
+
+  /**
+   * @param content to analyze
+   * @return totals of {@code content} under this profile's tokenizer and
+   *         syllable counter
+   */
+  public ReadabilityReport analyze(String content) {
+    return analyzer.analyze(content);
+  }
+
+  /**
+   * @param content to score
+   * @return reading ease of {@code content} under this profile's formula
+   */
+  public double readingEase(String content) {
+    return readingEase(analyze(content));
+  }
+
+  /**
+   * @param report totals gathered by {@link #getAnalyzer()}
+   * @return reading ease under this profile's formula
+   */
+  public double readingEase(ReadabilityReport report) {
+    return calculateReadingEase(report.getSentenceCount(), report.getWordCount(), report.getSyllableCount());
+  }
+
+  /**
+   * @param totalSentences in content
+   * @param totalWords     in content
+   * @param totalSyllables in content
+   * @return reading ease under this profile's formula
+   */
+  public double calculateReadingEase(double totalSentences, double totalWords, double totalSyllables) {
+    return base - sentenceLengthWeight * (totalWords / totalSentences) - wordLengthWeight * (totalSyllables / totalWords);
+  }
+
+}
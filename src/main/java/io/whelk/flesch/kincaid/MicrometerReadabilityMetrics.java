@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link ReadabilityMetrics} publishing to a Micrometer {@link MeterRegistry}.
+ * Micrometer is an optional dependency; add {@code micrometer-core} to use
+ * this adapter.
+ * 
+ * <ul>
+ * <li>{@code readability.stage} timer with percentile histogram, tagged
+ * {@code stage}</li>
+ * <li>{@code readability.documents}, {@code readability.sentences} and
+ * {@code readability.words} counters</li>
+ * <li>{@code cache.gets} ({@code result=hit|miss}), {@code cache.evictions}
+ * and {@code cache.size} for each monitored cache, tagged {@code cache}</li>
+ * </ul>
+ * 
+ * <pre>
+ * var metrics = new MicrometerReadabilityMetrics(registry) //
+ *     .monitor(SyllableCache.defaultCache(), "syllables");
+ * 
+ * var analyzer = ReadabilityAnalyzer.builder() //
+ *     .metrics(metrics) //
+ *     .build();
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class MicrometerReadabilityMetrics implements ReadabilityMetrics {
+
+  private final MeterRegistry registry;
+  private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+  private final Counter documents;
+  private final Counter sentences;
+  private final Counter words;
+
+  /**
+   * @param registry to register meters with
+   */
+  public MicrometerReadabilityMetrics(MeterRegistry registry) {
+    this.registry = registry;
+
+    for (var stage : Stage.values()) {
+      timers.put(stage, Timer.builder("readability.stage") //
+          .description("time spent per document in each scoring stage") //
+          .tag("stage", stage.tag()) //
+          .publishPercentileHistogram() //
+          .register(registry));
+    }
+
+    this.documents = Counter.builder("readability.documents").description("documents scored").register(registry);
+    this.sentences = Counter.builder("readability.sentences").description("sentences counted").register(registry);
+    this.words = Counter.builder("readability.words").description("words counted").register(registry);
+  }
+
+  /**
+   * @param cache to publish hit, miss, eviction and size meters for
+   * @param name  value of the {@code cache} tag
+   * @return this adapter
+   */
+  public MicrometerReadabilityMetrics monitor(SyllableCache cache, String name) {
+    FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHitCount()) //
+        .tag("cache", name).tag("result", "hit").register(registry);
+    FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMissCount()) //
+        .tag("cache", name).tag("result", "miss").register(registry);
+    FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictionCount()) //
+        .tag("cache", name).register(registry);
+    Gauge.builder("cache.size", cache, SyllableCache::size) //
+        .tag("cache", name).register(registry);
+    return this;
+  }
+
+  /**
+   * Store hits count as hits; store failures are published as
+   * {@code cache.store.failures}.
+   * 
+   * @param cache to publish hit, miss, eviction and size meters for
+   * @param name  value of the {@code cache} tag
+   * @return this adapter
+   */
+  public MicrometerReadabilityMetrics monitor(ResultCache cache, String name) {
+    FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHitCount() + c.stats().getStoreHitCount()) //
+        .tag("cache", name).tag("result", "hit").register(registry);
+    FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMissCount()) //
+        .tag("cache", name).tag("result", "miss").register(registry);
+    FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictionCount()) //
+        .tag("cache", name).register(registry);
+    FunctionCounter.builder("cache.store.failures", cache, c -> c.stats().getStoreFailureCount()) //
+        .tag("cache", name).register(registry);
+    Gauge.builder("cache.size", cache, ResultCache::size) //
+        .tag("cache", name).register(registry);
+    return this;
+  }
+
+  @Override
+  public void recordLatency(Stage stage, long nanos) {
+    timers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordDocument() {
+    documents.increment();
+  }
+
+  @Override
+  public void recordTokens(long sentences, long words) {
+    this.sentences.increment(sentences);
+    this.words.increment(words);
+  }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * {@link ReadabilityMetrics} that records nothing.
+ * 
+ * @since 0.1.12
+ */
+final class NoopReadabilityMetrics implements ReadabilityMetrics {
+
+  static final NoopReadabilityMetrics INSTANCE = new NoopReadabilityMetrics();
+
+  private NoopReadabilityMetrics() {}
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void recordLatency(Stage stage, long nanos) {}
+
+  @Override
+  public void recordDocument() {}
+
+  @Override
+  public void recordTokens(long sentences, long words) {}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join task that scores a range of one document by splitting it at
+ * blank lines, scoring the halves in parallel and merging their totals.
+ * 
+ * <p>
+ * A blank line ends a sentence for every {@link TokenizerEngine}, but CoreNLP
+ * still reads across it when deciding how to tokenize quotes and trailing
+ * abbreviations. Cuts are therefore made only at blank lines after a plain
+ * terminator ({@code word.}, {@code word!}, {@code word?}) and before a
+ * capital, digit or opening quote, where neither side's tokens depend on the
+ * other. The merged totals then equal a sequential pass exactly. Ranges
+ * without such a line are scored sequentially.
+ * 
+ * @since 0.1.12
+ */
+final class ParallelScoreTask extends RecursiveTask<ReadabilityAccumulator> {
+
+  /** characters below which a range is not worth splitting */
+  static final int DEFAULT_SPLIT_SIZE = 1 << 14;
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient ReadabilityAnalyzer analyzer;
+  private final String content;
+  private final int begin;
+  private final int end;
+  private final int splitSize;
+
+  ParallelScoreTask(ReadabilityAnalyzer analyzer, String content, int begin, int end, int splitSize) {
+    this.analyzer = analyzer;
+    this.content = content;
+    this.begin = begin;
+    this.end = end;
+    this.splitSize = splitSize;
+  }
+
+  @Override
+  protected ReadabilityAccumulator compute() {
+    var cut = end - begin > splitSize ? blankLineNear(content, begin + (end - begin) / 2, begin, end) : -1;
+    if (cut < 0)
+      return analyzer.accumulator().add(content.substring(begin, end));
+
+    var left = new ParallelScoreTask(analyzer, content, begin, cut, splitSize);
+    var right = new ParallelScoreTask(analyzer, content, cut, end, splitSize);
+
+    left.fork();
+    var rightTotals = right.compute();
+    return left.join().merge(rightTotals);
+  }
+
+  /**
+   * @param text  to search
+   * @param mid   offset to search outward from
+   * @param begin first offset of the range, inclusive
+   * @param end   last offset of the range, exclusive
+   * @return offset just past the safe blank line nearest {@code mid} strictly
+   *         inside the range, or -1
+   */
+  static int blankLineNear(String text, int mid, int begin, int end) {
+    var after = -1;
+    for (var i = mid; i < end - 1 && after < 0; i++)
+      if (isSafeCut(text, i, begin, end))
+        after = i + 1;
+
+    var before = -1;
+    for (var i = mid - 1; i > begin && before < 0; i--)
+      if (isSafeCut(text, i, begin, end))
+        before = i + 1;
+
+    if (after < 0)
+      return before;
+    if (before < 0)
+      return after;
+    return after - mid <= mid - before ? after : before;
+  }
+
+  /**
+   * @return true if {@code text[index]} ends a blank line that separates a
+   *         plainly terminated sentence from a capitalized, numbered or
+   *         quoted one
+   */
+  private static boolean isSafeCut(String text, int index, int begin, int end) {
+    if (text.charAt(index) != '\n')
+      return false;
+
+    var newlines = 0;
+    var last = index;
+    while (last >= begin && Character.isWhitespace(text.charAt(last)))
+      if (text.charAt(last--) == '\n')
+        newlines++;
+
+    var next = index + 1;
+    while (next < end && Character.isWhitespace(text.charAt(next)))
+      next++;
+
+    return newlines > 1 && last > begin && next < end //
+        && isPlainTerminator(text, last, begin) //
+        && isSentenceOpening(text.charAt(next));
+  }
+
+  private static boolean isPlainTerminator(String text, int terminator, int begin) {
+    var c = text.charAt(terminator);
+    if (c != '.' && c != '!' && c != '?')
+      return false;
+    if (!Character.isLetterOrDigit(text.charAt(terminator - 1)))
+      return false;
+    if (c != '.')
+      return true;
+
+    var word = terminator;
+    while (word > begin && (Character.isLetterOrDigit(text.charAt(word - 1)) || text.charAt(word - 1) == '.'))
+      word--;
+    return !RuleBasedTokenizerEngine.isAbbreviation(text, word, terminator);
+  }
+
+  private static boolean isSentenceOpening(char c) {
+    return Character.isUpperCase(c) || Character.isDigit(c) || c == '"' || c == '\'' || c == '“' || c == '‘';
+  }
+
+}
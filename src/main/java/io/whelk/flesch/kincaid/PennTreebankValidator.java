@@ -15,9 +15,8 @@
  */
 package io.whelk.flesch.kincaid;
 
-import static io.whelk.flesch.kincaid.PennTreebankValidator.PennTreebankTag.parse;
-import java.util.Arrays;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import edu.stanford.nlp.simple.Token;
 import lombok.experimental.UtilityClass;
 
@@ -28,17 +27,28 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class PennTreebankValidator {
 
-  private static final List<PennTreebankTag> invalidWordTags = List.of( //
-      PennTreebankTag.UNKNOWN, //
-      PennTreebankTag.POS, //
-      PennTreebankTag.SYM);
-
   /**
    * @param token to evaluate
-   * @return true if token does not match invalidate tags, otherwise false
+   * @return true if the default {@link TokenFilterPolicy} counts the token as
+   *         a word, otherwise false
+   * @see TokenFilterPolicy#defaultPolicy()
    */
   public static boolean isWord(Token token) {
-    return token != null && !invalidWordTags.contains(parse(token.posTag()));
+    return token != null && isWordTag(token.posTag());
+  }
+
+  /**
+   * Constant-time and allocation-free: punctuation is rejected on its first
+   * character, other tags take one hash lookup and one bit test against the
+   * policy's word tags.
+   * 
+   * @param posTag to evaluate
+   * @return true if the default {@link TokenFilterPolicy} counts the tag as a
+   *         word, otherwise false
+   * @see TokenFilterPolicy#defaultPolicy()
+   */
+  static boolean isWordTag(String posTag) {
+    return TokenFilterPolicy.defaultPolicy().accepts(posTag);
   }
 
   enum PennTreebankTag {
@@ -79,14 +89,58 @@ public class PennTreebankValidator {
     WP, //
     WP$, //
     WRB, //
+    PERIOD("."), //
+    COMMA(","), //
+    COLON(":"), //
+    OPENING_QUOTE("``"), //
+    CLOSING_QUOTE("''"), //
+    LEFT_BRACKET("-LRB-"), //
+    RIGHT_BRACKET("-RRB-"), //
+    POUND("#"), //
+    DOLLAR("$"), //
+    HYPH("HYPH", true), //
+    NFP("NFP", true), //
     UNKNOWN;
 
+    private static final Map<String, PennTreebankTag> tagsByName = new HashMap<>();
+
+    static {
+      for (PennTreebankTag tag : PennTreebankTag.values())
+        tagsByName.put(tag.getTag(), tag);
+    }
+
+    private final String tag;
+    private final boolean punctuation;
+
+    PennTreebankTag() {
+      this(null, false);
+    }
+
+    PennTreebankTag(String tag) {
+      this(tag, true);
+    }
+
+    PennTreebankTag(String tag, boolean punctuation) {
+      this.tag = tag != null ? tag : name();
+      this.punctuation = punctuation;
+    }
+
+    /**
+     * @return tag as written by the tagger
+     */
+    String getTag() {
+      return tag;
+    }
+
+    /**
+     * @return true for punctuation tags, which are never words
+     */
+    boolean isPunctuation() {
+      return punctuation;
+    }
+
     public static PennTreebankTag parse(String posTag) {
-      return Arrays //
-          .stream(PennTreebankTag.values()) //
-          .filter(p -> p.name().equals(posTag)) //
-          .findFirst() //
-          .orElse(PennTreebankTag.UNKNOWN);
+      return tagsByName.getOrDefault(posTag, PennTreebankTag.UNKNOWN);
     }
   }
 
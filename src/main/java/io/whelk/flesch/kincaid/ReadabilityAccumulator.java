@@ -0,0 +1,227 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collector;
+
+/**
+ * Mutable running totals of sentences, words, syllables and the other counts
+ * in a {@link ReadabilityReport}. Every readability formula depends only on
+ * these totals, so accumulators over separate parts of a corpus can be
+ * merged, in any grouping, and scored once instead of re-tokenizing the
+ * concatenated text.
+ * 
+ * <pre>
+ * var left = analyzer.accumulator().add(firstHalf);
+ * var right = analyzer.accumulator().add(secondHalf);
+ * 
+ * var report = left.merge(right).toReport();
+ * </pre>
+ * 
+ * Text chunks must hold whole sentences. Accumulators are not thread-safe;
+ * give each thread its own and merge the results.
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityAccumulator implements TokenVisitor {
+
+  private final TokenizerEngine tokenizer;
+  private final SyllableCounter syllableCounter;
+  private final Set<String> familiarWords;
+  private final ReadabilityMetrics metrics;
+  private final boolean timed;
+
+  private long sentences;
+  private long words;
+  private long syllables;
+  private long characters;
+  private long polysyllables;
+  private long complexWords;
+  private long unfamiliarWords;
+  private long syllableNanos;
+  private boolean sentenceStart = true;
+
+  /**
+   * Accumulator that tokenizes text with the
+   * {@link ReadabilityAnalyzer#defaultAnalyzer()}.
+   */
+  public ReadabilityAccumulator() {
+    this(ReadabilityAnalyzer.defaultAnalyzer());
+  }
+
+  /**
+   * @param analyzer whose tokenizer and syllable counter process text chunks
+   */
+  public ReadabilityAccumulator(ReadabilityAnalyzer analyzer) {
+    this.tokenizer = analyzer.getTokenizer();
+    this.syllableCounter = analyzer.getSyllableCounter();
+    this.familiarWords = analyzer.getFamiliarWords();
+    this.unfamiliarWords = familiarWords != null ? 0 : ReadabilityReport.UNCOUNTED;
+    this.metrics = analyzer.getMetrics();
+    this.timed = metrics.isEnabled();
+  }
+
+  /**
+   * Collector that tokenizes each element with {@code analyzer} and reduces the
+   * totals to a report. Safe for parallel streams.
+   * 
+   * @param analyzer to tokenize elements with
+   * @return collector of whole-sentence text chunks
+   */
+  public static Collector<String, ReadabilityAccumulator, ReadabilityReport> collector(ReadabilityAnalyzer analyzer) {
+    return Collector.of( //
+        () -> new ReadabilityAccumulator(analyzer), //
+        ReadabilityAccumulator::add, //
+        ReadabilityAccumulator::merge, //
+        ReadabilityAccumulator::toReport, //
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * @param text chunk of whole sentences to tokenize and count
+   * @return this accumulator
+   */
+  public ReadabilityAccumulator add(String text) {
+    if (!timed) {
+      tokenizer.tokenize(text, this);
+      return this;
+    }
+
+    var sentencesBefore = sentences;
+    var wordsBefore = words;
+    syllableNanos = 0;
+
+    tokenizer.tokenize(text, this, metrics);
+
+    metrics.recordLatency(ReadabilityMetrics.Stage.SYLLABLE_COUNTING, syllableNanos);
+    metrics.recordTokens(sentences - sentencesBefore, words - wordsBefore);
+    return this;
+  }
+
+  /**
+   * Only the Flesch totals are added; other counts are left unchanged.
+   * 
+   * @param sentences pre-counted sentences
+   * @param words     pre-counted words
+   * @param syllables pre-counted syllables
+   * @return this accumulator
+   */
+  public ReadabilityAccumulator add(long sentences, long words, long syllables) {
+    this.sentences += sentences;
+    this.words += words;
+    this.syllables += syllables;
+    return this;
+  }
+
+  /**
+   * Unfamiliar words stay counted only if both sides counted them.
+   * 
+   * @param report whose totals to add
+   * @return this accumulator
+   */
+  public ReadabilityAccumulator add(ReadabilityReport report) {
+    return add(report, 1);
+  }
+
+  /**
+   * @param other accumulator whose totals to add; left unchanged
+   * @return this accumulator
+   */
+  public ReadabilityAccumulator merge(ReadabilityAccumulator other) {
+    return add(other.toReport());
+  }
+
+  ReadabilityAccumulator add(ReadabilityReport report, int sign) {
+    sentences += sign * report.getSentenceCount();
+    words += sign * report.getWordCount();
+    syllables += sign * report.getSyllableCount();
+    characters += sign * report.getCharacterCount();
+    polysyllables += sign * report.getPolysyllableCount();
+    complexWords += sign * report.getComplexWordCount();
+
+    if (unfamiliarWords == ReadabilityReport.UNCOUNTED || report.getUnfamiliarWordCount() == ReadabilityReport.UNCOUNTED)
+      unfamiliarWords = ReadabilityReport.UNCOUNTED;
+    else
+      unfamiliarWords += sign * report.getUnfamiliarWordCount();
+
+    return this;
+  }
+
+  @Override
+  public void word(CharSequence word) {
+    int count;
+    if (timed) {
+      var start = System.nanoTime();
+      count = syllableCounter.countSyllables(word);
+      syllableNanos += System.nanoTime() - start;
+    } else {
+      count = syllableCounter.countSyllables(word);
+    }
+
+    words++;
+    syllables += count;
+    characters += ReadabilityCalculator.countCharacters(word);
+
+    if (count >= ReadabilityCalculator.POLYSYLLABLE) {
+      polysyllables++;
+      if (ReadabilityCalculator.isComplexWord(word, count, sentenceStart))
+        complexWords++;
+    }
+
+    if (familiarWords != null && !familiarWords.contains(word.toString().toLowerCase(Locale.ROOT)))
+      unfamiliarWords++;
+
+    sentenceStart = false;
+  }
+
+  @Override
+  public void endSentence() {
+    sentences++;
+    sentenceStart = true;
+  }
+
+  /**
+   * @return reading ease of the totals so far
+   */
+  public double getReadingEase() {
+    return ReadabilityCalculator.calculateReadingEase(sentences, words, syllables);
+  }
+
+  /**
+   * @return reading grade level of the totals so far
+   */
+  public double getGradeLevel() {
+    return ReadabilityCalculator.calculateGradeLevel(sentences, words, syllables);
+  }
+
+  /**
+   * @return immutable snapshot of the totals so far
+   */
+  public ReadabilityReport toReport() {
+    return ReadabilityReport.builder() //
+        .sentenceCount(sentences) //
+        .wordCount(words) //
+        .syllableCount(syllables) //
+        .characterCount(characters) //
+        .polysyllableCount(polysyllables) //
+        .complexWordCount(complexWords) //
+        .unfamiliarWordCount(unfamiliarWords) //
+        .build();
+  }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configurable entry point for producing a {@link ReadabilityReport}. The
+ * static methods on {@link ReadabilityCalculator} delegate to
+ * {@link #defaultAnalyzer()}; build a custom analyzer to swap the
+ * {@link TokenizerEngine} or {@link SyllableCounter}.
+ * 
+ * <pre>
+ * var analyzer = ReadabilityAnalyzer.builder() //
+ *     .tokenizer(TokenizerEngine.ruleBased()) //
+ *     .build();
+ * 
+ * var report = analyzer.analyze(content);
+ * </pre>
+ * 
+ * Analyzers are immutable and safe to share across threads.
+ * 
+ * @since 0.1.12
+ */
+@Getter
+@Builder
+public class ReadabilityAnalyzer {
+
+  private static final ReadabilityAnalyzer DEFAULT = ReadabilityAnalyzer.builder() //
+      .resultCache(ResultCache.fromProperties(System.getProperties())) //
+      .build();
+
+  /** upper bound on documents scored by a single batch task */
+  private static final int MAX_BATCH_CHUNK = 256;
+
+  /** strategy used to split content into sentences and words */
+  @Builder.Default
+  private final TokenizerEngine tokenizer = TokenizerEngine.coreNlp();
+
+  /** strategy used to count the syllables of each word */
+  @Builder.Default
+  private final SyllableCounter syllableCounter = SyllableCache.defaultCache();
+
+  /**
+   * lower-case words familiar to fourth-grade readers, such as the Dale–Chall
+   * list with its inflected forms; none by default, which leaves the Dale–Chall
+   * score uncounted
+   */
+  private final Set<String> familiarWords;
+
+  /**
+   * optional cache of reports keyed by content hash and {@link #fingerprint},
+   * none by default
+   */
+  private final ResultCache resultCache;
+
+  /** instrumentation of stage latencies and throughput, none by default */
+  @Builder.Default
+  private final ReadabilityMetrics metrics = ReadabilityMetrics.noop();
+
+  /** hash of the configuration above, scoping {@link #resultCache} entries */
+  @Getter(value = AccessLevel.PACKAGE, lazy = true)
+  private final ContentHash fingerprint = AnalyzerFingerprint.of(this);
+
+  /**
+   * Analyzer behind the static {@link ReadabilityCalculator} methods. It caches
+   * results only when configured by the system properties read by
+   * {@link ResultCache#fromProperties(java.util.Properties)}, such as
+   * {@code -Dio.whelk.flesch.kincaid.resultCache.maximumSize=100000}.
+   * 
+   * @return analyzer backed by CoreNLP and the default {@link SyllableCache}
+   */
+  public static ReadabilityAnalyzer defaultAnalyzer() {
+    return DEFAULT;
+  }
+
+  /**
+   * Tokenize {@code content} once and gather the totals every
+   * {@link ReadabilityFormula} needs. With a {@link ResultCache}, previously
+   * scored content is answered from the cache.
+   * 
+   * @param content to lex
+   * @return readability report
+   */
+  public ReadabilityReport analyze(String content) {
+    metrics.recordDocument();
+    return resultCache != null && content != null //
+        ? resultCache.get(getFingerprint(), content, this::score)
+        : score(content);
+  }
+
+  private ReadabilityReport score(String content) {
+    return accumulator().add(content).toReport();
+  }
+
+  /**
+   * Score one large document on the {@link ForkJoinPool#commonPool()}.
+   * 
+   * @param content to lex
+   * @return readability report, equal to {@link #analyze(String)}
+   * @see #analyzeParallel(String, ForkJoinPool)
+   */
+  public ReadabilityReport analyzeParallel(String content) {
+    return analyzeParallel(content, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Score one large document on several cores. The content is split
+   * recursively at the paragraph break nearest the middle of each range,
+   * until ranges are about 16K characters; the ranges are tokenized in
+   * parallel and their totals merged. Only breaks whose tokenization cannot
+   * depend on the other side are used, such as a blank line between
+   * {@code "...end."} and {@code "Next..."}, so the report equals
+   * {@link #analyze(String)} exactly. Text without such breaks is scored on
+   * one core.
+   * 
+   * @param content to lex
+   * @param pool    to score on
+   * @return readability report, equal to {@link #analyze(String)}
+   */
+  public ReadabilityReport analyzeParallel(String content, ForkJoinPool pool) {
+    return analyzeParallel(content, pool, ParallelScoreTask.DEFAULT_SPLIT_SIZE);
+  }
+
+  ReadabilityReport analyzeParallel(String content, ForkJoinPool pool, int splitSize) {
+    metrics.recordDocument();
+    if (content == null)
+      return score(null);
+
+    Function<String, ReadabilityReport> scorer = text -> pool
+        .invoke(new ParallelScoreTask(this, text, 0, text.length(), splitSize))
+        .toReport();
+
+    return resultCache != null ? resultCache.get(getFingerprint(), content, scorer) : scorer.apply(content);
+  }
+
+  /**
+   * @return empty accumulator using this analyzer's tokenizer and syllable
+   *         counter
+   */
+  public ReadabilityAccumulator accumulator() {
+    return new ReadabilityAccumulator(this);
+  }
+
+  /**
+   * Stream {@code reader} through the tokenizer in chunks of whole sentences,
+   * keeping only running totals. Memory stays constant regardless of input
+   * length, so multi-hundred-megabyte books and logs can be scored. Chunks are
+   * cut at blank lines where possible; a cut at a sentence terminator may
+   * differ from whole-document sentence splitting around unusual
+   * abbreviations. The reader is not closed.
+   * 
+   * @param reader to score
+   * @return readability report
+   * @throws IOException if {@code reader} fails
+   */
+  public ReadabilityReport analyze(Reader reader) throws IOException {
+    return analyze(reader, SentenceChunker.DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param in      to score, not closed
+   * @param charset of {@code in}
+   * @return readability report
+   * @throws IOException if {@code in} fails
+   * @see #analyze(Reader)
+   */
+  public ReadabilityReport analyze(InputStream in, Charset charset) throws IOException {
+    return analyze(new InputStreamReader(in, charset));
+  }
+
+  /**
+   * @param path to score, read as UTF-8
+   * @return readability report
+   * @throws IOException if {@code path} cannot be read
+   * @see #analyze(Reader)
+   */
+  public ReadabilityReport analyze(Path path) throws IOException {
+    try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return analyze(reader);
+    }
+  }
+
+  ReadabilityReport analyze(Reader reader, int chunkSize) throws IOException {
+    var chunker = new SentenceChunker(reader, chunkSize);
+    var accumulator = accumulator();
+    metrics.recordDocument();
+
+    for (var chunk = chunker.next(); chunk != null; chunk = chunker.next())
+      accumulator.add(chunk);
+
+    return accumulator.toReport();
+  }
+
+  /**
+   * Score {@code documents} in parallel on the {@link ForkJoinPool#commonPool()}.
+   * 
+   * @param documents to score
+   * @return one result per document, in input order
+   * @see #analyzeAll(Collection, Executor)
+   */
+  public List<ReadabilityResult> analyzeAll(Collection<String> documents) {
+    return analyzeAll(documents, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Score {@code documents} in parallel on {@code executor}. Documents are
+   * scored in chunks so that millions of short documents do not pay per-task
+   * scheduling overhead; every chunk shares this analyzer's tokenizer and
+   * syllable counter. A document that fails to score yields a failed
+   * {@link ReadabilityResult} in its slot instead of aborting the batch.
+   * 
+   * @param documents to score
+   * @param executor  to score on
+   * @return one result per document, in input order
+   */
+  public List<ReadabilityResult> analyzeAll(Collection<String> documents, Executor executor) {
+    var inputs = documents.toArray(String[]::new);
+    var results = new ReadabilityResult[inputs.length];
+    var chunk = chunkSize(inputs.length);
+    var tasks = new ArrayList<CompletableFuture<Void>>();
+
+    for (var begin = 0; begin < inputs.length; begin += chunk) {
+      var from = begin;
+      var to = Math.min(begin + chunk, inputs.length);
+
+      tasks.add(CompletableFuture.runAsync(() -> {
+        for (var i = from; i < to; i++)
+          results[i] = analyzeSafely(inputs[i]);
+      }, executor));
+    }
+
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * @param documents to score
+   * @param executor  to score on
+   * @return one result per document, in encounter order
+   * @see #analyzeAll(Collection, Executor)
+   */
+  public List<ReadabilityResult> analyzeAll(Stream<String> documents, Executor executor) {
+    return analyzeAll(documents.collect(Collectors.toList()), executor);
+  }
+
+  ReadabilityResult analyzeSafely(String content) {
+    try {
+      return ReadabilityResult.success(analyze(content));
+    } catch (RuntimeException e) {
+      return ReadabilityResult.failure(e);
+    }
+  }
+
+  private static int chunkSize(int documents) {
+    var tasks = Runtime.getRuntime().availableProcessors() * 4;
+    return Math.max(1, Math.min(MAX_BATCH_CHUNK, (documents + tasks - 1) / tasks));
+  }
+
+}
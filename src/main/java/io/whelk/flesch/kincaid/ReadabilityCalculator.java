@@ -17,7 +17,6 @@ package io.whelk.flesch.kincaid;
 
 import java.util.List;
 import edu.stanford.nlp.simple.Sentence;
-import io.whelk.hy.phen.Hyphenator;
 import lombok.experimental.UtilityClass;
 
 /**
@@ -27,6 +26,9 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class ReadabilityCalculator {
 
+  /** minimum syllables of a polysyllabic word, as used by SMOG and Gunning fog */
+  static final int POLYSYLLABLE = 3;
+
   /**
    * {@code content} parsed to {@code List<Sentence>} and overloaded to
    * {@code calculateReadingEase(List)}
@@ -35,10 +37,7 @@ public class ReadabilityCalculator {
    * @return reading ease level
    */
   public static double calculateReadingEase(String content) {
-    var sentences = Tokenizer.tokenizeContent(content);
-    var words = Tokenizer.tokenizeSentences(sentences);
-
-    return ReadabilityCalculator.calculateReadingEase(sentences, words);
+    return ReadabilityCalculator.analyze(content).getReadingEase();
   }
 
   /**
@@ -104,10 +103,20 @@ public class ReadabilityCalculator {
    * @return reading ease level
    */
   public static double calculateReadingEase(List<Sentence> sentences, List<String> words) {
-    double totalSentences = sentences.size();
-    double totalWords = words.size();
-    double totalSyllables = countSyllables(words);
+    return calculateReadingEase(sentences.size(), words.size(), countSyllables(words));
+  }
 
+  /**
+   * Flesch reading-ease score from pre-computed totals.
+   * 
+   * @param totalSentences in content
+   * @param totalWords     in content
+   * @param totalSyllables in content
+   * @return reading ease level
+   * @see #calculateReadingEase(List, List)
+   * @since 0.1.12
+   */
+  public static double calculateReadingEase(double totalSentences, double totalWords, double totalSyllables) {
     return 206.835 - 1.015 * (totalWords / totalSentences) - 84.6 * (totalSyllables / totalWords);
   }
 
@@ -119,10 +128,7 @@ public class ReadabilityCalculator {
    * @return reading grade level
    */
   public static double calculateGradeLevel(String content) {
-    var sentences = Tokenizer.tokenizeContent(content);
-    var words = Tokenizer.tokenizeSentences(sentences);
-
-    return ReadabilityCalculator.calculateGradeLevel(sentences, words);
+    return ReadabilityCalculator.analyze(content).getGradeLevel();
   }
 
   /**
@@ -161,27 +167,284 @@ public class ReadabilityCalculator {
    * @return reading grade level
    */
   public static double calculateGradeLevel(List<Sentence> sentences, List<String> words) {
-    double totalSentences = sentences.size();
-    double totalWords = words.size();
-    double totalSyllables = countSyllables(words);
+    return calculateGradeLevel(sentences.size(), words.size(), countSyllables(words));
+  }
 
+  /**
+   * Flesch–Kincaid grade level from pre-computed totals.
+   * 
+   * @param totalSentences in content
+   * @param totalWords     in content
+   * @param totalSyllables in content
+   * @return reading grade level
+   * @see #calculateGradeLevel(List, List)
+   * @since 0.1.12
+   */
+  public static double calculateGradeLevel(double totalSentences, double totalWords, double totalSyllables) {
     return 0.39 * (totalWords / totalSentences) + 11.8 * (totalSyllables / totalWords) - 15.59;
   }
 
-  static double countSyllables(List<String> tokens) {
-    return tokens.stream().mapToDouble(ReadabilityCalculator::countSyllables).sum();
+  /**
+   * Gunning fog index, the years of formal education needed to understand the
+   * text on first reading:
+   * 
+   * <pre>
+   * 0.4 * (totalWords / totalSentences + 100 * (complexWords / totalWords))
+   * </pre>
+   * 
+   * @param totalSentences in content
+   * @param totalWords     in content
+   * @param complexWords   of three or more syllables, see
+   *                       {@link ReadabilityReport#getComplexWordCount()}
+   * @return gunning fog index
+   * @since 0.1.12
+   */
+  public static double calculateGunningFog(double totalSentences, double totalWords, double complexWords) {
+    return 0.4 * (totalWords / totalSentences + 100 * (complexWords / totalWords));
+  }
+
+  /**
+   * SMOG grade, normalized to a 30-sentence sample:
+   * 
+   * <pre>
+   * 1.0430 * sqrt(polysyllables * (30 / totalSentences)) + 3.1291
+   * </pre>
+   * 
+   * McLaughlin calibrated the formula on samples of at least 30 sentences;
+   * shorter texts are scored but less reliable.
+   * 
+   * @param totalSentences in content
+   * @param polysyllables  words of three or more syllables
+   * @return SMOG grade
+   * @since 0.1.12
+   */
+  public static double calculateSmogIndex(double totalSentences, double polysyllables) {
+    return 1.0430 * Math.sqrt(polysyllables * (30 / totalSentences)) + 3.1291;
+  }
+
+  /**
+   * Coleman–Liau index, a grade level from characters rather than syllables:
+   * 
+   * <pre>
+   * 0.0588 * (100 * totalCharacters / totalWords) - 0.296 * (100 * totalSentences / totalWords) - 15.8
+   * </pre>
+   * 
+   * @param totalSentences  in content
+   * @param totalWords      in content
+   * @param totalCharacters letters and digits in words
+   * @return coleman-liau index
+   * @since 0.1.12
+   */
+  public static double calculateColemanLiauIndex(double totalSentences, double totalWords, double totalCharacters) {
+    return 0.0588 * (100 * totalCharacters / totalWords) - 0.296 * (100 * totalSentences / totalWords) - 15.8;
   }
 
-  static double countSyllables(String word) {
-    // null or empty strings have no syllables
-    if (word == null || word.trim().isEmpty())
+  /**
+   * Automated readability index, a grade level from characters per word and
+   * words per sentence:
+   * 
+   * <pre>
+   * 4.71 * (totalCharacters / totalWords) + 0.5 * (totalWords / totalSentences) - 21.43
+   * </pre>
+   * 
+   * @param totalSentences  in content
+   * @param totalWords      in content
+   * @param totalCharacters letters and digits in words
+   * @return automated readability index
+   * @since 0.1.12
+   */
+  public static double calculateAutomatedReadabilityIndex(double totalSentences, double totalWords,
+      double totalCharacters) {
+    return 4.71 * (totalCharacters / totalWords) + 0.5 * (totalWords / totalSentences) - 21.43;
+  }
+
+  /**
+   * New Dale–Chall score, from the share of words missing from a list of words
+   * familiar to fourth-grade readers:
+   * 
+   * <pre>
+   * 0.1579 * (100 * unfamiliarWords / totalWords) + 0.0496 * (totalWords / totalSentences)
+   * </pre>
+   * 
+   * plus 3.6365 when more than 5% of words are unfamiliar. A score of 4.9 or
+   * lower is easily understood by a fourth-grader; 9.0 and above by college
+   * students.
+   * 
+   * @param totalSentences  in content
+   * @param totalWords      in content
+   * @param unfamiliarWords not in the familiar-word list
+   * @return dale-chall score
+   * @since 0.1.12
+   */
+  public static double calculateDaleChallScore(double totalSentences, double totalWords, double unfamiliarWords) {
+    var unfamiliar = 100 * unfamiliarWords / totalWords;
+    var score = 0.1579 * unfamiliar + 0.0496 * (totalWords / totalSentences);
+    return unfamiliar > 5 ? score + 3.6365 : score;
+  }
+
+  /**
+   * {@code content} is tokenized once and both reading ease and grade level are
+   * derived from the same sentence, word and syllable totals. Prefer this over
+   * calling {@link #calculateReadingEase(String)} and
+   * {@link #calculateGradeLevel(String)} separately when both scores are needed.
+   * 
+   * @param content to lex
+   * @return readability report
+   * @see ReadabilityAnalyzer#defaultAnalyzer()
+   * @since 0.1.12
+   */
+  public static ReadabilityReport analyze(String content) {
+    return ReadabilityAnalyzer.defaultAnalyzer().analyze(content);
+  }
+
+  /**
+   * Words are matched to their sentences in order, so a capitalized word
+   * opening any sentence is not mistaken for a proper noun; words not found
+   * among the sentence tokens are counted after the last sentence.
+   * 
+   * @param sentences to lex
+   * @param words     parsed from sentences
+   * @return readability report
+   * @since 0.1.12
+   */
+  public static ReadabilityReport analyze(List<Sentence> sentences, List<String> words) {
+    var accumulator = new ReadabilityAccumulator(ReadabilityAnalyzer.defaultAnalyzer());
+    var next = 0;
+    for (var sentence : sentences) {
+      for (var token : sentence.tokens()) {
+        if (next < words.size() && words.get(next).equals(token.originalText()))
+          accumulator.word(words.get(next++));
+      }
+      accumulator.endSentence();
+    }
+
+    while (next < words.size())
+      accumulator.word(words.get(next++));
+
+    return accumulator.toReport();
+  }
+
+  /**
+   * Score a compact document from its recorded syllable counts, without
+   * tokenizing or counting syllables again.
+   * 
+   * @param document from {@link Tokenizer#tokenizeDocument(String)}
+   * @return readability report
+   * @since 0.1.12
+   */
+  public static ReadabilityReport analyze(TokenizedDocument document) {
+    return document.toReport();
+  }
+
+  static long countSyllables(List<String> tokens) {
+    var syllableCounter = SyllableCache.defaultCache();
+    var total = 0L;
+
+    for (var token : tokens)
+      total += syllableCounter.countSyllables(token);
+
+    return total;
+  }
+
+  static int countSyllables(CharSequence word) {
+    return SyllableCache.defaultCache().countSyllables(word);
+  }
+
+  /**
+   * @param word to measure
+   * @return letters and digits in {@code word}
+   */
+  static int countCharacters(CharSequence word) {
+    var characters = 0;
+    for (var i = 0; i < word.length(); i++)
+      if (Character.isLetterOrDigit(word.charAt(i)))
+        characters++;
+
+    return characters;
+  }
+
+  /**
+   * Gunning's complex words: three or more syllables, excluding proper nouns,
+   * hyphenated compounds and words whose third syllable is only an
+   * {@code -ed}, {@code -es} or {@code -ing} ending.
+   * 
+   * @param word          to classify
+   * @param syllables     counted in {@code word}
+   * @param sentenceStart true if {@code word} opens its sentence, where
+   *                      capitalization does not mark a proper noun
+   * @return true if {@code word} is complex
+   */
+  static boolean isComplexWord(CharSequence word, int syllables, boolean sentenceStart) {
+    if (syllables < POLYSYLLABLE || word.length() == 0)
+      return false;
+    if (!sentenceStart && Character.isUpperCase(word.charAt(0)))
+      return false;
+
+    for (var i = 0; i < word.length(); i++)
+      if (word.charAt(i) == '-')
+        return false;
+
+    return syllables - inflectionSyllables(word) >= POLYSYLLABLE;
+  }
+
+  /**
+   * @param word to inspect
+   * @return 1 if {@code word} ends in a voiced {@code -ed}, {@code -es} or
+   *         {@code -ing}, otherwise 0
+   */
+  private static int inflectionSyllables(CharSequence word) {
+    var length = word.length();
+    if (length < 4)
       return 0;
 
-    // words with special characters are likely abbreviated NNP or NNPS, count as 1
-    if (!word.matches("[a-zA-Z]+"))
+    var last = Character.toLowerCase(word.charAt(length - 1));
+    var second = Character.toLowerCase(word.charAt(length - 2));
+    var stem = Character.toLowerCase(word.charAt(length - 3));
+
+    if (last == 'g' && second == 'n' && stem == 'i')
       return 1;
+    if (last == 'd' && second == 'e')
+      return stem == 't' || stem == 'd' ? 1 : 0;
+    if (last == 's' && second == 'e')
+      return stem == 's' || stem == 'x' || stem == 'z' || stem == 'h' ? 1 : 0;
+
+    return 0;
+  }
+
+  /**
+   * @param word to evaluate
+   * @return true if {@code word} is non-empty and only letters of any script
+   */
+  static boolean isLetters(CharSequence word) {
+    var length = word.length();
+    if (length == 0)
+      return false;
+
+    for (var i = 0; i < length; i++)
+      if (!Character.isLetter(word.charAt(i)))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Allocation-free equivalent of {@code word.matches("[a-zA-Z]+")}.
+   * 
+   * @param word to evaluate
+   * @return true if {@code word} is non-empty and only ASCII letters
+   */
+  static boolean isAsciiLetters(CharSequence word) {
+    var length = word.length();
+    if (length == 0)
+      return false;
+
+    for (var i = 0; i < length; i++) {
+      var c = word.charAt(i);
+      if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z'))
+        return false;
+    }
 
-    return Hyphenator.hyphen(word).syllables().size();
+    return true;
   }
 
 }
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command-line bulk scorer, the entry point of the shaded jar. Scores files,
+ * directory trees, or newline- or JSONL-delimited documents on standard
+ * input with a pool of worker threads, and writes one CSV or JSONL record per
+ * document as soon as it is scored. Output order follows completion, not
+ * input. A throughput summary is printed to standard error at the end.
+ * 
+ * <pre>
+ * java -jar flesch-kincaid.jar --threads 8 --format jsonl corpus/ &gt; scores.jsonl
+ * cat articles.jsonl | java -jar flesch-kincaid.jar --input jsonl --text-field body
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityCli {
+
+  static final int EXIT_OK = 0;
+  static final int EXIT_FAILURES = 1;
+  static final int EXIT_USAGE = 2;
+
+  private static final String USAGE = String.join(System.lineSeparator(), //
+      "usage: flesch-kincaid [options] [file|directory|-]...", //
+      "", //
+      "Scores each file, each regular file under each directory, or each", //
+      "document on standard input when no paths or '-' are given.", //
+      "", //
+      "  --threads <n>         worker threads (default: available processors)", //
+      "  --format csv|jsonl    output format (default: csv)", //
+      "  --input lines|jsonl   standard input framing (default: lines)", //
+      "  --text-field <name>   JSONL field holding the text (default: text)", //
+      "  --id-field <name>     JSONL field holding the id (default: id)", //
+      "  --engine corenlp|rule-based", //
+      "                        tokenizer engine (default: corenlp)", //
+      "  --help                print this message");
+
+  private ReadabilityCli() {}
+
+  /**
+   * @param args command line
+   */
+  public static void main(String[] args) {
+    System.exit(run(args, System.in, System.out, System.err));
+  }
+
+  /**
+   * @return {@link #EXIT_OK}, {@link #EXIT_FAILURES} if any document failed,
+   *         or {@link #EXIT_USAGE}
+   */
+  static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+    Options options;
+    try {
+      options = Options.parse(args);
+    } catch (IllegalArgumentException e) {
+      err.println(e.getMessage());
+      err.println(USAGE);
+      return EXIT_USAGE;
+    }
+
+    if (options.help) {
+      err.println(USAGE);
+      return EXIT_OK;
+    }
+
+    if (options.engine == TokenizerEngine.coreNlp()) {
+      var startup = CoreNlpPipeline.defaultPipeline().warmUp();
+      err.println(String.format(Locale.ROOT, "loaded CoreNLP in %d ms", startup.getLoadTime().toMillis()));
+    }
+
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(options.engine).build();
+    var output = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    var scorer = new Scorer(analyzer, options, output);
+    var start = System.nanoTime();
+
+    try {
+      scorer.writeHeader();
+      if (options.paths.isEmpty())
+        scorer.submitStdin(in);
+      for (var path : options.paths) {
+        if (path.equals("-"))
+          scorer.submitStdin(in);
+        else
+          scorer.submitPath(Path.of(path));
+      }
+      scorer.finish();
+    } catch (IOException | UncheckedIOException e) {
+      scorer.abort();
+      err.println("error: " + e.getMessage());
+      return EXIT_FAILURES;
+    } catch (InterruptedException e) {
+      scorer.abort();
+      Thread.currentThread().interrupt();
+      return EXIT_FAILURES;
+    }
+
+    var seconds = (System.nanoTime() - start) / 1e9;
+    err.println(String.format(Locale.ROOT,
+        "scored %d documents (%d failed), %d words in %.2f s: %.1f documents/s, %.0f words/s", //
+        scorer.documents.get(), scorer.failures.get(), scorer.words.get(), seconds, //
+        scorer.documents.get() / seconds, scorer.words.get() / seconds));
+
+    return scorer.failures.get() > 0 ? EXIT_FAILURES : EXIT_OK;
+  }
+
+  enum Format {
+    CSV, JSONL
+  }
+
+  enum Input {
+    LINES, JSONL
+  }
+
+  static final class Options {
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    Format format = Format.CSV;
+    Input input = Input.LINES;
+    String textField = "text";
+    String idField = "id";
+    TokenizerEngine engine = TokenizerEngine.coreNlp();
+    boolean help;
+    final List<String> paths = new ArrayList<>();
+
+    static Options parse(String[] args) {
+      var options = new Options();
+
+      for (int i = 0; i < args.length; i++) {
+        var arg = args[i];
+        switch (arg) {
+          case "--threads":
+            options.threads = parseThreads(value(args, ++i, arg));
+            break;
+          case "--format":
+            options.format = parseEnum(Format.class, value(args, ++i, arg), arg);
+            break;
+          case "--input":
+            options.input = parseEnum(Input.class, value(args, ++i, arg), arg);
+            break;
+          case "--text-field":
+            options.textField = value(args, ++i, arg);
+            break;
+          case "--id-field":
+            options.idField = value(args, ++i, arg);
+            break;
+          case "--engine":
+            options.engine = parseEngine(value(args, ++i, arg));
+            break;
+          case "--help":
+          case "-h":
+            options.help = true;
+            break;
+          default:
+            if (arg.startsWith("--"))
+              throw new IllegalArgumentException("unknown option " + arg);
+            options.paths.add(arg);
+        }
+      }
+
+      return options;
+    }
+
+    private static String value(String[] args, int index, String option) {
+      if (index >= args.length)
+        throw new IllegalArgumentException(option + " requires a value");
+      return args[index];
+    }
+
+    private static int parseThreads(String value) {
+      try {
+        var threads = Integer.parseInt(value);
+        if (threads > 0)
+          return threads;
+      } catch (NumberFormatException e) {
+        // fall through
+      }
+      throw new IllegalArgumentException("--threads must be a positive integer: " + value);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String option) {
+      try {
+        return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("invalid " + option + ": " + value);
+      }
+    }
+
+    private static TokenizerEngine parseEngine(String value) {
+      switch (value) {
+        case "corenlp":
+          return TokenizerEngine.coreNlp();
+        case "rule-based":
+          return TokenizerEngine.ruleBased();
+        default:
+          throw new IllegalArgumentException("invalid --engine: " + value);
+      }
+    }
+
+  }
+
+  /**
+   * Scores submitted documents on a fixed pool, holding at most four pending
+   * documents per thread so memory stays bounded on huge inputs.
+   */
+  private static final class Scorer {
+
+    private final ReadabilityAnalyzer analyzer;
+    private final Options options;
+    private final Writer output;
+    private final ExecutorService pool;
+    private final Semaphore pending;
+
+    final AtomicLong documents = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+    final AtomicLong words = new AtomicLong();
+
+    Scorer(ReadabilityAnalyzer analyzer, Options options, Writer output) {
+      this.analyzer = analyzer;
+      this.options = options;
+      this.output = output;
+      this.pool = Executors.newFixedThreadPool(options.threads, runnable -> {
+        var thread = new Thread(runnable, "readability-worker");
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.pending = new Semaphore(options.threads * 4);
+    }
+
+    void writeHeader() throws IOException {
+      if (options.format == Format.CSV)
+        write("id,sentences,words,syllables,reading_ease,grade_level,error");
+    }
+
+    void submitPath(Path path) throws IOException, InterruptedException {
+      if (!Files.isDirectory(path)) {
+        submit(path.toString(), () -> Files.readString(path, StandardCharsets.UTF_8));
+        return;
+      }
+
+      try (var files = Files.walk(path)) {
+        var iterator = files.filter(Files::isRegularFile).iterator();
+        while (iterator.hasNext()) {
+          var file = iterator.next();
+          submit(file.toString(), () -> Files.readString(file, StandardCharsets.UTF_8));
+        }
+      }
+    }
+
+    void submitStdin(InputStream in) throws IOException, InterruptedException {
+      var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+      var lineNumber = 0L;
+
+      for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+        lineNumber++;
+        if (line.isBlank())
+          continue;
+
+        var record = line;
+        var id = Long.toString(lineNumber);
+        if (options.input == Input.LINES)
+          submit(id, () -> record);
+        else
+          submitJson(id, record);
+      }
+    }
+
+    private void submitJson(String lineId, String line) throws InterruptedException {
+      String id = lineId;
+      Object text;
+      try {
+        var object = Json.parseObject(line);
+        var value = object.get(options.idField);
+        if (value instanceof Double && (Double) value == Math.rint((Double) value))
+          id = Long.toString(((Double) value).longValue());
+        else if (value != null)
+          id = value.toString();
+        text = object.get(options.textField);
+      } catch (IllegalArgumentException e) {
+        fail(id, e);
+        return;
+      }
+
+      if (!(text instanceof String)) {
+        fail(id, new IllegalArgumentException("missing string field \"" + options.textField + "\""));
+        return;
+      }
+
+      var content = (String) text;
+      submit(id, () -> content);
+    }
+
+    private void submit(String id, Source source) throws InterruptedException {
+      pending.acquire();
+      try {
+        pool.execute(() -> {
+          try {
+            var report = analyzer.analyze(source.read());
+            write(format(id, report));
+            words.addAndGet(report.getWordCount());
+            documents.incrementAndGet();
+          } catch (Exception e) {
+            fail(id, e);
+          } finally {
+            pending.release();
+          }
+        });
+      } catch (RuntimeException e) {
+        pending.release();
+        throw e;
+      }
+    }
+
+    private void fail(String id, Exception e) {
+      documents.incrementAndGet();
+      failures.incrementAndGet();
+      var message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+      try {
+        write(options.format == Format.CSV //
+            ? String.join(",", csv(id), "", "", "", "", "", csv(message))
+            : "{\"id\":" + Json.quote(id) + ",\"error\":" + Json.quote(message) + "}");
+      } catch (IOException ignored) {
+        // output is gone; the summary still counts the failure
+      }
+    }
+
+    private String format(String id, ReadabilityReport report) {
+      if (options.format == Format.CSV) {
+        return String.join(",", csv(id), //
+            Long.toString(report.getSentenceCount()), //
+            Long.toString(report.getWordCount()), //
+            Long.toString(report.getSyllableCount()), //
+            csvNumber(report.getReadingEase()), //
+            csvNumber(report.getGradeLevel()), //
+            "");
+      }
+
+      return "{\"id\":" + Json.quote(id) //
+          + ",\"sentences\":" + report.getSentenceCount() //
+          + ",\"words\":" + report.getWordCount() //
+          + ",\"syllables\":" + report.getSyllableCount() //
+          + ",\"readingEase\":" + Json.number(report.getReadingEase()) //
+          + ",\"gradeLevel\":" + Json.number(report.getGradeLevel()) //
+          + "}";
+    }
+
+    private void write(String line) throws IOException {
+      synchronized (output) {
+        output.write(line);
+        output.write('\n');
+      }
+    }
+
+    void finish() throws IOException, InterruptedException {
+      pool.shutdown();
+      pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      synchronized (output) {
+        output.flush();
+      }
+    }
+
+    void abort() {
+      pool.shutdownNow();
+      try {
+        synchronized (output) {
+          output.flush();
+        }
+      } catch (IOException ignored) {
+        // already failing
+      }
+    }
+
+    private static String csv(String value) {
+      if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+        return value;
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String csvNumber(double value) {
+      return Double.isFinite(value) ? Double.toString(value) : "";
+    }
+
+  }
+
+  @FunctionalInterface
+  private interface Source {
+
+    String read() throws IOException;
+
+  }
+
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import lombok.Value;
+
+/**
+ * Editable text that keeps per-sentence counts and re-scores incrementally.
+ * An edit re-tokenizes only the sentences it touches plus one neighbour on
+ * each side, so the cost of an edit tracks its size rather than the size of
+ * the document.
+ * 
+ * <p>
+ * The text is tiled into segments, each holding one sentence and the
+ * whitespace before it. Segments are kept in a randomized balanced tree
+ * that sums their lengths, so locating an edit and splicing in the
+ * re-counted sentences take logarithmic time in the number of sentences.
+ * 
+ * <p>
+ * Requires a tokenizer that reports sentence offsets through
+ * {@link TokenVisitor#endSentence(int)}, as the built-in engines do. Not
+ * thread-safe.
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityDocument {
+
+  private final ReadabilityAnalyzer analyzer;
+  private final StringBuilder text;
+  private final SegmentTree segments = new SegmentTree();
+  private final ReadabilityAccumulator totals;
+
+  /**
+   * @param text initial content, scored with the
+   *             {@link ReadabilityAnalyzer#defaultAnalyzer()}
+   */
+  public ReadabilityDocument(String text) {
+    this(text, ReadabilityAnalyzer.defaultAnalyzer());
+  }
+
+  /**
+   * @param text     initial content
+   * @param analyzer whose tokenizer and syllable counter score the content
+   */
+  public ReadabilityDocument(String text, ReadabilityAnalyzer analyzer) {
+    this.analyzer = analyzer;
+    this.totals = analyzer.accumulator();
+    this.text = new StringBuilder(text != null ? text : "");
+    replaceSegments(0, 0, count(0, this.text.length()));
+  }
+
+  /**
+   * @param offset to insert at
+   * @param insert text to insert
+   * @return this document
+   * @throws IndexOutOfBoundsException if {@code offset} is outside the text
+   */
+  public ReadabilityDocument insert(int offset, String insert) {
+    return replace(offset, offset, insert);
+  }
+
+  /**
+   * @param start first character to delete, inclusive
+   * @param end   last character to delete, exclusive
+   * @return this document
+   * @throws IndexOutOfBoundsException if the range is outside the text
+   */
+  public ReadabilityDocument delete(int start, int end) {
+    return replace(start, end, "");
+  }
+
+  /**
+   * @param start       first character to replace, inclusive
+   * @param end         last character to replace, exclusive
+   * @param replacement text to insert in place of the range
+   * @return this document
+   * @throws IndexOutOfBoundsException if the range is outside the text
+   */
+  public ReadabilityDocument replace(int start, int end, String replacement) {
+    Objects.checkFromToIndex(start, end, text.length());
+    var inserted = replacement != null ? replacement : "";
+
+    // neighbours may merge with or split from the edited sentences
+    var first = Math.max(segments.indexAt(start) - 1, 0);
+    var last = Math.min(segments.indexAt(end) + 1, segments.size() - 1);
+    var begin = segments.offsetOf(first);
+    var stop = segments.offsetOf(last + 1) + inserted.length() - (end - start);
+
+    text.replace(start, end, inserted);
+    replaceSegments(first, last + 1, count(begin, stop));
+    return this;
+  }
+
+  /**
+   * @return current text
+   */
+  public String getText() {
+    return text.toString();
+  }
+
+  /**
+   * @return length of the current text
+   */
+  public int length() {
+    return text.length();
+  }
+
+  /**
+   * @return counts of the current text
+   */
+  public ReadabilityReport toReport() {
+    return totals.toReport();
+  }
+
+  /**
+   * @return reading ease of the current text
+   */
+  public double getReadingEase() {
+    return totals.getReadingEase();
+  }
+
+  /**
+   * @return grade level of the current text
+   */
+  public double getGradeLevel() {
+    return totals.getGradeLevel();
+  }
+
+  private void replaceSegments(int from, int to, List<Segment> replacements) {
+    for (var segment : segments.replace(from, to, replacements))
+      totals.add(segment.getCounts(), -1);
+
+    for (var segment : replacements)
+      totals.add(segment.getCounts(), 1);
+  }
+
+  private List<Segment> count(int begin, int end) {
+    var counter = new SegmentCounter();
+    analyzer.getTokenizer().tokenize(text.substring(begin, end), counter);
+    return counter.finish(end - begin);
+  }
+
+  @Value
+  private static class Segment {
+
+    int length;
+    ReadabilityReport counts;
+
+  }
+
+  /**
+   * Implicit treap of segments in text order. Each node caches the segment
+   * count and total length of its subtree, so positions and offsets are found
+   * by descending from the root.
+   */
+  private static final class SegmentTree {
+
+    private final SplittableRandom priorities = new SplittableRandom(0x5EC7105L);
+    private Node root;
+
+    int size() {
+      return count(root);
+    }
+
+    /**
+     * @return index of the segment containing {@code offset}, or the last
+     *         segment if {@code offset} is at or past the end
+     */
+    int indexAt(int offset) {
+      var index = 0;
+      var node = root;
+      while (node != null) {
+        var leftLength = length(node.left);
+        if (offset < leftLength) {
+          node = node.left;
+          continue;
+        }
+
+        offset -= leftLength;
+        index += count(node.left);
+        if (offset < node.segment.getLength())
+          return index;
+
+        offset -= node.segment.getLength();
+        index++;
+        node = node.right;
+      }
+      return Math.max(index - 1, 0);
+    }
+
+    /**
+     * @return total length of the segments before {@code index}
+     */
+    int offsetOf(int index) {
+      var offset = 0;
+      var node = root;
+      while (node != null) {
+        var leftCount = count(node.left);
+        if (index <= leftCount) {
+          node = node.left;
+        } else {
+          offset += length(node.left) + node.segment.getLength();
+          index -= leftCount + 1;
+          node = node.right;
+        }
+      }
+      return offset;
+    }
+
+    /**
+     * @return segments formerly at {@code [from, to)}, in order
+     */
+    List<Segment> replace(int from, int to, List<Segment> replacements) {
+      var head = split(root, from);
+      var tail = split(head[1], to - from);
+
+      var removed = new ArrayList<Segment>(count(tail[0]));
+      collect(tail[0], removed);
+
+      Node inserted = null;
+      for (var segment : replacements)
+        inserted = merge(inserted, new Node(segment, priorities.nextInt()));
+
+      root = merge(merge(head[0], inserted), tail[1]);
+      return removed;
+    }
+
+    /** first {@code count} segments of {@code node}, and the rest */
+    private static Node[] split(Node node, int count) {
+      if (node == null)
+        return new Node[2];
+
+      if (count <= count(node.left)) {
+        var parts = split(node.left, count);
+        node.left = parts[1];
+        parts[1] = node.update();
+        return parts;
+      }
+
+      var parts = split(node.right, count - count(node.left) - 1);
+      node.right = parts[0];
+      parts[0] = node.update();
+      return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+      if (left == null)
+        return right;
+      if (right == null)
+        return left;
+
+      if (left.priority > right.priority) {
+        left.right = merge(left.right, right);
+        return left.update();
+      }
+
+      right.left = merge(left, right.left);
+      return right.update();
+    }
+
+    private static void collect(Node node, List<Segment> out) {
+      if (node == null)
+        return;
+      collect(node.left, out);
+      out.add(node.segment);
+      collect(node.right, out);
+    }
+
+    private static int count(Node node) {
+      return node != null ? node.count : 0;
+    }
+
+    private static int length(Node node) {
+      return node != null ? node.length : 0;
+    }
+
+    private static final class Node {
+
+      final Segment segment;
+      final int priority;
+      Node left;
+      Node right;
+      int count;
+      int length;
+
+      Node(Segment segment, int priority) {
+        this.segment = segment;
+        this.priority = priority;
+        update();
+      }
+
+      Node update() {
+        count = count(left) + 1 + count(right);
+        length = length(left) + segment.getLength() + length(right);
+        return this;
+      }
+
+    }
+
+  }
+
+  private class SegmentCounter implements TokenVisitor {
+
+    private final List<Segment> counted = new ArrayList<>();
+    private ReadabilityAccumulator sentence = analyzer.accumulator();
+    private int previousEnd;
+
+    @Override
+    public void word(CharSequence word) {
+      sentence.word(word);
+    }
+
+    @Override
+    public void endSentence() {
+      throw new IllegalStateException("tokenizer did not report sentence offsets");
+    }
+
+    @Override
+    public void endSentence(int end) {
+      sentence.endSentence();
+      counted.add(new Segment(end - previousEnd, sentence.toReport()));
+      sentence = analyzer.accumulator();
+      previousEnd = end;
+    }
+
+    List<Segment> finish(int length) {
+      var trailing = length - previousEnd;
+      if (counted.isEmpty()) {
+        if (length > 0)
+          counted.add(new Segment(length, sentence.toReport()));
+      } else if (trailing > 0) {
+        var last = counted.remove(counted.size() - 1);
+        counted.add(new Segment(last.getLength() + trailing, last.getCounts()));
+      }
+      return counted;
+    }
+
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Readability formulas computable from a {@link ReadabilityReport}. All of
+ * them read totals gathered in the same tokenization pass, so selecting more
+ * formulas does not tokenize the text again.
+ * 
+ * <pre>
+ * var scores = analyzer.analyze(content) //
+ *     .scores(EnumSet.of(ReadabilityFormula.GUNNING_FOG, ReadabilityFormula.SMOG));
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public enum ReadabilityFormula {
+
+  /** @see ReadabilityReport#getReadingEase() */
+  FLESCH_READING_EASE(ReadabilityReport::getReadingEase),
+
+  /** @see ReadabilityReport#getGradeLevel() */
+  FLESCH_KINCAID_GRADE_LEVEL(ReadabilityReport::getGradeLevel),
+
+  /** @see ReadabilityReport#getGunningFog() */
+  GUNNING_FOG(ReadabilityReport::getGunningFog),
+
+  /** @see ReadabilityReport#getSmogIndex() */
+  SMOG(ReadabilityReport::getSmogIndex),
+
+  /** @see ReadabilityReport#getColemanLiauIndex() */
+  COLEMAN_LIAU(ReadabilityReport::getColemanLiauIndex),
+
+  /** @see ReadabilityReport#getAutomatedReadabilityIndex() */
+  AUTOMATED_READABILITY_INDEX(ReadabilityReport::getAutomatedReadabilityIndex),
+
+  /**
+   * Requires an analyzer built with
+   * {@link ReadabilityAnalyzer.ReadabilityAnalyzerBuilder#familiarWords(java.util.Set)}.
+   * 
+   * @see ReadabilityReport#getDaleChallScore()
+   */
+  DALE_CHALL(ReadabilityReport::getDaleChallScore);
+
+  private final ToDoubleFunction<ReadabilityReport> formula;
+
+  ReadabilityFormula(ToDoubleFunction<ReadabilityReport> formula) {
+    this.formula = formula;
+  }
+
+  /**
+   * @param report totals to score
+   * @return score of {@code report}
+   */
+  public double score(ReadabilityReport report) {
+    return formula.applyAsDouble(report);
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * Receives hot-path timings and throughput counts from a
+ * {@link ReadabilityAnalyzer}. The default, {@link #noop()}, reports
+ * {@link #isEnabled()} as false so analyzers skip reading the clock
+ * altogether; enabled instrumentation reads it around each annotator and each
+ * word.
+ * 
+ * <p>
+ * Implementations are called concurrently and must be thread-safe.
+ * 
+ * @since 0.1.12
+ */
+public interface ReadabilityMetrics {
+
+  /**
+   * Timed stages of scoring a document or chunk.
+   */
+  enum Stage {
+
+    /** tokenization and sentence splitting; all of the rule-based engine's single pass */
+    SENTENCE_SPLITTING("sentence-splitting"),
+
+    /** CoreNLP part-of-speech tagging */
+    POS_TAGGING("pos-tagging"),
+
+    /** filtering tagged tokens down to words */
+    TOKEN_FILTERING("token-filtering"),
+
+    /** counting the syllables of each word */
+    SYLLABLE_COUNTING("syllable-counting");
+
+    private final String tag;
+
+    Stage(String tag) {
+      this.tag = tag;
+    }
+
+    /**
+     * @return lower-case name suitable for a metric tag
+     */
+    public String tag() {
+      return tag;
+    }
+
+  }
+
+  /**
+   * @return false if callers may skip timing entirely
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * @param stage that completed
+   * @param nanos time spent in {@code stage} for one document or chunk
+   */
+  void recordLatency(Stage stage, long nanos);
+
+  /**
+   * Called once per document scored, including cached results.
+   */
+  void recordDocument();
+
+  /**
+   * @param sentences counted in a document or chunk
+   * @param words     counted in a document or chunk
+   */
+  void recordTokens(long sentences, long words);
+
+  /**
+   * @return instrumentation that records nothing
+   */
+  static ReadabilityMetrics noop() {
+    return NoopReadabilityMetrics.INSTANCE;
+  }
+
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.Builder;
+
+/**
+ * {@link Flow.Processor} that scores a stream of documents, for use as a stage
+ * in message-driven pipelines. Each document yields one
+ * {@link ReadabilityResult}; a document that fails to score yields a failed
+ * result rather than terminating the stream.
+ * 
+ * <p>
+ * Documents are scored in micro-batches on up to {@code parallelism} tasks at
+ * once. Idle tasks share whatever is buffered, so a trickle of documents is
+ * scored one at a time with no added latency, a small burst is spread over
+ * every idle task, and a large burst is grouped into batches of up to
+ * {@code batchSize} documents, saving per-task scheduling and keeping each
+ * worker on the shared pipeline and syllable cache. Documents are never
+ * concatenated, so sentence splitting is unaffected.
+ * 
+ * <p>
+ * Demand is bounded end to end: at most {@code 2 * parallelism * batchSize}
+ * documents are requested from upstream but not yet delivered downstream. A
+ * slow subscriber therefore slows the publisher instead of growing a buffer.
+ * Results follow completion order unless {@code ordered} is set, in which
+ * case they follow input order. An upstream error or an invalid request is
+ * signalled immediately, dropping results not yet delivered and cancelling
+ * the upstream subscription. Supports a single subscriber.
+ * 
+ * <pre>
+ * var scoring = ReadabilityProcessor.builder() //
+ *     .parallelism(4) //
+ *     .ordered(true) //
+ *     .build();
+ * 
+ * publisher.subscribe(scoring);
+ * scoring.subscribe(resultSink);
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityProcessor implements Flow.Processor<String, ReadabilityResult> {
+
+  public static final int DEFAULT_BATCH_SIZE = 16;
+
+  private final ReadabilityAnalyzer analyzer;
+  private final Executor executor;
+  private final int parallelism;
+  private final int batchSize;
+  private final boolean ordered;
+  private final long window;
+
+  private final Object lock = new Object();
+
+  // guarded by lock
+  private Flow.Subscription upstream;
+  private Flow.Subscriber<? super ReadabilityResult> downstream;
+  private final ArrayDeque<String> buffer = new ArrayDeque<>();
+  private final ArrayDeque<ReadabilityResult> completed = new ArrayDeque<>();
+  private final Map<Long, ReadabilityResult> completedBySequence = new HashMap<>();
+  private long nextSequence;
+  private long nextToEmit;
+  private int inFlightBatches;
+  private long inFlightDocuments;
+  private long requested;
+  private long demand;
+  private boolean upstreamDone;
+  private Throwable error;
+  private boolean cancelled;
+  private boolean terminated;
+  private boolean draining;
+  private boolean drainAgain;
+
+  /**
+   * @param analyzer    to score with, defaults to
+   *                    {@link ReadabilityAnalyzer#defaultAnalyzer()}
+   * @param executor    to run scoring tasks on, defaults to
+   *                    {@link ForkJoinPool#commonPool()}
+   * @param parallelism maximum concurrent scoring tasks, defaults to the
+   *                    number of available processors
+   * @param batchSize   maximum documents per task, defaults to
+   *                    {@value #DEFAULT_BATCH_SIZE}
+   * @param ordered     emit results in input order rather than completion
+   *                    order
+   */
+  @Builder
+  private ReadabilityProcessor(ReadabilityAnalyzer analyzer, Executor executor, int parallelism, int batchSize,
+      boolean ordered) {
+    if (parallelism < 0 || batchSize < 0)
+      throw new IllegalArgumentException("parallelism and batchSize must not be negative");
+
+    this.analyzer = analyzer != null ? analyzer : ReadabilityAnalyzer.defaultAnalyzer();
+    this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    this.ordered = ordered;
+    this.window = 2L * this.parallelism * this.batchSize;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ReadabilityResult> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+
+    synchronized (lock) {
+      if (downstream == null) {
+        downstream = subscriber;
+      } else {
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+          @Override
+          public void request(long n) {}
+
+          @Override
+          public void cancel() {}
+
+        });
+        subscriber.onError(new IllegalStateException("ReadabilityProcessor supports a single subscriber"));
+        return;
+      }
+    }
+
+    subscriber.onSubscribe(new Flow.Subscription() {
+
+      @Override
+      public void request(long n) {
+        synchronized (lock) {
+          if (n <= 0)
+            error = new IllegalArgumentException("request must be positive: " + n);
+          else
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+        drain();
+      }
+
+      @Override
+      public void cancel() {
+        Flow.Subscription subscription;
+        synchronized (lock) {
+          cancelled = true;
+          buffer.clear();
+          completed.clear();
+          completedBySequence.clear();
+          subscription = upstream;
+        }
+        if (subscription != null)
+          subscription.cancel();
+      }
+
+    });
+
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    var cancelNow = false;
+    synchronized (lock) {
+      if (upstream != null || cancelled)
+        cancelNow = true;
+      else
+        upstream = subscription;
+    }
+
+    if (cancelNow)
+      subscription.cancel();
+    else
+      drain();
+  }
+
+  @Override
+  public void onNext(String document) {
+    Objects.requireNonNull(document, "document");
+
+    synchronized (lock) {
+      if (cancelled || upstreamDone)
+        return;
+      requested--;
+      buffer.add(document);
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    Objects.requireNonNull(throwable, "throwable");
+
+    synchronized (lock) {
+      if (upstreamDone)
+        return;
+      upstreamDone = true;
+      error = throwable;
+    }
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    synchronized (lock) {
+      upstreamDone = true;
+    }
+    drain();
+  }
+
+  /**
+   * Serializes every signal to the subscriber and upstream request. Runs on
+   * whichever thread changed state; a thread arriving mid-drain leaves its
+   * work to the draining thread.
+   */
+  private void drain() {
+    synchronized (lock) {
+      if (draining) {
+        drainAgain = true;
+        return;
+      }
+      draining = true;
+    }
+
+    for (;;) {
+      Flow.Subscriber<? super ReadabilityResult> subscriber = null;
+      Flow.Subscription subscription = null;
+      Flow.Subscription abandoned = null;
+      ReadabilityResult next = null;
+      Throwable failure = null;
+      var complete = false;
+      var request = 0L;
+      List<Batch> batches;
+
+      synchronized (lock) {
+        if (downstream != null && !terminated && !cancelled) {
+          subscriber = downstream;
+          if (error != null) {
+            failure = error;
+            terminated = true;
+            // nobody is left to deliver to, so stop pulling and scoring documents
+            cancelled = true;
+            buffer.clear();
+            completed.clear();
+            completedBySequence.clear();
+            if (!upstreamDone)
+              abandoned = upstream;
+          } else if (demand > 0 && (next = pollResult()) != null) {
+            demand--;
+          } else if (upstreamDone && buffer.isEmpty() && inFlightBatches == 0 && resultCount() == 0) {
+            complete = true;
+            terminated = true;
+          }
+        }
+
+        batches = takeBatches();
+
+        if (upstream != null && !upstreamDone && !cancelled && !terminated) {
+          var held = requested + buffer.size() + inFlightDocuments + resultCount();
+          if (held <= window / 2) {
+            request = window - held;
+            requested += request;
+            subscription = upstream;
+          }
+        }
+
+        if (batches.isEmpty() && next == null && failure == null && !complete && request == 0) {
+          if (!drainAgain) {
+            draining = false;
+            return;
+          }
+          drainAgain = false;
+          continue;
+        }
+      }
+
+      for (var batch : batches)
+        dispatch(batch);
+
+      if (abandoned != null)
+        abandoned.cancel();
+
+      if (request > 0)
+        subscription.request(request);
+
+      if (next != null)
+        subscriber.onNext(next);
+      else if (failure != null)
+        subscriber.onError(failure);
+      else if (complete)
+        subscriber.onComplete();
+    }
+  }
+
+  private List<Batch> takeBatches() {
+    if (buffer.isEmpty() || inFlightBatches >= parallelism || cancelled)
+      return List.of();
+
+    var batches = new ArrayList<Batch>();
+    while (!buffer.isEmpty() && inFlightBatches < parallelism) {
+      // spread what is buffered over the free tasks rather than giving it all to the first
+      var free = parallelism - inFlightBatches;
+      var size = Math.min(batchSize, (buffer.size() + free - 1) / free);
+      var documents = new String[size];
+      for (int i = 0; i < size; i++)
+        documents[i] = buffer.poll();
+
+      batches.add(new Batch(nextSequence, documents));
+      nextSequence += size;
+      inFlightBatches++;
+      inFlightDocuments += size;
+    }
+    return batches;
+  }
+
+  private void dispatch(Batch batch) {
+    try {
+      executor.execute(() -> {
+        var results = new ReadabilityResult[batch.documents.length];
+        for (int i = 0; i < results.length; i++)
+          results[i] = analyzer.analyzeSafely(batch.documents[i]);
+        complete(batch, results);
+      });
+    } catch (RejectedExecutionException e) {
+      var results = new ReadabilityResult[batch.documents.length];
+      for (int i = 0; i < results.length; i++)
+        results[i] = ReadabilityResult.failure(e);
+      complete(batch, results);
+    }
+  }
+
+  private void complete(Batch batch, ReadabilityResult[] results) {
+    synchronized (lock) {
+      inFlightBatches--;
+      inFlightDocuments -= results.length;
+
+      if (!cancelled) {
+        for (int i = 0; i < results.length; i++) {
+          if (ordered)
+            completedBySequence.put(batch.firstSequence + i, results[i]);
+          else
+            completed.add(results[i]);
+        }
+      }
+    }
+    drain();
+  }
+
+  private ReadabilityResult pollResult() {
+    if (!ordered)
+      return completed.poll();
+
+    var result = completedBySequence.remove(nextToEmit);
+    if (result != null)
+      nextToEmit++;
+    return result;
+  }
+
+  private int resultCount() {
+    return ordered ? completedBySequence.size() : completed.size();
+  }
+
+  private static final class Batch {
+
+    final long firstSequence;
+    final String[] documents;
+
+    Batch(long firstSequence, String[] documents) {
+      this.firstSequence = firstSequence;
+      this.documents = documents;
+    }
+
+  }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import edu.stanford.nlp.simple.Sentence;
+import edu.stanford.nlp.simple.Token;
+
+/**
+ * Readability of every sentence, window of sentences and paragraph in a
+ * document. Sentences are counted once into prefix sums, so any contiguous
+ * range is scored in constant time without tokenizing again.
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityProfile {
+
+  private static final int WORDS = 0;
+  private static final int SYLLABLES = 1;
+  private static final int CHARACTERS = 2;
+  private static final int POLYSYLLABLES = 3;
+  private static final int COMPLEX_WORDS = 4;
+  private static final int STRIDE = 5;
+
+  /** prefix sums of each count, {@link #STRIDE} entries per sentence boundary */
+  private final long[] totals;
+  private final int[] paragraphStarts;
+
+  private ReadabilityProfile(long[] totals, int[] paragraphStarts) {
+    this.totals = totals;
+    this.paragraphStarts = paragraphStarts;
+  }
+
+  /**
+   * @param sentences from {@link Tokenizer#tokenizeContent(String)}
+   * @return profile counting syllables with the default syllable cache
+   */
+  public static ReadabilityProfile of(List<Sentence> sentences) {
+    return of(sentences, SyllableCache.defaultCache());
+  }
+
+  /**
+   * Count every sentence in one pass. A paragraph starts at the first sentence
+   * and at each sentence preceded by a blank line.
+   * 
+   * @param sentences       from {@link Tokenizer#tokenizeContent(String)}
+   * @param syllableCounter to count word syllables with
+   * @return profile of {@code sentences}
+   */
+  public static ReadabilityProfile of(List<Sentence> sentences, SyllableCounter syllableCounter) {
+    var size = sentences != null ? sentences.size() : 0;
+    var totals = new long[(size + 1) * STRIDE];
+    var paragraphStarts = new int[size + 1];
+    var paragraphs = 0;
+    var previousEnd = -1;
+
+    for (int i = 0; i < size; i++) {
+      var sentence = sentences.get(i);
+      var from = i * STRIDE;
+      var to = from + STRIDE;
+      var sentenceStart = true;
+      System.arraycopy(totals, from, totals, to, STRIDE);
+
+      for (Token token : sentence.tokens()) {
+        if (PennTreebankValidator.isWord(token)) {
+          var word = token.originalText();
+          var syllables = syllableCounter.countSyllables(word);
+
+          totals[to + WORDS]++;
+          totals[to + SYLLABLES] += syllables;
+          totals[to + CHARACTERS] += ReadabilityCalculator.countCharacters(word);
+          if (syllables >= ReadabilityCalculator.POLYSYLLABLE) {
+            totals[to + POLYSYLLABLES]++;
+            if (ReadabilityCalculator.isComplexWord(word, syllables, sentenceStart))
+              totals[to + COMPLEX_WORDS]++;
+          }
+          sentenceStart = false;
+        }
+      }
+
+      var begin = sentence.characterOffsetBegin(0);
+      if (i == 0 || isParagraphBreak(sentence.document.text(), previousEnd, begin))
+        paragraphStarts[paragraphs++] = i;
+      previousEnd = sentence.characterOffsetEnd(sentence.length() - 1);
+    }
+
+    paragraphStarts[paragraphs] = size;
+
+    return new ReadabilityProfile(totals, Arrays.copyOf(paragraphStarts, paragraphs + 1));
+  }
+
+  static boolean isParagraphBreak(String text, int from, int to) {
+    var newlines = 0;
+    for (int i = Math.max(from, 0); i < to && i < text.length(); i++) {
+      var c = text.charAt(i);
+      if (c == '\n' && ++newlines == 2)
+        return true;
+      else if (!Character.isWhitespace(c))
+        newlines = 0;
+    }
+    return false;
+  }
+
+  /**
+   * @return number of sentences profiled
+   */
+  public int sentenceCount() {
+    return totals.length / STRIDE - 1;
+  }
+
+  /**
+   * @return number of paragraphs profiled
+   */
+  public int paragraphCount() {
+    return paragraphStarts.length - 1;
+  }
+
+  /**
+   * @return report for the whole document
+   */
+  public ReadabilityReport total() {
+    return range(0, sentenceCount());
+  }
+
+  /**
+   * @param index of the sentence
+   * @return report for a single sentence
+   */
+  public ReadabilityReport sentence(int index) {
+    return range(index, index + 1);
+  }
+
+  /**
+   * Score a contiguous range of sentences in constant time.
+   * 
+   * @param fromSentence first sentence, inclusive
+   * @param toSentence   last sentence, exclusive
+   * @return report for the range
+   * @throws IndexOutOfBoundsException if the range is outside the profile
+   */
+  public ReadabilityReport range(int fromSentence, int toSentence) {
+    if (fromSentence < 0 || toSentence > sentenceCount() || fromSentence > toSentence)
+      throw new IndexOutOfBoundsException("range [" + fromSentence + ", " + toSentence + ") of " + sentenceCount());
+
+    var from = fromSentence * STRIDE;
+    var to = toSentence * STRIDE;
+
+    return ReadabilityReport.builder() //
+        .sentenceCount(toSentence - fromSentence) //
+        .wordCount(totals[to + WORDS] - totals[from + WORDS]) //
+        .syllableCount(totals[to + SYLLABLES] - totals[from + SYLLABLES]) //
+        .characterCount(totals[to + CHARACTERS] - totals[from + CHARACTERS]) //
+        .polysyllableCount(totals[to + POLYSYLLABLES] - totals[from + POLYSYLLABLES]) //
+        .complexWordCount(totals[to + COMPLEX_WORDS] - totals[from + COMPLEX_WORDS]) //
+        .build();
+  }
+
+  /**
+   * @param index of the paragraph
+   * @return report for the paragraph
+   */
+  public ReadabilityReport paragraph(int index) {
+    return range(paragraphStarts[index], paragraphStarts[index + 1]);
+  }
+
+  /**
+   * @return report per paragraph, computed on access
+   */
+  public List<ReadabilityReport> paragraphs() {
+    return new AbstractList<>() {
+
+      @Override
+      public ReadabilityReport get(int index) {
+        Objects.checkIndex(index, size());
+        return paragraph(index);
+      }
+
+      @Override
+      public int size() {
+        return paragraphCount();
+      }
+
+    };
+  }
+
+  /**
+   * Sliding windows of {@code size} sentences advancing one sentence at a
+   * time. Documents shorter than a window yield a single window of every
+   * sentence.
+   * 
+   * @param size sentences per window
+   * @return report per window, computed on access
+   * @throws IllegalArgumentException if {@code size} is not positive
+   */
+  public List<ReadabilityReport> windows(int size) {
+    if (size <= 0)
+      throw new IllegalArgumentException("window size must be positive: " + size);
+
+    var window = Math.min(size, sentenceCount());
+    var count = sentenceCount() == 0 ? 0 : sentenceCount() - window + 1;
+
+    return new AbstractList<>() {
+
+      @Override
+      public ReadabilityReport get(int index) {
+        Objects.checkIndex(index, count);
+        return range(index, index + window);
+      }
+
+      @Override
+      public int size() {
+        return count;
+      }
+
+    };
+  }
+
+}
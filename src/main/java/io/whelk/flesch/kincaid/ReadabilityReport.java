@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable totals gathered from a single tokenization of content. Every
+ * {@link ReadabilityFormula} is derived from the same totals, so any set of
+ * scores costs one pass over the text.
+ * 
+ * @since 0.1.12
+ */
+@Value
+@Builder
+public class ReadabilityReport {
+
+  /** {@link #getUnfamiliarWordCount()} of text scored without a familiar-word list */
+  public static final long UNCOUNTED = -1;
+
+  long sentenceCount;
+  long wordCount;
+  long syllableCount;
+
+  /** letters and digits in words */
+  long characterCount;
+
+  /** words of three or more syllables */
+  long polysyllableCount;
+
+  /**
+   * polysyllables other than proper nouns, hyphenated compounds and words made
+   * three syllables by an inflection
+   */
+  long complexWordCount;
+
+  /**
+   * words missing from the analyzer's familiar-word list, or
+   * {@value #UNCOUNTED} if it has none
+   */
+  @Builder.Default
+  long unfamiliarWordCount = UNCOUNTED;
+
+  /**
+   * @return reading ease level
+   * @see ReadabilityCalculator#calculateReadingEase(double, double, double)
+   */
+  public double getReadingEase() {
+    return ReadabilityCalculator.calculateReadingEase(sentenceCount, wordCount, syllableCount);
+  }
+
+  /**
+   * @return reading grade level
+   * @see ReadabilityCalculator#calculateGradeLevel(double, double, double)
+   */
+  public double getGradeLevel() {
+    return ReadabilityCalculator.calculateGradeLevel(sentenceCount, wordCount, syllableCount);
+  }
+
+  /**
+   * @return gunning fog index
+   * @see ReadabilityCalculator#calculateGunningFog(double, double, double)
+   */
+  public double getGunningFog() {
+    return ReadabilityCalculator.calculateGunningFog(sentenceCount, wordCount, complexWordCount);
+  }
+
+  /**
+   * @return SMOG grade
+   * @see ReadabilityCalculator#calculateSmogIndex(double, double)
+   */
+  public double getSmogIndex() {
+    return ReadabilityCalculator.calculateSmogIndex(sentenceCount, polysyllableCount);
+  }
+
+  /**
+   * @return coleman-liau index
+   * @see ReadabilityCalculator#calculateColemanLiauIndex(double, double, double)
+   */
+  public double getColemanLiauIndex() {
+    return ReadabilityCalculator.calculateColemanLiauIndex(sentenceCount, wordCount, characterCount);
+  }
+
+  /**
+   * @return automated readability index
+   * @see ReadabilityCalculator#calculateAutomatedReadabilityIndex(double,
+   *      double, double)
+   */
+  public double getAutomatedReadabilityIndex() {
+    return ReadabilityCalculator.calculateAutomatedReadabilityIndex(sentenceCount, wordCount, characterCount);
+  }
+
+  /**
+   * @return dale-chall score, or {@code NaN} if unfamiliar words were not
+   *         counted
+   * @see ReadabilityCalculator#calculateDaleChallScore(double, double, double)
+   */
+  public double getDaleChallScore() {
+    return unfamiliarWordCount == UNCOUNTED //
+        ? Double.NaN
+        : ReadabilityCalculator.calculateDaleChallScore(sentenceCount, wordCount, unfamiliarWordCount);
+  }
+
+  /**
+   * @param formula to score with
+   * @return score of these totals
+   */
+  public double score(ReadabilityFormula formula) {
+    return formula.score(this);
+  }
+
+  /**
+   * @param formulas to score with
+   * @return score of these totals per formula, in declaration order
+   */
+  public Map<ReadabilityFormula, Double> scores(Set<ReadabilityFormula> formulas) {
+    var scores = new EnumMap<ReadabilityFormula, Double>(ReadabilityFormula.class);
+    for (var formula : formulas)
+      scores.put(formula, formula.score(this));
+    return scores;
+  }
+
+}
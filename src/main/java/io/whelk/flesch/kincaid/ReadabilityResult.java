@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Outcome of scoring one document in a batch: either a
+ * {@link ReadabilityReport} or the error that prevented it, so one failure
+ * does not abort the rest of the batch.
+ * 
+ * @since 0.1.12
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReadabilityResult {
+
+  ReadabilityReport report;
+  Throwable error;
+
+  /**
+   * @param report for the document
+   * @return successful result
+   */
+  public static ReadabilityResult success(ReadabilityReport report) {
+    return new ReadabilityResult(report, null);
+  }
+
+  /**
+   * @param error raised while scoring the document
+   * @return failed result
+   */
+  public static ReadabilityResult failure(Throwable error) {
+    return new ReadabilityResult(null, error);
+  }
+
+  /**
+   * @return true if the document was scored
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+}
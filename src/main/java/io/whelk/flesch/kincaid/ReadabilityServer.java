@@ -0,0 +1,656 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.Builder;
+
+/**
+ * Embeddable HTTP scoring service on the JDK {@link HttpServer}, with no
+ * dependencies beyond the {@code jdk.httpserver} module.
+ * 
+ * <pre>
+ * POST /v1/readability        {"text": "...", "language": "de"} or a text/plain body
+ * POST /v1/readability/batch  [{"id": "a", "text": "..."}, "...", ...]
+ * GET  /metrics               Prometheus text format
+ * GET  /health
+ * </pre>
+ * 
+ * HTTP threads only parse requests; documents from concurrent requests share
+ * one bounded work queue. Each scoring thread drains up to {@code batchSize}
+ * queued documents per wake-up and scores them one after another, so a busy
+ * server pays one queue hand-off per group rather than per document. The
+ * queue holds at most {@code queueCapacity} documents; a request that does not fit
+ * is shed at once with {@code 503 Service Unavailable} and
+ * {@code Retry-After}, instead of waiting behind work it would time out on.
+ * A batch is admitted whole or not at all.
+ * 
+ * <pre>
+ * try (var server = ReadabilityServer.builder() //
+ *     .port(8080) //
+ *     .threads(4) //
+ *     .build() //
+ *     .start()) {
+ *   ...
+ * }
+ * </pre>
+ * 
+ * {@link #main(String[])} runs a standalone server:
+ * {@code java -cp flesch-kincaid.jar io.whelk.flesch.kincaid.ReadabilityServer --port 8080}.
+ * 
+ * @since 0.1.12
+ */
+public final class ReadabilityServer implements AutoCloseable {
+
+  public static final int DEFAULT_PORT = 8080;
+  public static final int DEFAULT_BATCH_SIZE = 16;
+  public static final int DEFAULT_MAX_REQUEST_BYTES = 1 << 20;
+
+  static final String SCORE_PATH = "/v1/readability";
+  static final String BATCH_PATH = "/v1/readability/batch";
+  static final String METRICS_PATH = "/metrics";
+  static final String HEALTH_PATH = "/health";
+
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final String TEXT = "text/plain; charset=utf-8";
+
+  /** upper bounds of the request latency histogram, in seconds */
+  private static final double[] LATENCY_BUCKETS = { 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5,
+      5, 10 };
+
+  private static final AtomicInteger SERVER_IDS = new AtomicInteger();
+
+  private final ReadabilityAnalyzer analyzer;
+  private final String host;
+  private final int port;
+  private final int threads;
+  private final int batchSize;
+  private final int queueCapacity;
+  private final int maxRequestBytes;
+
+  private final BlockingQueue<Job> queue = new LinkedBlockingQueue<>();
+  private final Semaphore slots;
+  private final Stats stats = new Stats();
+  private final List<Thread> workers = new ArrayList<>();
+
+  private HttpServer server;
+  private ExecutorService exchanges;
+  private volatile boolean closed;
+
+  /**
+   * @param analyzer        to score with, defaults to
+   *                        {@link ReadabilityAnalyzer#defaultAnalyzer()};
+   *                        requests naming a language use its
+   *                        {@link LanguageProfile} instead
+   * @param host            to bind, defaults to all interfaces
+   * @param port            to bind, {@code 0} for an ephemeral port
+   * @param threads         scoring threads, defaults to the number of
+   *                        available processors
+   * @param batchSize       documents a scoring thread takes per wake-up,
+   *                        defaults to {@value #DEFAULT_BATCH_SIZE}
+   * @param queueCapacity   documents waiting for a scoring thread before
+   *                        requests are shed, defaults to 64 per thread
+   * @param maxRequestBytes largest accepted request body, defaults to
+   *                        {@value #DEFAULT_MAX_REQUEST_BYTES}
+   */
+  @Builder
+  private ReadabilityServer(ReadabilityAnalyzer analyzer, String host, int port, int threads, int batchSize,
+      int queueCapacity, int maxRequestBytes) {
+    if (port < 0 || threads < 0 || batchSize < 0 || queueCapacity < 0 || maxRequestBytes < 0)
+      throw new IllegalArgumentException("port, threads, batchSize, queueCapacity and maxRequestBytes must not be negative");
+
+    this.analyzer = analyzer != null ? analyzer : ReadabilityAnalyzer.defaultAnalyzer();
+    this.host = host;
+    this.port = port;
+    this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    this.queueCapacity = queueCapacity > 0 ? queueCapacity : this.threads * 64;
+    this.maxRequestBytes = maxRequestBytes > 0 ? maxRequestBytes : DEFAULT_MAX_REQUEST_BYTES;
+    this.slots = new Semaphore(this.queueCapacity);
+  }
+
+  /**
+   * Run a standalone server until the process is stopped.
+   * 
+   * @param args {@code [--host <host>] [--port <port>] [--threads <n>]
+   *             [--batch-size <n>] [--queue-capacity <n>]
+   *             [--engine corenlp|rule-based]}
+   * @throws IOException          if the port cannot be bound
+   * @throws InterruptedException if interrupted while serving
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    var builder = ReadabilityServer.builder().port(DEFAULT_PORT);
+    var engine = TokenizerEngine.coreNlp();
+
+    try {
+      for (var i = 0; i < args.length; i++) {
+        var arg = args[i];
+        if (arg.equals("--engine")) {
+          var value = value(args, ++i, arg);
+          if (value.equals("rule-based"))
+            engine = TokenizerEngine.ruleBased();
+          else if (!value.equals("corenlp"))
+            throw new IllegalArgumentException("invalid --engine: " + value);
+        } else if (arg.equals("--host"))
+          builder.host(value(args, ++i, arg));
+        else if (arg.equals("--port"))
+          builder.port(number(args, ++i, arg));
+        else if (arg.equals("--threads"))
+          builder.threads(number(args, ++i, arg));
+        else if (arg.equals("--batch-size"))
+          builder.batchSize(number(args, ++i, arg));
+        else if (arg.equals("--queue-capacity"))
+          builder.queueCapacity(number(args, ++i, arg));
+        else
+          throw new IllegalArgumentException("unknown option " + arg);
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println("usage: ReadabilityServer [--host <host>] [--port <port>] [--threads <n>] "
+          + "[--batch-size <n>] [--queue-capacity <n>] [--engine corenlp|rule-based]");
+      System.exit(ReadabilityCli.EXIT_USAGE);
+      return;
+    }
+
+    if (engine == TokenizerEngine.coreNlp()) {
+      var startup = CoreNlpPipeline.defaultPipeline().warmUp();
+      System.err.println(String.format(Locale.ROOT, "loaded CoreNLP in %d ms", startup.getLoadTime().toMillis()));
+    }
+
+    var server = builder.analyzer(ReadabilityAnalyzer.builder().tokenizer(engine).build()).build().start();
+    Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    System.err.println("listening on port " + server.getPort());
+
+    Thread.currentThread().join();
+  }
+
+  private static String value(String[] args, int index, String option) {
+    if (index >= args.length)
+      throw new IllegalArgumentException(option + " requires a value");
+    return args[index];
+  }
+
+  private static int number(String[] args, int index, String option) {
+    var value = value(args, index, option);
+    try {
+      var number = Integer.parseInt(value);
+      if (number >= 0)
+        return number;
+    } catch (NumberFormatException e) {
+      // fall through
+    }
+    throw new IllegalArgumentException(option + " must be a non-negative integer: " + value);
+  }
+
+  /**
+   * Bind the port and start the scoring threads.
+   * 
+   * @return this server
+   * @throws IOException           if the port cannot be bound
+   * @throws IllegalStateException if already started or closed
+   */
+  public synchronized ReadabilityServer start() throws IOException {
+    if (server != null || closed)
+      throw new IllegalStateException(closed ? "server closed" : "server already started");
+
+    var id = SERVER_IDS.incrementAndGet();
+    var address = host != null ? new InetSocketAddress(host, port) : new InetSocketAddress(port);
+
+    server = HttpServer.create(address, 0);
+    exchanges = Executors.newFixedThreadPool(threads, daemon("readability-http-" + id));
+    server.setExecutor(exchanges);
+    server.createContext(SCORE_PATH, exchange -> handle(exchange, "POST", this::score));
+    server.createContext(BATCH_PATH, exchange -> handle(exchange, "POST", this::scoreBatch));
+    server.createContext(METRICS_PATH, exchange -> handle(exchange, "GET", this::metrics));
+    server.createContext(HEALTH_PATH, exchange -> handle(exchange, "GET", this::health));
+
+    var factory = daemon("readability-score-" + id);
+    for (var i = 0; i < threads; i++) {
+      var worker = factory.newThread(this::work);
+      workers.add(worker);
+      worker.start();
+    }
+
+    server.start();
+    return this;
+  }
+
+  /**
+   * @return bound port, useful with an ephemeral {@code port}
+   * @throws IllegalStateException if not started
+   */
+  public synchronized int getPort() {
+    if (server == null)
+      throw new IllegalStateException("server not started");
+
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * @return documents waiting for a scoring thread
+   */
+  public int getQueuedCount() {
+    return queue.size();
+  }
+
+  /**
+   * Stop accepting requests, answer queued documents with {@code 503} and
+   * stop the scoring threads. Documents already being scored are answered.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed)
+      return;
+
+    closed = true;
+    if (server == null)
+      return;
+
+    server.stop(0);
+    workers.forEach(Thread::interrupt);
+
+    rejectQueued();
+    exchanges.shutdown();
+  }
+
+  private void work() {
+    var batch = new ArrayList<Job>(batchSize);
+
+    while (!closed) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        return;
+      }
+
+      queue.drainTo(batch, batchSize - 1);
+      slots.release(batch.size());
+      stats.drains.increment();
+      stats.drainedDocuments.add(batch.size());
+
+      for (var job : batch) {
+        try {
+          job.result.complete((job.profile != null ? job.profile.getAnalyzer() : analyzer).analyze(job.content));
+        } catch (Throwable e) {
+          job.result.completeExceptionally(e);
+        }
+      }
+
+      batch.clear();
+    }
+  }
+
+  private void score(HttpExchange exchange, long started) throws IOException {
+    stats.requests.increment();
+    var body = readBody(exchange);
+    var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+    var job = contentType != null && contentType.startsWith("application/json") //
+        ? Job.of(Json.parse(body)) //
+        : new Job(null, body, null);
+
+    if (!admit(exchange, List.of(job)))
+      return;
+
+    job.result.whenComplete((report, error) -> {
+      stats.record(error);
+      if (error == null)
+        respondScored(exchange, 200, job.format(report), started);
+      else if (isRejection(error))
+        shed(exchange);
+      else
+        respondScored(exchange, 500, "{\"error\":" + Json.quote(message(error)) + "}", started);
+    });
+  }
+
+  private void scoreBatch(HttpExchange exchange, long started) throws IOException {
+    stats.batchRequests.increment();
+    var documents = Json.parse(readBody(exchange));
+    if (!(documents instanceof List))
+      throw new IllegalArgumentException("expected a JSON array of documents");
+
+    var jobs = new ArrayList<Job>();
+    for (var document : (List<?>) documents)
+      jobs.add(Job.of(document));
+
+    if (jobs.size() > queueCapacity) {
+      respond(exchange, 413, JSON, "{\"error\":\"batch exceeds " + queueCapacity + " documents\"}");
+      return;
+    }
+
+    if (!admit(exchange, jobs))
+      return;
+
+    var results = jobs.stream().map(job -> job.result).toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(results).whenComplete((ignored, failure) -> {
+      if (failure != null && jobs.stream().anyMatch(job -> isRejection(error(job)))) {
+        shed(exchange);
+        return;
+      }
+
+      var body = new StringBuilder("[");
+      for (var job : jobs) {
+        var error = error(job);
+        stats.record(error);
+        if (body.length() > 1)
+          body.append(',');
+        body.append(error == null //
+            ? job.format(job.result.join())
+            : "{\"id\":" + Json.quote(job.id) + ",\"error\":" + Json.quote(message(error)) + "}");
+      }
+
+      respondScored(exchange, 200, body.append(']').toString(), started);
+    });
+  }
+
+  /**
+   * Queue {@code jobs} if they all fit, otherwise shed the request.
+   */
+  private boolean admit(HttpExchange exchange, List<Job> jobs) {
+    if (closed || !slots.tryAcquire(jobs.size())) {
+      shed(exchange);
+      return false;
+    }
+
+    queue.addAll(jobs);
+
+    // lost a race with close(), which may already have drained the queue
+    if (closed)
+      rejectQueued();
+
+    return true;
+  }
+
+  private void rejectQueued() {
+    var rejected = new RejectedExecutionException("server is closed");
+    for (var job = queue.poll(); job != null; job = queue.poll())
+      job.result.completeExceptionally(rejected);
+  }
+
+  private void shed(HttpExchange exchange) {
+    stats.rejected.increment();
+    exchange.getResponseHeaders().set("Retry-After", "1");
+    respond(exchange, 503, JSON, "{\"error\":\"server is saturated\"}");
+  }
+
+  private static Throwable error(Job job) {
+    return job.result.isCompletedExceptionally() ? job.result.handle((report, error) -> error).join() : null;
+  }
+
+  private void metrics(HttpExchange exchange, long started) {
+    respond(exchange, 200, "text/plain; version=0.0.4; charset=utf-8", stats.format(queue.size(), queueCapacity));
+  }
+
+  private void health(HttpExchange exchange, long started) {
+    respond(exchange, 200, TEXT, "ok");
+  }
+
+  private void handle(HttpExchange exchange, String method, Handler handler) {
+    var started = System.nanoTime();
+    try {
+      if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath()))
+        respond(exchange, 404, JSON, "{\"error\":\"not found\"}");
+      else if (!exchange.getRequestMethod().equals(method)) {
+        exchange.getResponseHeaders().set("Allow", method);
+        respond(exchange, 405, JSON, "{\"error\":\"method not allowed\"}");
+      } else
+        handler.handle(exchange, started);
+    } catch (RequestTooLargeException e) {
+      respond(exchange, 413, JSON, "{\"error\":" + Json.quote(e.getMessage()) + "}");
+    } catch (IllegalArgumentException e) {
+      respond(exchange, 400, JSON, "{\"error\":" + Json.quote(e.getMessage()) + "}");
+    } catch (IOException | RuntimeException e) {
+      respond(exchange, 500, JSON, "{\"error\":" + Json.quote(message(e)) + "}");
+    }
+  }
+
+  private String readBody(HttpExchange exchange) throws IOException {
+    try (InputStream in = exchange.getRequestBody()) {
+      var body = in.readNBytes(maxRequestBytes + 1);
+      if (body.length > maxRequestBytes)
+        throw new RequestTooLargeException("request body exceeds " + maxRequestBytes + " bytes");
+
+      return new String(body, StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Respond to a request that reached a scoring thread, recording its latency.
+   * Shed and invalid requests stay out of the histogram.
+   */
+  private void respondScored(HttpExchange exchange, int status, String body, long started) {
+    respond(exchange, status, JSON, body);
+    stats.observe(System.nanoTime() - started);
+  }
+
+  /**
+   * Send the response and close the exchange; a client that went away is
+   * ignored.
+   */
+  private void respond(HttpExchange exchange, int status, String contentType, String body) {
+    try {
+      var bytes = body.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", contentType);
+      exchange.sendResponseHeaders(status, bytes.length);
+      exchange.getResponseBody().write(bytes);
+    } catch (IOException e) {
+      // client disconnected
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static boolean isRejection(Throwable error) {
+    return error instanceof RejectedExecutionException;
+  }
+
+  private static String message(Throwable error) {
+    return error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+  }
+
+  private static ThreadFactory daemon(String prefix) {
+    var ids = new AtomicInteger();
+    return runnable -> {
+      var thread = new Thread(runnable, prefix + "-" + ids.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+
+    void handle(HttpExchange exchange, long started) throws IOException;
+
+  }
+
+  private static final class RequestTooLargeException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    RequestTooLargeException(String message) {
+      super(message);
+    }
+
+  }
+
+  /**
+   * Counters behind {@link #METRICS_PATH}.
+   */
+  private static final class Stats {
+
+    final LongAdder requests = new LongAdder();
+    final LongAdder batchRequests = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder documents = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder drains = new LongAdder();
+    final LongAdder drainedDocuments = new LongAdder();
+
+    final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS.length + 1];
+    final LongAdder latencyNanos = new LongAdder();
+
+    Stats() {
+      for (var i = 0; i < latencyBuckets.length; i++)
+        latencyBuckets[i] = new LongAdder();
+    }
+
+    void record(Throwable error) {
+      documents.increment();
+      if (error != null)
+        failures.increment();
+    }
+
+    void observe(long nanos) {
+      var seconds = nanos / 1e9;
+      var bucket = 0;
+      while (bucket < LATENCY_BUCKETS.length && seconds > LATENCY_BUCKETS[bucket])
+        bucket++;
+
+      latencyBuckets[bucket].increment();
+      latencyNanos.add(nanos);
+    }
+
+    String format(int queued, int capacity) {
+      var out = new StringBuilder();
+      counter(out, "readability_requests_total", "single-document scoring requests", requests.sum());
+      counter(out, "readability_batch_requests_total", "batch scoring requests", batchRequests.sum());
+      counter(out, "readability_rejected_total", "requests shed with 503", rejected.sum());
+      counter(out, "readability_documents_total", "documents scored, including failures", documents.sum());
+      counter(out, "readability_document_failures_total", "documents that failed to score", failures.sum());
+      counter(out, "readability_queue_drains_total", "wake-ups of scoring threads draining the queue", drains.sum());
+      counter(out, "readability_queue_drained_documents_total", "documents taken from the queue by scoring threads",
+          drainedDocuments.sum());
+      gauge(out, "readability_queue_depth", "documents waiting for a scoring thread", queued);
+      gauge(out, "readability_queue_capacity", "documents that may wait before requests are shed", capacity);
+
+      var name = "readability_request_duration_seconds";
+      out.append("# HELP ").append(name).append(" scoring request latency\n");
+      out.append("# TYPE ").append(name).append(" histogram\n");
+
+      var count = 0L;
+      for (var i = 0; i < latencyBuckets.length; i++) {
+        count += latencyBuckets[i].sum();
+        var bound = i < LATENCY_BUCKETS.length ? Double.toString(LATENCY_BUCKETS[i]) : "+Inf";
+        out.append(name).append("_bucket{le=\"").append(bound).append("\"} ").append(count).append('\n');
+      }
+
+      out.append(name).append("_sum ").append(latencyNanos.sum() / 1e9).append('\n');
+      out.append(name).append("_count ").append(count).append('\n');
+      return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+      metric(out, name, help, "counter", value);
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+      metric(out, name, help, "gauge", value);
+    }
+
+    private static void metric(StringBuilder out, String name, String help, String type, long value) {
+      out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+      out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+      out.append(name).append(' ').append(value).append('\n');
+    }
+
+  }
+
+  /**
+   * One document waiting for, or being scored by, a scoring thread.
+   */
+  private static final class Job {
+
+    final String id;
+    final String content;
+    final LanguageProfile profile;
+    final CompletableFuture<ReadabilityReport> result = new CompletableFuture<>();
+
+    Job(String id, String content, LanguageProfile profile) {
+      this.id = id;
+      this.content = content;
+      this.profile = profile;
+    }
+
+    /**
+     * @param document JSON string, or object with {@code text} and optional
+     *                 {@code id} and {@code language}
+     * @throws IllegalArgumentException if {@code document} has no text or an
+     *                                  unsupported language
+     */
+    static Job of(Object document) {
+      if (document instanceof String)
+        return new Job(null, (String) document, null);
+
+      if (!(document instanceof Map))
+        throw new IllegalArgumentException("expected a string or an object with a \"text\" field");
+
+      var object = (Map<?, ?>) document;
+      var text = object.get("text");
+      if (!(text instanceof String))
+        throw new IllegalArgumentException("missing string field \"text\"");
+
+      Object id = object.get("id");
+      var language = object.get("language");
+      if (language != null && !(language instanceof String))
+        throw new IllegalArgumentException("field \"language\" must be a string");
+
+      if (id instanceof Double && (Double) id == Math.rint((Double) id))
+        id = ((Double) id).longValue();
+
+      return new Job(id != null ? id.toString() : null, //
+          (String) text, //
+          language == null ? null : LanguageProfile.forLanguage((String) language));
+    }
+
+    String format(ReadabilityReport report) {
+      var english = profile == null || profile.getLanguage().equals("en");
+      var readingEase = profile != null ? profile.readingEase(report) : report.getReadingEase();
+
+      return "{" + (id != null ? "\"id\":" + Json.quote(id) + "," : "") //
+          + (profile != null ? "\"language\":" + Json.quote(profile.getLanguage()) + "," : "") //
+          + "\"sentences\":" + report.getSentenceCount() //
+          + ",\"words\":" + report.getWordCount() //
+          + ",\"syllables\":" + report.getSyllableCount() //
+          + ",\"readingEase\":" + Json.number(readingEase) //
+          + ",\"gradeLevel\":" + Json.number(english ? report.getGradeLevel() : Double.NaN) //
+          + "}";
+    }
+
+  }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import io.whelk.flesch.kincaid.ResultStore.StoredReport;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Thread-safe, size-bounded cache of reports keyed by {@link ContentHash}, for
+ * traffic that re-scores identical documents such as templated emails,
+ * re-published articles and retries. Keys mix the content hash with the
+ * fingerprint of the analyzer's configuration and library versions, so a
+ * cache or store may be shared between analyzers. Entries optionally expire
+ * a fixed time after they are written, and an optional {@link ResultStore}
+ * keeps results across restarts. The write time is stored with each result,
+ * so a stored result expires on the same schedule as one held in memory.
+ * 
+ * <p>
+ * Reports are a few fixed-size counters, so the entry count bounds the
+ * memory used. Entries are spread over independently locked segments, each
+ * evicting its least recently used entry once full. A failing store is
+ * counted and otherwise ignored; scoring never fails because of it.
+ * 
+ * <pre>
+ * var analyzer = ReadabilityAnalyzer.builder() //
+ *     .resultCache(ResultCache.builder() //
+ *         .maximumSize(100_000) //
+ *         .expireAfterWrite(Duration.ofHours(6)) //
+ *         .store(ResultStore.directory(Path.of("readability-cache"))) //
+ *         .build()) //
+ *     .build();
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class ResultCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+  public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+  static final String MAXIMUM_SIZE_PROPERTY = "io.whelk.flesch.kincaid.resultCache.maximumSize";
+  static final String EXPIRE_AFTER_WRITE_PROPERTY = "io.whelk.flesch.kincaid.resultCache.expireAfterWrite";
+  static final String DIRECTORY_PROPERTY = "io.whelk.flesch.kincaid.resultCache.directory";
+
+  private final int maximumSize;
+  private final long expireAfterWriteMillis;
+  private final ResultStore store;
+  private final LongSupplier clock;
+  private final SegmentedLru<ContentHash, StoredReport> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder storeHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder storeFailures = new LongAdder();
+
+  /**
+   * @param maximumSize      upper bound on reports held in memory, defaults to
+   *                         {@value #DEFAULT_MAXIMUM_SIZE}
+   * @param expireAfterWrite time after which a report, in memory or in the
+   *                         store, is scored again, never by default
+   * @param store            persistent backing consulted on a memory miss,
+   *                         none by default
+   * @param concurrencyLevel expected number of concurrently updating threads,
+   *                         defaults to {@value #DEFAULT_CONCURRENCY_LEVEL}
+   */
+  @Builder
+  private ResultCache(int maximumSize, Duration expireAfterWrite, ResultStore store, int concurrencyLevel) {
+    this(maximumSize, expireAfterWrite, store, concurrencyLevel, System::currentTimeMillis);
+  }
+
+  /**
+   * @param clock millisecond time source for expiry
+   */
+  ResultCache(int maximumSize, Duration expireAfterWrite, ResultStore store, int concurrencyLevel,
+      LongSupplier clock) {
+    if (maximumSize < 0 || concurrencyLevel < 0)
+      throw new IllegalArgumentException("maximumSize and concurrencyLevel must not be negative");
+    if (expireAfterWrite != null && (expireAfterWrite.isNegative() || expireAfterWrite.isZero()))
+      throw new IllegalArgumentException("expireAfterWrite must be positive: " + expireAfterWrite);
+
+    this.maximumSize = maximumSize > 0 ? maximumSize : DEFAULT_MAXIMUM_SIZE;
+    this.expireAfterWriteMillis = expireAfterWrite != null ? Math.max(expireAfterWrite.toMillis(), 1) : Long.MAX_VALUE;
+    this.store = store;
+    this.clock = clock;
+    this.entries = new SegmentedLru<>(this.maximumSize,
+        concurrencyLevel > 0 ? concurrencyLevel : DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * Cache configured by system properties, for the analyzer behind the static
+   * {@link ReadabilityCalculator} methods: {@value #MAXIMUM_SIZE_PROPERTY},
+   * {@value #EXPIRE_AFTER_WRITE_PROPERTY} as an ISO-8601 duration such as
+   * {@code PT6H}, and {@value #DIRECTORY_PROPERTY} for a
+   * {@link ResultStore#directory(Path) directory store}.
+   * 
+   * @param properties to read
+   * @return configured cache, or {@code null} if none of the properties is set
+   * @throws IllegalArgumentException if a property is malformed
+   */
+  static ResultCache fromProperties(Properties properties) {
+    var maximumSize = properties.getProperty(MAXIMUM_SIZE_PROPERTY);
+    var expireAfterWrite = properties.getProperty(EXPIRE_AFTER_WRITE_PROPERTY);
+    var directory = properties.getProperty(DIRECTORY_PROPERTY);
+    if (maximumSize == null && expireAfterWrite == null && directory == null)
+      return null;
+
+    try {
+      return ResultCache.builder() //
+          .maximumSize(maximumSize != null ? Integer.parseInt(maximumSize.trim()) : 0) //
+          .expireAfterWrite(expireAfterWrite != null ? Duration.parse(expireAfterWrite.trim()) : null) //
+          .store(directory != null ? ResultStore.directory(Path.of(directory)) : null) //
+          .build();
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException("malformed result cache property: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Return the report cached for {@code content} under {@code scope}, or score
+   * it with {@code loader} and cache the result. Reports cached under another
+   * scope are never returned, so one cache and store can serve analyzers with
+   * different configurations. Concurrent misses on the same content may each
+   * score it.
+   * 
+   * @param scope   hash of the configuration {@code loader} scores with, such
+   *                as the fingerprint of a {@link ReadabilityAnalyzer}
+   * @param content to look up
+   * @param loader  to score {@code content} on a miss
+   * @return cached or freshly scored report
+   */
+  public ReadabilityReport get(ContentHash scope, String content, Function<String, ReadabilityReport> loader) {
+    var hash = ContentHash.of(content).scoped(scope);
+    var now = clock.getAsLong();
+
+    var entry = entries.get(hash);
+    if (entry != null && isExpired(entry, now)) {
+      entries.remove(hash, entry);
+      entry = null;
+    }
+
+    if (entry != null) {
+      hits.increment();
+      return entry.getReport();
+    }
+
+    entry = load(hash);
+    if (entry != null && !isExpired(entry, now)) {
+      storeHits.increment();
+    } else {
+      misses.increment();
+      entry = new StoredReport(loader.apply(content), now);
+      save(hash, entry);
+    }
+
+    entries.put(hash, entry);
+    return entry.getReport();
+  }
+
+  /**
+   * @return number of reports held in memory
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Remove all reports held in memory; the store is left untouched.
+   * Statistics are kept.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @return snapshot of hit, miss, eviction and store counts
+   */
+  public Stats stats() {
+    return new Stats(hits.sum(), storeHits.sum(), misses.sum(), entries.evictionCount(), storeFailures.sum(), size());
+  }
+
+  private boolean isExpired(StoredReport entry, long now) {
+    return now - entry.getWrittenAt() >= expireAfterWriteMillis;
+  }
+
+  private StoredReport load(ContentHash hash) {
+    if (store == null)
+      return null;
+
+    try {
+      return store.load(hash);
+    } catch (RuntimeException e) {
+      storeFailures.increment();
+      return null;
+    }
+  }
+
+  private void save(ContentHash hash, StoredReport entry) {
+    if (store == null)
+      return;
+
+    try {
+      store.save(hash, entry);
+    } catch (RuntimeException e) {
+      storeFailures.increment();
+    }
+  }
+
+  /**
+   * Point-in-time cache statistics.
+   */
+  @Value
+  public static class Stats {
+
+    long hitCount;
+    long storeHitCount;
+    long missCount;
+    long evictionCount;
+    long storeFailureCount;
+    int size;
+
+    /**
+     * @return memory and store hits divided by lookups, or {@code NaN} before
+     *         the first lookup
+     */
+    public double getHitRate() {
+      return (double) (hitCount + storeHitCount) / (hitCount + storeHitCount + missCount);
+    }
+
+  }
+
+}
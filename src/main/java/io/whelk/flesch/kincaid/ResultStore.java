@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.nio.file.Path;
+
+import lombok.Value;
+
+/**
+ * Persistent backing for a {@link ResultCache}, consulted on a memory miss so
+ * cached results survive restarts. Keys are scoped by the analyzer's
+ * configuration, so one store may serve differently configured analyzers.
+ * 
+ * @since 0.1.12
+ */
+public interface ResultStore {
+
+  /**
+   * @param hash of the document
+   * @return stored report and its write time, or {@code null} if absent
+   */
+  StoredReport load(ContentHash hash);
+
+  /**
+   * @param hash   of the document
+   * @param report to store, with the time it was scored
+   */
+  void save(ContentHash hash, StoredReport report);
+
+  /**
+   * Store that keeps one small file per document under {@code directory},
+   * fanned out over 256 sub-directories. Writes are atomic, so concurrent
+   * processes may share a directory.
+   * 
+   * @param directory to store reports in, created on first write
+   * @return file-backed store
+   */
+  static ResultStore directory(Path directory) {
+    return new FileResultStore(directory);
+  }
+
+  /**
+   * Report with the time it was written, so expiry survives restarts.
+   */
+  @Value
+  class StoredReport {
+
+    ReadabilityReport report;
+
+    /** milliseconds since the epoch */
+    long writtenAt;
+
+  }
+
+}
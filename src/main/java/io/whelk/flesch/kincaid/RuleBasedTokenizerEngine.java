@@ -0,0 +1,234 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * {@link TokenizerEngine} that approximates CoreNLP's Penn Treebank
+ * tokenization and sentence splitting with a single pass over the content.
+ * 
+ * <p>
+ * Words are runs of letters and digits joined by internal apostrophes and
+ * periods; hyphenated compounds are split into their parts, as CoreNLP does.
+ * Clitics are split the way the Penn Treebank splits them, so {@code don't}
+ * is two words and {@code man's} is one word plus a possessive marker.
+ * Possessive markers and symbols are dropped by rule, mirroring the
+ * {@code POS} and {@code SYM} tags rejected by {@link PennTreebankValidator}.
+ * 
+ * <p>
+ * Sentences end at {@code .}, {@code !}, {@code ?} or {@code …} followed by
+ * optional closing quotes and whitespace, and at blank lines. Periods after
+ * common titles and initials do not end a sentence.
+ * 
+ * @since 0.1.12
+ */
+final class RuleBasedTokenizerEngine implements TokenizerEngine {
+
+  static final RuleBasedTokenizerEngine INSTANCE = new RuleBasedTokenizerEngine();
+
+  /** titles whose trailing period never ends a sentence */
+  private static final String[] ABBREVIATIONS = { //
+      "mr", "mrs", "ms", "dr", "prof", "st", "jr", "sr", "rev", "gen", "col", "capt", //
+      "lt", "sgt", "gov", "sen", "rep", "hon", "mt", "ft", "vs" };
+
+  /** words followed by a verb {@code 's} rather than a possessive */
+  private static final String[] VERB_CLITIC_HOSTS = { //
+      "it", "he", "she", "that", "what", "there", "here", "who", "where", "how", "let" };
+
+  /** clitics counted as words, e.g. {@code I'm}, {@code we've} */
+  private static final String[] WORD_CLITICS = { "m", "re", "ve", "ll", "d" };
+
+  private RuleBasedTokenizerEngine() {}
+
+  @Override
+  public void tokenize(String content, TokenVisitor visitor) {
+    if (content == null)
+      return;
+
+    var slice = new CharSlice();
+    var length = content.length();
+    var sentenceOpen = false;
+    var previousBegin = 0;
+    var previousEnd = -1;
+    var i = 0;
+
+    while (i < length) {
+      var c = content.charAt(i);
+
+      if (Character.isWhitespace(c)) {
+        var whitespaceBegin = i;
+        var newlines = 0;
+        while (i < length && Character.isWhitespace(content.charAt(i))) {
+          if (content.charAt(i++) == '\n')
+            newlines++;
+        }
+        if (newlines > 1 && sentenceOpen) {
+          visitor.endSentence(whitespaceBegin);
+          sentenceOpen = false;
+        }
+        continue;
+      }
+
+      sentenceOpen = true;
+
+      if (Character.isLetterOrDigit(c)) {
+        var end = scanWord(content, i, length);
+
+        if (end < length && content.charAt(end) == '.' && isAbbreviation(content, i, end))
+          end++;
+
+        visitor.word(slice.reset(content, i, end));
+        previousBegin = i;
+        previousEnd = end;
+        i = end;
+      } else if (isApostrophe(c)) {
+        var end = scanLetters(content, i + 1, length);
+
+        if (previousEnd == i && isClitic(content, i + 1, end)) {
+          if (isWordClitic(content, i + 1, end, previousBegin, previousEnd))
+            visitor.word(slice.reset(content, i, end));
+          i = end;
+        } else {
+          // quotes and trailing possessives, e.g. dogs'
+          i++;
+        }
+      } else if (isTerminator(c)) {
+        while (i < length && isTerminator(content.charAt(i)))
+          i++;
+        while (i < length && isClosing(content.charAt(i)))
+          i++;
+        if (i == length || Character.isWhitespace(content.charAt(i))) {
+          visitor.endSentence(i);
+          sentenceOpen = false;
+        }
+      } else {
+        // symbols and punctuation are never words, except those tagged CC and NN
+        if (c == '&' || c == '%')
+          visitor.word(slice.reset(content, i, i + 1));
+        i++;
+      }
+    }
+
+    if (sentenceOpen)
+      visitor.endSentence(length);
+  }
+
+  /**
+   * @return exclusive end of the word starting at {@code begin}, stopping
+   *         before any clitic
+   */
+  static int scanWord(String content, int begin, int length) {
+    var i = begin;
+
+    while (i < length) {
+      var c = content.charAt(i);
+
+      if (Character.isLetterOrDigit(c)) {
+        i++;
+        continue;
+      }
+
+      if (i + 1 >= length || !Character.isLetterOrDigit(content.charAt(i + 1)))
+        return i;
+
+      if (isApostrophe(c)) {
+        var cliticEnd = scanLetters(content, i + 1, length);
+
+        // can't => ca n't
+        if (cliticEnd - i == 2 && isLetter(content, i + 1, 't') && isLetter(content, i - 1, 'n')
+            && i - 1 > begin)
+          return i - 1;
+
+        if (isClitic(content, i + 1, cliticEnd))
+          return i;
+      } else if (c == ',') {
+        // 1,000
+        if (!Character.isDigit(content.charAt(i - 1)) || !Character.isDigit(content.charAt(i + 1)))
+          return i;
+      } else if (c != '.' && c != '/') {
+        return i;
+      }
+
+      i++;
+    }
+
+    return i;
+  }
+
+  private static int scanLetters(String content, int begin, int length) {
+    var i = begin;
+    while (i < length && Character.isLetter(content.charAt(i)))
+      i++;
+    return i;
+  }
+
+  private static boolean isClitic(String content, int begin, int end) {
+    return regionEqualsAny(content, begin, end, WORD_CLITICS) || regionEquals(content, begin, end, "s");
+  }
+
+  /**
+   * Verb clitics ({@code 'm}, {@code 're}, {@code 've}, {@code 'll}, {@code 'd}
+   * and {@code 's} after a pronoun) are words; possessive {@code 's} is not.
+   */
+  private static boolean isWordClitic(String content, int begin, int end, int previousBegin, int previousEnd) {
+    return regionEqualsAny(content, begin, end, WORD_CLITICS)
+        || regionEqualsAny(content, previousBegin, previousEnd, VERB_CLITIC_HOSTS);
+  }
+
+  /**
+   * Single letters (initials), dotted acronyms such as {@code U.S} and common
+   * titles keep their trailing period.
+   */
+  static boolean isAbbreviation(String content, int begin, int end) {
+    if (end - begin == 1)
+      return Character.isUpperCase(content.charAt(begin));
+
+    for (var i = begin; i < end; i++) {
+      if (content.charAt(i) == '.')
+        return true;
+    }
+
+    return regionEqualsAny(content, begin, end, ABBREVIATIONS);
+  }
+
+  private static boolean regionEqualsAny(String content, int begin, int end, String[] candidates) {
+    for (var candidate : candidates) {
+      if (regionEquals(content, begin, end, candidate))
+        return true;
+    }
+    return false;
+  }
+
+  private static boolean regionEquals(String content, int begin, int end, String candidate) {
+    return end - begin == candidate.length() && content.regionMatches(true, begin, candidate, 0, candidate.length());
+  }
+
+  private static boolean isLetter(String content, int index, char letter) {
+    return index >= 0 && index < content.length() && Character.toLowerCase(content.charAt(index)) == letter;
+  }
+
+  private static boolean isApostrophe(char c) {
+    return c == '\'' || c == '’';
+  }
+
+  private static boolean isTerminator(char c) {
+    return c == '.' || c == '!' || c == '?' || c == '…';
+  }
+
+  private static boolean isClosing(char c) {
+    return c == '"' || c == '\'' || c == ')' || c == ']' || c == '”' || c == '’';
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, size-bounded map behind {@link SyllableCache} and
+ * {@link ResultCache}. Entries are spread over independently locked segments
+ * by key hash, each evicting its least recently used entry once full.
+ * 
+ * @param <K> key type
+ * @param <V> value type
+ * @since 0.1.12
+ */
+final class SegmentedLru<K, V> {
+
+  private final Segment<K, V>[] segments;
+  private final int segmentMask;
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param maximumSize      upper bound on entries, positive
+   * @param concurrencyLevel expected number of concurrently updating threads,
+   *                         positive
+   */
+  @SuppressWarnings("unchecked")
+  SegmentedLru(int maximumSize, int concurrencyLevel) {
+    var segmentCount = Integer.highestOneBit(Math.min(concurrencyLevel, maximumSize));
+    var segmentSize = maximumSize / segmentCount;
+
+    this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+    this.segmentMask = segmentCount - 1;
+    for (var i = 0; i < segmentCount; i++)
+      segments[i] = new Segment<>(segmentSize, evictions);
+  }
+
+  /**
+   * @param key to look up, marking it most recently used
+   * @return value of {@code key}, or {@code null} if absent
+   */
+  V get(K key) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      return segment.get(key);
+    }
+  }
+
+  /**
+   * @param key   to map
+   * @param value to map {@code key} to, evicting the least recently used entry
+   *              of its segment if full
+   */
+  void put(K key, V value) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      segment.put(key, value);
+    }
+  }
+
+  /**
+   * Map {@code key} only if it is absent and its segment has room, so nothing
+   * is evicted.
+   * 
+   * @param key   to map
+   * @param value to map {@code key} to
+   * @return true if {@code key} was added
+   */
+  boolean putIfRoom(K key, V value) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      if (segment.size() >= segment.capacity || segment.containsKey(key))
+        return false;
+
+      segment.put(key, value);
+      return true;
+    }
+  }
+
+  /**
+   * @param key   to unmap
+   * @param value {@code key} must still map to
+   */
+  void remove(K key, V value) {
+    var segment = segmentFor(key);
+    synchronized (segment) {
+      segment.remove(key, value);
+    }
+  }
+
+  /**
+   * @return number of entries
+   */
+  int size() {
+    var size = 0;
+    for (var segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Remove every entry; the eviction count is kept.
+   */
+  void clear() {
+    for (var segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * @return entries evicted to make room since creation
+   */
+  long evictionCount() {
+    return evictions.sum();
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    var hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & segmentMask];
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+    private final transient LongAdder evictions;
+
+    Segment(int capacity, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (size() <= capacity)
+        return false;
+
+      evictions.increment();
+      return true;
+    }
+
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads text in bounded chunks that end at safe sentence boundaries, so a
+ * document of any length can be tokenized with constant memory.
+ * 
+ * <p>
+ * Each chunk ends, in order of preference, at the last blank line (a sentence
+ * break for every {@link TokenizerEngine}) or at the last sentence terminator
+ * followed by whitespace and a capitalized word. When neither is found the
+ * buffer grows, up to {@value #MAX_GROWTH} times the chunk size, before the
+ * chunk is cut at the last whitespace.
+ * 
+ * @since 0.1.12
+ */
+final class SentenceChunker {
+
+  static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+  static final int MAX_GROWTH = 16;
+
+  private final Reader reader;
+  private final int maxChunkSize;
+  private char[] buffer;
+  private int length;
+  private boolean eof;
+
+  SentenceChunker(Reader reader, int chunkSize) {
+    if (chunkSize < 1)
+      throw new IllegalArgumentException("chunkSize must be positive");
+
+    this.reader = reader;
+    this.buffer = new char[chunkSize];
+    this.maxChunkSize = chunkSize * MAX_GROWTH;
+  }
+
+  /**
+   * @return next chunk of whole sentences, or {@code null} at end of input
+   * @throws IOException if the underlying reader fails
+   */
+  String next() throws IOException {
+    fill();
+
+    if (length == 0)
+      return null;
+
+    var cut = boundary();
+    while (cut < 0) {
+      buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxChunkSize));
+      fill();
+      cut = boundary();
+    }
+
+    var chunk = new String(buffer, 0, cut);
+
+    System.arraycopy(buffer, cut, buffer, 0, length - cut);
+    length -= cut;
+
+    return chunk;
+  }
+
+  private void fill() throws IOException {
+    while (!eof && length < buffer.length) {
+      var read = reader.read(buffer, length, buffer.length - length);
+      if (read < 0)
+        eof = true;
+      else
+        length += read;
+    }
+  }
+
+  /**
+   * @return end of the next chunk, or -1 if the buffer should grow
+   */
+  private int boundary() {
+    if (eof)
+      return length;
+
+    var paragraph = paragraphBoundary();
+    if (paragraph > 0)
+      return paragraph;
+
+    var sentence = sentenceBoundary();
+    if (sentence > 0)
+      return sentence;
+
+    if (buffer.length < maxChunkSize)
+      return -1;
+
+    for (var i = length - 1; i > 0; i--) {
+      if (Character.isWhitespace(buffer[i]))
+        return i + 1;
+    }
+
+    return length;
+  }
+
+  /**
+   * @return index just past the last blank line, or -1
+   */
+  private int paragraphBoundary() {
+    for (var i = length - 1; i > 0; i--) {
+      if (buffer[i] != '\n')
+        continue;
+
+      for (var j = i - 1; j >= 0 && Character.isWhitespace(buffer[j]); j--) {
+        if (buffer[j] == '\n')
+          return i + 1;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * @return index of the capitalized word after the last sentence terminator,
+   *         or -1
+   */
+  private int sentenceBoundary() {
+    for (var i = length - 1; i > 0; i--) {
+      if (!Character.isUpperCase(buffer[i]) || !Character.isWhitespace(buffer[i - 1]))
+        continue;
+
+      var end = i - 1;
+      while (end > 0 && Character.isWhitespace(buffer[end]))
+        end--;
+      while (end > 0 && isClosing(buffer[end]))
+        end--;
+
+      if (isTerminator(buffer[end]) && !isAbbreviation(end))
+        return i;
+    }
+
+    return -1;
+  }
+
+  /**
+   * @return true if the period at {@code period} follows a title or initial
+   */
+  private boolean isAbbreviation(int period) {
+    if (buffer[period] != '.')
+      return false;
+
+    var begin = period;
+    while (begin > 0 && (Character.isLetterOrDigit(buffer[begin - 1]) || buffer[begin - 1] == '.'))
+      begin--;
+
+    var word = new String(buffer, begin, period - begin);
+    return !word.isEmpty() && RuleBasedTokenizerEngine.isAbbreviation(word, 0, word.length());
+  }
+
+  private static boolean isTerminator(char c) {
+    return c == '.' || c == '!' || c == '?' || c == '…';
+  }
+
+  private static boolean isClosing(char c) {
+    return c == '"' || c == '\'' || c == ')' || c == ']' || c == '”' || c == '’';
+  }
+
+}
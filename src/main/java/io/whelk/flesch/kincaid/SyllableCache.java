@@ -0,0 +1,313 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Thread-safe, size-bounded {@link SyllableCounter} that remembers the count of
+ * each word it has seen. Natural text is Zipfian, so a few thousand entries
+ * answer most lookups without touching the hyphenation engine.
+ * 
+ * <p>
+ * Entries are keyed on the lower-cased word and spread over independently
+ * locked segments, each evicting its least recently used entry once full.
+ * Lookups by {@link CharSequence} compare characters in place, so a hit
+ * allocates nothing.
+ * 
+ * <pre>
+ * var cache = SyllableCache.builder() //
+ *     .maximumSize(50_000) //
+ *     .build();
+ * 
+ * cache.warmUp(Path.of("word-frequencies.txt"));
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class SyllableCache implements SyllableCounter {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+  public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+  /** system property naming a {@link SyllableDictionary} for the default cache */
+  public static final String DICTIONARY_PROPERTY = "io.whelk.flesch.kincaid.syllableDictionary";
+
+  private static final SyllableCache DEFAULT = SyllableCache.builder() //
+      .delegate(defaultDelegate(System.getProperties())) //
+      .build();
+
+  private final SyllableCounter delegate;
+  private final int maximumSize;
+  private final SegmentedLru<WordKey, Integer> counts;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private final ThreadLocal<WordKey> probes = ThreadLocal.withInitial(WordKey::new);
+
+  /**
+   * @param delegate         counter consulted on a miss, defaults to
+   *                         {@link SyllableCounter#hyphenation()}
+   * @param maximumSize      upper bound on cached words, defaults to
+   *                         {@value #DEFAULT_MAXIMUM_SIZE}
+   * @param concurrencyLevel expected number of concurrently updating threads,
+   *                         defaults to {@value #DEFAULT_CONCURRENCY_LEVEL}
+   */
+  @Builder
+  private SyllableCache(SyllableCounter delegate, int maximumSize, int concurrencyLevel) {
+    if (maximumSize < 0 || concurrencyLevel < 0)
+      throw new IllegalArgumentException("maximumSize and concurrencyLevel must not be negative");
+
+    this.delegate = delegate != null ? delegate : SyllableCounter.hyphenation();
+    this.maximumSize = maximumSize > 0 ? maximumSize : DEFAULT_MAXIMUM_SIZE;
+    this.counts = new SegmentedLru<>(this.maximumSize,
+        concurrencyLevel > 0 ? concurrencyLevel : DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * Cache shared by the default {@link ReadabilityAnalyzer} and the static
+   * {@link ReadabilityCalculator} methods. Set the
+   * {@value #DICTIONARY_PROPERTY} system property to the path of a
+   * {@link SyllableDictionary} to consult it before hyphenating.
+   * 
+   * @return cache of {@value #DEFAULT_MAXIMUM_SIZE} words in front of the
+   *         configured dictionary or {@link SyllableCounter#hyphenation()}
+   */
+  public static SyllableCache defaultCache() {
+    return DEFAULT;
+  }
+
+  /**
+   * @param properties to read {@value #DICTIONARY_PROPERTY} from
+   * @return dictionary named by {@code properties}, or
+   *         {@link SyllableCounter#hyphenation()} if none is named
+   * @throws UncheckedIOException if the named dictionary cannot be mapped
+   */
+  static SyllableCounter defaultDelegate(Properties properties) {
+    var dictionary = properties.getProperty(DICTIONARY_PROPERTY);
+    if (dictionary == null || dictionary.isBlank())
+      return SyllableCounter.hyphenation();
+
+    try {
+      return SyllableDictionary.open(Path.of(dictionary));
+    } catch (IOException e) {
+      throw new UncheckedIOException("cannot open syllable dictionary " + dictionary, e);
+    }
+  }
+
+  @Override
+  public int countSyllables(String word) {
+    return countSyllables((CharSequence) word);
+  }
+
+  @Override
+  public int countSyllables(CharSequence word) {
+    // null or empty strings have no syllables
+    if (word == null || isBlank(word))
+      return 0;
+
+    var probe = probes.get().reset(word);
+    var count = counts.get(probe);
+    probe.reset(null);
+
+    if (count != null) {
+      hits.increment();
+      return count;
+    }
+
+    misses.increment();
+
+    var key = WordKey.of(word);
+    count = delegate.countSyllables(key.toString());
+    counts.put(key, count);
+    return count;
+  }
+
+  /**
+   * Pre-load the syllable counts of {@code words}, most frequent first, until
+   * the cache is full. Warm-up does not count towards hit or miss statistics.
+   * 
+   * @param words to pre-load, ordered by descending frequency
+   * @return number of words loaded
+   */
+  public int warmUp(Iterable<String> words) {
+    var loaded = 0;
+
+    for (var word : words) {
+      if (size() >= maximumSize)
+        break;
+
+      if (word == null || word.isBlank())
+        continue;
+
+      var key = WordKey.of(word.strip());
+      if (counts.putIfRoom(key, delegate.countSyllables(key.toString())))
+        loaded++;
+    }
+
+    return loaded;
+  }
+
+  /**
+   * Pre-load from a frequency word list with one entry per line, ordered by
+   * descending frequency. Only the first whitespace-separated column is read,
+   * so {@code word count} lists work as-is.
+   * 
+   * @param wordList to read as UTF-8
+   * @return number of words loaded
+   * @throws IOException if {@code wordList} cannot be read
+   */
+  public int warmUp(Path wordList) throws IOException {
+    try (var lines = Files.lines(wordList, StandardCharsets.UTF_8)) {
+      return warmUp(() -> lines //
+          .map(String::strip) //
+          .filter(line -> !line.isEmpty() && !line.startsWith("#")) //
+          .map(line -> line.split("\\s+", 2)[0]) //
+          .iterator());
+    }
+  }
+
+  /**
+   * @return number of cached words
+   */
+  public int size() {
+    return counts.size();
+  }
+
+  /**
+   * Remove all cached words. Statistics are kept.
+   */
+  public void clear() {
+    counts.clear();
+  }
+
+  /**
+   * @return snapshot of hit, miss and eviction counts
+   */
+  public Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), counts.evictionCount(), size());
+  }
+
+  /**
+   * @return counter consulted on a miss
+   */
+  SyllableCounter getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * @return true if {@code word} is only characters {@link String#trim()}
+   *         removes
+   */
+  private static boolean isBlank(CharSequence word) {
+    for (var i = 0; i < word.length(); i++) {
+      if (word.charAt(i) > ' ')
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Point-in-time cache statistics.
+   */
+  @Value
+  public static class Stats {
+
+    long hitCount;
+    long missCount;
+    long evictionCount;
+    int size;
+
+    /**
+     * @return hits divided by lookups, or {@code NaN} before the first lookup
+     */
+    public double getHitRate() {
+      return (double) hitCount / (hitCount + missCount);
+    }
+
+  }
+
+  /**
+   * Case-insensitive key. Stored keys own a lower-cased {@code String}; each
+   * thread reuses one probe key that wraps the caller's {@link CharSequence}
+   * for the duration of a lookup.
+   */
+  private static final class WordKey {
+
+    private CharSequence chars;
+    private int hash;
+
+    static WordKey of(CharSequence word) {
+      var lower = new char[word.length()];
+      for (var i = 0; i < lower.length; i++)
+        lower[i] = Character.toLowerCase(word.charAt(i));
+
+      return new WordKey().reset(new String(lower));
+    }
+
+    WordKey reset(CharSequence chars) {
+      this.chars = chars;
+
+      var h = 0;
+      if (chars != null) {
+        for (var i = 0; i < chars.length(); i++)
+          h = 31 * h + Character.toLowerCase(chars.charAt(i));
+      }
+      this.hash = h;
+
+      return this;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj)
+        return true;
+      if (!(obj instanceof WordKey))
+        return false;
+
+      var other = ((WordKey) obj).chars;
+      if (hash != ((WordKey) obj).hash || chars.length() != other.length())
+        return false;
+
+      for (var i = 0; i < chars.length(); i++) {
+        if (Character.toLowerCase(chars.charAt(i)) != Character.toLowerCase(other.charAt(i)))
+          return false;
+      }
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return chars.toString();
+    }
+
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import io.whelk.hy.phen.Hyphenator;
+
+/**
+ * Strategy for counting the syllables of a single word.
+ * 
+ * @since 0.1.12
+ */
+@FunctionalInterface
+public interface SyllableCounter {
+
+  /**
+   * @param word to count
+   * @return number of syllables in {@code word}
+   */
+  int countSyllables(String word);
+
+  /**
+   * Count the syllables of a {@link CharSequence} view, such as the words
+   * reported to a {@link TokenVisitor}. The default implementation copies
+   * {@code word} to a {@code String}; caching counters override it to look up
+   * the characters in place.
+   * 
+   * @param word to count, not retained
+   * @return number of syllables in {@code word}
+   */
+  default int countSyllables(CharSequence word) {
+    return countSyllables(word != null ? word.toString() : null);
+  }
+
+  /**
+   * Uncached counter backed by {@link Hyphenator}. {@code null} or blank words
+   * have no syllables, accented words such as {@code café} are counted by
+   * vowel groups, and words with non-letter characters count as one.
+   * 
+   * @return hyphenation-based counter
+   */
+  static SyllableCounter hyphenation() {
+    return HyphenationSyllableCounter.INSTANCE;
+  }
+
+  /**
+   * Uncached counter for languages without hyphenation patterns, counting
+   * groups of adjacent {@code vowels}.
+   * 
+   * @param vowels lower-case vowel letters of the language, accented letters
+   *               included
+   * @return vowel-group counter
+   * @see LanguageProfile
+   */
+  static SyllableCounter vowelGroups(String vowels) {
+    return new VowelGroupSyllableCounter(vowels, "", "", false);
+  }
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Precompiled, read-only {@link SyllableCounter} memory-mapped from a file.
+ * Lookups binary-search the mapped bytes in place, so the dictionary costs no
+ * heap and no garbage, and JVMs on one host mapping the same file share a
+ * single copy in the page cache. Words not in the dictionary fall back to
+ * another counter, hyphenation by default.
+ * 
+ * <p>
+ * The file holds lower-cased ASCII words sorted by byte value:
+ * 
+ * <pre>
+ * int    magic 'SYLD'
+ * int    version
+ * int    word count n
+ * int[]  n + 1 offsets of each word in the word area
+ * byte[] n syllable counts
+ * byte[] word area, ASCII
+ * </pre>
+ * 
+ * Build one from a word list with {@link #write(Iterable, Path)} or from the
+ * command line:
+ * 
+ * <pre>
+ * java -cp flesch-kincaid.jar io.whelk.flesch.kincaid.SyllableDictionary words.txt syllables.dict
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class SyllableDictionary implements SyllableCounter {
+
+  private static final int MAGIC = 0x53594C44;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 12;
+
+  private final ByteBuffer buffer;
+  private final SyllableCounter fallback;
+  private final int size;
+  private final int countsOffset;
+  private final int wordsOffset;
+
+  private SyllableDictionary(ByteBuffer buffer, SyllableCounter fallback) {
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+      throw new IllegalArgumentException("not a syllable dictionary");
+    if (buffer.getInt(4) != VERSION)
+      throw new IllegalArgumentException("unsupported syllable dictionary version " + buffer.getInt(4));
+
+    this.buffer = buffer;
+    this.fallback = fallback;
+    this.size = buffer.getInt(8);
+    if (size < 0)
+      throw new IllegalArgumentException("corrupt syllable dictionary");
+
+    // computed in long so a corrupt word count cannot overflow past the check
+    var wordsStart = HEADER_SIZE + (size + 1L) * Integer.BYTES + size;
+    if (wordsStart > buffer.capacity())
+      throw new IllegalArgumentException("truncated syllable dictionary");
+
+    this.countsOffset = HEADER_SIZE + (size + 1) * Integer.BYTES;
+    this.wordsOffset = (int) wordsStart;
+    checkOffsets();
+  }
+
+  /**
+   * Verify that word offsets start at zero, never decrease and end exactly at
+   * the end of the word area, so lookups never read outside the mapping.
+   */
+  private void checkOffsets() {
+    var wordsLength = buffer.capacity() - wordsOffset;
+    var previous = buffer.getInt(HEADER_SIZE);
+    if (previous != 0)
+      throw new IllegalArgumentException("corrupt syllable dictionary: first offset " + previous);
+
+    for (var i = 1; i <= size; i++) {
+      var offset = buffer.getInt(HEADER_SIZE + i * Integer.BYTES);
+      if (offset < previous || offset > wordsLength)
+        throw new IllegalArgumentException("corrupt syllable dictionary: offset " + offset + " of word " + i);
+      previous = offset;
+    }
+
+    if (previous != wordsLength)
+      throw new IllegalArgumentException("truncated syllable dictionary");
+  }
+
+  /**
+   * @param path dictionary file to map
+   * @return dictionary falling back to {@link SyllableCounter#hyphenation()}
+   * @throws IOException if {@code path} cannot be mapped
+   */
+  public static SyllableDictionary open(Path path) throws IOException {
+    return open(path, SyllableCounter.hyphenation());
+  }
+
+  /**
+   * Map {@code path} read-only. The mapping outlives the file channel, which
+   * is closed before returning.
+   * 
+   * @param path     dictionary file to map
+   * @param fallback counter for words not in the dictionary
+   * @return dictionary
+   * @throws IOException              if {@code path} cannot be mapped
+   * @throws IllegalArgumentException if {@code path} is not a dictionary
+   */
+  public static SyllableDictionary open(Path path, SyllableCounter fallback) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new SyllableDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), fallback);
+    }
+  }
+
+  /**
+   * Count every word with {@link SyllableCounter#hyphenation()} and write a
+   * dictionary. Words are lower-cased; blank, duplicate and non-ASCII-letter
+   * words are skipped.
+   * 
+   * @param words  to include
+   * @param output file to write
+   * @return number of words written
+   * @throws IOException if {@code output} cannot be written
+   */
+  public static int write(Iterable<String> words, Path output) throws IOException {
+    return write(words, SyllableCounter.hyphenation(), output);
+  }
+
+  /**
+   * @param words   to include
+   * @param counter to count each word with
+   * @param output  file to write
+   * @return number of words written
+   * @throws IOException if {@code output} cannot be written
+   * @see #write(Iterable, Path)
+   */
+  public static int write(Iterable<String> words, SyllableCounter counter, Path output) throws IOException {
+    // ASCII lower-case strings sort by byte value
+    var entries = new TreeMap<String, Integer>();
+    for (var word : words) {
+      if (word == null)
+        continue;
+
+      var key = word.strip().toLowerCase(Locale.ROOT);
+      if (ReadabilityCalculator.isAsciiLetters(key) && !entries.containsKey(key)) {
+        var count = counter.countSyllables(key);
+        if (count >= 0 && count <= Byte.MAX_VALUE)
+          entries.put(key, count);
+      }
+    }
+
+    try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(entries.size());
+
+      var offset = 0;
+      out.writeInt(offset);
+      for (var word : entries.keySet())
+        out.writeInt(offset += word.length());
+
+      for (var count : entries.values())
+        out.writeByte(count);
+
+      for (var word : entries.keySet())
+        out.write(word.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    return entries.size();
+  }
+
+  /**
+   * Build a dictionary from a word list with one entry per line. Only the
+   * first whitespace-separated column is read and {@code #} lines are skipped.
+   * 
+   * @param wordList to read as UTF-8
+   * @param output   file to write
+   * @return number of words written
+   * @throws IOException if either file fails
+   */
+  public static int write(Path wordList, Path output) throws IOException {
+    try (var lines = Files.lines(wordList, StandardCharsets.UTF_8)) {
+      return write(() -> lines //
+          .map(String::strip) //
+          .filter(line -> !line.isEmpty() && !line.startsWith("#")) //
+          .map(line -> line.split("\\s+", 2)[0]) //
+          .iterator(), output);
+    }
+  }
+
+  /**
+   * Build a dictionary from the command line.
+   * 
+   * @param args word list and output file
+   * @throws IOException if either file fails
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("usage: SyllableDictionary <word-list> <output>");
+      System.exit(2);
+    }
+
+    var written = write(Path.of(args[0]), Path.of(args[1]));
+    System.out.println("wrote " + written + " words to " + args[1]);
+  }
+
+  @Override
+  public int countSyllables(String word) {
+    return countSyllables((CharSequence) word);
+  }
+
+  @Override
+  public int countSyllables(CharSequence word) {
+    var count = word != null ? lookup(word) : -1;
+    return count >= 0 ? count : fallback.countSyllables(word);
+  }
+
+  /**
+   * @param word to look up, case-insensitively
+   * @return true if {@code word} is in the dictionary
+   */
+  public boolean contains(CharSequence word) {
+    return word != null && lookup(word) >= 0;
+  }
+
+  /**
+   * @return number of words in the dictionary
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return counter for words not in the dictionary
+   */
+  SyllableCounter getFallback() {
+    return fallback;
+  }
+
+  /**
+   * @return hash of the mapped file, for {@link AnalyzerFingerprint}
+   */
+  String fingerprint() {
+    var bytes = buffer.duplicate().clear();
+    var even = bytes.capacity() & ~1;
+    var chars = bytes.limit(even).slice().asCharBuffer();
+    var last = even < buffer.capacity() ? buffer.get(even) : -1;
+    return "dictionary " + ContentHash.of(chars) + " " + last;
+  }
+
+  /**
+   * @return syllable count of {@code word}, or -1 if absent
+   */
+  private int lookup(CharSequence word) {
+    if (!ReadabilityCalculator.isAsciiLetters(word))
+      return -1;
+
+    var low = 0;
+    var high = size - 1;
+
+    while (low <= high) {
+      var mid = (low + high) >>> 1;
+      var compare = compare(mid, word);
+
+      if (compare < 0)
+        low = mid + 1;
+      else if (compare > 0)
+        high = mid - 1;
+      else
+        return buffer.get(countsOffset + mid);
+    }
+
+    return -1;
+  }
+
+  private int compare(int index, CharSequence word) {
+    var begin = wordsOffset + buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+    var end = wordsOffset + buffer.getInt(HEADER_SIZE + (index + 1) * Integer.BYTES);
+    var length = word.length();
+
+    for (int i = begin, j = 0; i < end && j < length; i++, j++) {
+      var diff = buffer.get(i) - (word.charAt(j) | 0x20);
+      if (diff != 0)
+        return diff;
+    }
+
+    return (end - begin) - length;
+  }
+
+}
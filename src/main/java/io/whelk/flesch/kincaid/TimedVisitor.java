@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * {@link TokenVisitor} that measures time spent in its delegate, so an engine
+ * can exclude it from its own stage latency.
+ * 
+ * @since 0.1.12
+ */
+final class TimedVisitor implements TokenVisitor {
+
+  private final TokenVisitor delegate;
+
+  /** nanoseconds spent in {@link #delegate} */
+  long visiting;
+
+  TimedVisitor(TokenVisitor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void word(CharSequence word) {
+    var start = System.nanoTime();
+    delegate.word(word);
+    visiting += System.nanoTime() - start;
+  }
+
+  @Override
+  public void endSentence() {
+    delegate.endSentence();
+  }
+
+  @Override
+  public void endSentence(int end) {
+    delegate.endSentence(end);
+  }
+
+}
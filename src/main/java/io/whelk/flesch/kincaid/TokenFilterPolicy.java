@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.util.Set;
+import io.whelk.flesch.kincaid.PennTreebankValidator.PennTreebankTag;
+import lombok.Builder;
+
+/**
+ * Decides which POS-tagged tokens count as words. Compiled once into a bitset
+ * over tag ids, so a check is a first-character test, which rejects every
+ * punctuation tag without a lookup, then one hash lookup and one bit test.
+ * 
+ * <p>
+ * The default policy counts every word tag except possessive endings
+ * ({@code POS}) and symbols ({@code SYM}), including numbers ({@code CD}) and
+ * foreign words ({@code FW}).
+ * 
+ * <pre>
+ * var policy = TokenFilterPolicy.builder() //
+ *     .excludeNumbers(true) //
+ *     .build();
+ * 
+ * var analyzer = ReadabilityAnalyzer.builder() //
+ *     .tokenizer(TokenizerEngine.coreNlp(CoreNlpPipeline.defaultPipeline(), policy)) //
+ *     .build();
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+public final class TokenFilterPolicy {
+
+  private static final TokenFilterPolicy DEFAULT = TokenFilterPolicy.builder().build();
+
+  /**
+   * bit per {@link PennTreebankTag#ordinal()} of tags counted as words; the
+   * enum must stay within 64 constants
+   */
+  private final long wordTags;
+
+  /**
+   * @param excludeNumbers      do not count cardinal numbers ({@code CD})
+   * @param excludeForeignWords do not count foreign words ({@code FW})
+   * @param excludedTags        further Penn Treebank tags not to count, such
+   *                            as {@code LS} or {@code UH}
+   * @throws IllegalArgumentException if an excluded tag is not a Penn
+   *                                  Treebank tag
+   */
+  @Builder
+  private TokenFilterPolicy(boolean excludeNumbers, boolean excludeForeignWords, Set<String> excludedTags) {
+    var tags = 0L;
+    for (var tag : PennTreebankTag.values())
+      if (!tag.isPunctuation())
+        tags |= bit(tag);
+
+    tags &= ~(bit(PennTreebankTag.UNKNOWN) | bit(PennTreebankTag.POS) | bit(PennTreebankTag.SYM));
+    if (excludeNumbers)
+      tags &= ~bit(PennTreebankTag.CD);
+    if (excludeForeignWords)
+      tags &= ~bit(PennTreebankTag.FW);
+
+    if (excludedTags != null) {
+      for (var name : excludedTags) {
+        var tag = PennTreebankTag.parse(name);
+        if (tag == PennTreebankTag.UNKNOWN)
+          throw new IllegalArgumentException("unknown Penn Treebank tag: " + name);
+        tags &= ~bit(tag);
+      }
+    }
+
+    this.wordTags = tags;
+  }
+
+  /**
+   * @return policy used by {@link TokenizerEngine#coreNlp()}
+   */
+  public static TokenFilterPolicy defaultPolicy() {
+    return DEFAULT;
+  }
+
+  /**
+   * @param posTag assigned by the tagger
+   * @return true if a token with {@code posTag} counts as a word
+   */
+  public boolean accepts(String posTag) {
+    if (posTag == null || posTag.isEmpty())
+      return false;
+
+    // every punctuation tag starts outside A-Z: . , : `` '' -LRB- # $
+    var first = posTag.charAt(0);
+    if (first < 'A' || first > 'Z')
+      return false;
+
+    return (wordTags & bit(PennTreebankTag.parse(posTag))) != 0;
+  }
+
+  /**
+   * @return stable description of the accepted tags, for
+   *         {@link AnalyzerFingerprint}
+   */
+  String fingerprint() {
+    return "tags " + Long.toHexString(wordTags);
+  }
+
+  private static long bit(PennTreebankTag tag) {
+    return 1L << tag.ordinal();
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * Receives tokens from a {@link TokenizerEngine}.
+ * 
+ * @since 0.1.12
+ */
+public interface TokenVisitor {
+
+  /**
+   * Called once for every token accepted as a word. {@code word} may be a view
+   * over the engine's buffer and is only valid for the duration of the call;
+   * use {@code toString()} to retain it.
+   * 
+   * @param word accepted token text
+   */
+  void word(CharSequence word);
+
+  /**
+   * Called after the last token of each sentence.
+   */
+  void endSentence();
+
+  /**
+   * Called by engines after the last token of each sentence in place of
+   * {@link #endSentence()}.
+   * 
+   * @param end offset in the content just past the sentence
+   */
+  default void endSentence(int end) {
+    endSentence();
+  }
+
+}
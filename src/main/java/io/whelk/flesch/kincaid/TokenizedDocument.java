@@ -0,0 +1,390 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import edu.stanford.nlp.ling.CoreAnnotations.TokensAnnotation;
+import edu.stanford.nlp.ling.CoreLabel;
+import edu.stanford.nlp.simple.Sentence;
+import edu.stanford.nlp.util.CoreMap;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Compact, immutable form of a tokenized document: the text, two
+ * {@code int} offsets per token, one flag byte per token and one
+ * {@code int} per sentence. Holds everything the calculator needs in a few
+ * primitive arrays instead of CoreNLP {@link Sentence} and token graphs, so
+ * documents are cheap to keep, cache or serialize.
+ * 
+ * <p>
+ * Each flag byte marks whether the token is a word and, for words, holds its
+ * syllable count, saturating at {@value #MAX_SYLLABLES}.
+ * 
+ * <pre>
+ * var document = Tokenizer.tokenizeDocument(content);
+ * var report = ReadabilityCalculator.analyze(document);
+ * </pre>
+ * 
+ * @since 0.1.12
+ */
+@EqualsAndHashCode
+public final class TokenizedDocument {
+
+  /** largest syllable count a token can record */
+  public static final int MAX_SYLLABLES = 0x7F;
+
+  private static final int WORD = 0x80;
+  private static final int FORMAT_VERSION = 2;
+  /** characters per {@link DataOutput#writeUTF(String)} chunk, at most 3 bytes each */
+  private static final int TEXT_CHUNK = 0xFFFF / 3;
+  /** elements allocated ahead of the data actually read */
+  private static final int READ_CHUNK = 1 << 16;
+
+  private final String text;
+  private final int[] offsets;
+  private final byte[] flags;
+  private final int[] sentenceEnds;
+
+  private TokenizedDocument(String text, int[] offsets, byte[] flags, int[] sentenceEnds) {
+    this.text = text;
+    this.offsets = offsets;
+    this.flags = flags;
+    this.sentenceEnds = sentenceEnds;
+  }
+
+  /**
+   * @param sentences       annotated by a {@link CoreNlpPipeline}
+   * @param text            the sentences were annotated from
+   * @param syllableCounter to count word syllables with
+   * @return compact form of {@code sentences}
+   */
+  static TokenizedDocument of(String text, List<CoreMap> sentences, SyllableCounter syllableCounter) {
+    var builder = new Builder(text);
+    for (var sentence : sentences) {
+      for (CoreLabel token : sentence.get(TokensAnnotation.class)) {
+        var word = PennTreebankValidator.isWordTag(token.tag());
+        builder.token(token.beginPosition(), token.endPosition(),
+            word ? syllableCounter.countSyllables(token.originalText()) : -1);
+      }
+      builder.endSentence();
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param sentences       from {@link Tokenizer#tokenizeContent(String)}
+   * @param syllableCounter to count word syllables with
+   * @return compact form of {@code sentences}
+   */
+  static TokenizedDocument of(List<Sentence> sentences, SyllableCounter syllableCounter) {
+    var builder = new Builder(sentences.isEmpty() ? "" : sentences.get(0).document.text());
+    for (var sentence : sentences) {
+      for (int i = 0; i < sentence.length(); i++) {
+        var word = PennTreebankValidator.isWordTag(sentence.posTag(i));
+        builder.token(sentence.characterOffsetBegin(i), sentence.characterOffsetEnd(i),
+            word ? syllableCounter.countSyllables(sentence.originalText(i)) : -1);
+      }
+      builder.endSentence();
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return text the tokens index into
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * @return number of tokens, words and non-words
+   */
+  public int tokenCount() {
+    return flags.length;
+  }
+
+  /**
+   * @return number of sentences
+   */
+  public int sentenceCount() {
+    return sentenceEnds.length;
+  }
+
+  /**
+   * @param index of the sentence
+   * @return index of the token after the sentence's last token
+   */
+  public int sentenceEnd(int index) {
+    return sentenceEnds[index];
+  }
+
+  /**
+   * @param index of the token
+   * @return text of the token
+   */
+  public CharSequence token(int index) {
+    return text.subSequence(tokenBegin(index), tokenEnd(index));
+  }
+
+  /**
+   * @param index of the token
+   * @return offset of the token's first character
+   */
+  public int tokenBegin(int index) {
+    Objects.checkIndex(index, flags.length);
+    return offsets[2 * index];
+  }
+
+  /**
+   * @param index of the token
+   * @return offset after the token's last character
+   */
+  public int tokenEnd(int index) {
+    Objects.checkIndex(index, flags.length);
+    return offsets[2 * index + 1];
+  }
+
+  /**
+   * @param index of the token
+   * @return true if the token counts as a word
+   */
+  public boolean isWord(int index) {
+    return (flags[index] & WORD) != 0;
+  }
+
+  /**
+   * @param index of the token
+   * @return syllables in the token, 0 for non-words
+   */
+  public int syllables(int index) {
+    return flags[index] & MAX_SYLLABLES;
+  }
+
+  /**
+   * Replay the words and sentence ends, in order, without copying token text.
+   * 
+   * @param visitor to receive the tokens
+   */
+  public void accept(TokenVisitor visitor) {
+    var slice = new CharSlice();
+    var token = 0;
+    for (var end : sentenceEnds) {
+      for (; token < end; token++)
+        if (isWord(token))
+          visitor.word(slice.reset(text, offsets[2 * token], offsets[2 * token + 1]));
+      visitor.endSentence(end > 0 ? offsets[2 * end - 1] : 0);
+    }
+  }
+
+  /**
+   * Gather report totals from the recorded syllable counts, without counting
+   * syllables again. Unfamiliar words are {@link ReadabilityReport#UNCOUNTED}.
+   * 
+   * @return readability report
+   */
+  public ReadabilityReport toReport() {
+    var slice = new CharSlice();
+    long words = 0;
+    long syllables = 0;
+    long characters = 0;
+    long polysyllables = 0;
+    long complexWords = 0;
+
+    var token = 0;
+    for (var end : sentenceEnds) {
+      var sentenceStart = true;
+      for (; token < end; token++) {
+        if (!isWord(token))
+          continue;
+
+        var word = slice.reset(text, offsets[2 * token], offsets[2 * token + 1]);
+        var count = syllables(token);
+
+        words++;
+        syllables += count;
+        characters += ReadabilityCalculator.countCharacters(word);
+        if (count >= ReadabilityCalculator.POLYSYLLABLE) {
+          polysyllables++;
+          if (ReadabilityCalculator.isComplexWord(word, count, sentenceStart))
+            complexWords++;
+        }
+        sentenceStart = false;
+      }
+    }
+
+    return ReadabilityReport.builder() //
+        .sentenceCount(sentenceEnds.length) //
+        .wordCount(words) //
+        .syllableCount(syllables) //
+        .characterCount(characters) //
+        .polysyllableCount(polysyllables) //
+        .complexWordCount(complexWords) //
+        .build();
+  }
+
+  /**
+   * Write this document in a compact binary form readable by
+   * {@link #read(DataInput)}. The text is written char by char in
+   * {@link DataOutput#writeUTF(String) modified UTF-8}, so it reads back
+   * exactly, unpaired surrogates included, and token offsets stay valid.
+   * 
+   * @param out to write to
+   * @throws IOException if {@code out} fails
+   */
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(text.length());
+    for (int i = 0; i < text.length(); i += TEXT_CHUNK)
+      out.writeUTF(text.substring(i, Math.min(i + TEXT_CHUNK, text.length())));
+    out.writeInt(flags.length);
+    for (var offset : offsets)
+      out.writeInt(offset);
+    out.write(flags);
+    out.writeInt(sentenceEnds.length);
+    for (var end : sentenceEnds)
+      out.writeInt(end);
+  }
+
+  /**
+   * @param in positioned at a document written by {@link #write(DataOutput)}
+   * @return document read from {@code in}
+   * @throws IOException if {@code in} fails, holds another format or holds
+   *                     lengths, offsets or sentence ends that do not fit
+   *                     the document
+   */
+  public static TokenizedDocument read(DataInput in) throws IOException {
+    var version = in.readInt();
+    if (version != FORMAT_VERSION)
+      throw new IOException("unsupported tokenized document version " + version);
+
+    var text = readText(in, readLength(in, "text", 1));
+    var tokens = readLength(in, "token", 2);
+    var offsets = readInts(in, 2 * tokens);
+    var flags = readBytes(in, tokens);
+    var sentenceEnds = readInts(in, readLength(in, "sentence", 1));
+
+    for (int i = 0; i < offsets.length; i += 2) {
+      if (offsets[i] < 0 || offsets[i] > offsets[i + 1] || offsets[i + 1] > text.length())
+        throw new IOException("token " + i / 2 + " offsets outside the text");
+    }
+    var previous = 0;
+    for (var end : sentenceEnds) {
+      if (end < previous || end > tokens)
+        throw new IOException("sentence end " + end + " out of order or past the last token");
+      previous = end;
+    }
+
+    return new TokenizedDocument(text, offsets, flags, sentenceEnds);
+  }
+
+  /**
+   * @param perElement array slots each counted element takes
+   */
+  private static int readLength(DataInput in, String name, int perElement) throws IOException {
+    var length = in.readInt();
+    if (length < 0 || length > (Integer.MAX_VALUE - 8) / perElement)
+      throw new IOException("implausible " + name + " count " + length);
+    return length;
+  }
+
+  private static String readText(DataInput in, int length) throws IOException {
+    var text = new StringBuilder(Math.min(length, READ_CHUNK));
+    while (text.length() < length)
+      text.append(in.readUTF());
+    if (text.length() != length)
+      throw new IOException("text longer than its length " + length);
+    return text.toString();
+  }
+
+  /**
+   * Read {@code length} bytes, growing the array as data arrives so a corrupt
+   * length runs out of input instead of memory.
+   */
+  private static byte[] readBytes(DataInput in, int length) throws IOException {
+    var values = new byte[Math.min(length, READ_CHUNK)];
+    for (int read = 0; read < length; read = values.length) {
+      if (read == values.length)
+        values = Arrays.copyOf(values, (int) Math.min(length, 2L * values.length));
+      in.readFully(values, read, values.length - read);
+    }
+    return values;
+  }
+
+  /**
+   * @see #readBytes(DataInput, int)
+   */
+  private static int[] readInts(DataInput in, int length) throws IOException {
+    var values = new int[Math.min(length, READ_CHUNK)];
+    for (int i = 0; i < length; i++) {
+      if (i == values.length)
+        values = Arrays.copyOf(values, (int) Math.min(length, 2L * values.length));
+      values[i] = in.readInt();
+    }
+    return values;
+  }
+
+  /**
+   * Growable arrays for building a document one token at a time.
+   */
+  static final class Builder {
+
+    private final String text;
+    private int[] offsets = new int[64];
+    private byte[] flags = new byte[32];
+    private int[] sentenceEnds = new int[8];
+    private int tokens;
+    private int sentences;
+
+    Builder(String text) {
+      this.text = text;
+    }
+
+    /**
+     * @param begin     offset of the first character
+     * @param end       offset after the last character
+     * @param syllables in the word, or negative for a non-word
+     */
+    void token(int begin, int end, int syllables) {
+      if (tokens == flags.length) {
+        flags = Arrays.copyOf(flags, tokens * 2);
+        offsets = Arrays.copyOf(offsets, tokens * 4);
+      }
+      offsets[2 * tokens] = begin;
+      offsets[2 * tokens + 1] = end;
+      flags[tokens++] = syllables < 0 ? 0 : (byte) (WORD | Math.min(syllables, MAX_SYLLABLES));
+    }
+
+    void endSentence() {
+      if (sentences == sentenceEnds.length)
+        sentenceEnds = Arrays.copyOf(sentenceEnds, sentences * 2);
+      sentenceEnds[sentences++] = tokens;
+    }
+
+    TokenizedDocument build() {
+      return new TokenizedDocument(text, //
+          Arrays.copyOf(offsets, 2 * tokens), //
+          Arrays.copyOf(flags, tokens), //
+          Arrays.copyOf(sentenceEnds, sentences));
+    }
+
+  }
+
+}
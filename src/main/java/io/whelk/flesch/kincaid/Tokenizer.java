@@ -18,6 +18,7 @@ package io.whelk.flesch.kincaid;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import edu.stanford.nlp.ling.CoreAnnotations.SentencesAnnotation;
 import edu.stanford.nlp.simple.Document;
 import edu.stanford.nlp.simple.Sentence;
 import edu.stanford.nlp.simple.Token;
@@ -31,13 +32,44 @@ import lombok.experimental.UtilityClass;
 public class Tokenizer {
 
   /**
-   * Convert raw text into n-1 sentences.
+   * Convert raw text into n-1 sentences, tokenized and tagged by the shared
+   * {@link CoreNlpPipeline}.
    * 
    * @param content to convert to sentences
    * @return sentences converted to tokens
    */
   public static List<Sentence> tokenizeContent(String content) {
-    return content != null ? new Document(content).sentences() : Collections.emptyList();
+    if (content == null)
+      return Collections.emptyList();
+
+    return new Document(CoreNlpPipeline.defaultPipeline().annotate(content)).sentences();
+  }
+
+  /**
+   * Tokenize {@code content} with the shared {@link CoreNlpPipeline} straight
+   * into the compact document form, counting syllables with the default
+   * syllable cache. Prefer this over {@link #tokenizeContent(String)} when
+   * the tokens are kept or cached.
+   * 
+   * @param content to tokenize
+   * @return compact tokenized document
+   * @since 0.1.12
+   */
+  public static TokenizedDocument tokenizeDocument(String content) {
+    if (content == null)
+      return new TokenizedDocument.Builder("").build();
+
+    var sentences = CoreNlpPipeline.defaultPipeline().annotate(content).get(SentencesAnnotation.class);
+    return TokenizedDocument.of(content, sentences, SyllableCache.defaultCache());
+  }
+
+  /**
+   * @param sentences from {@link #tokenizeContent(String)}
+   * @return compact form of {@code sentences}, which may then be discarded
+   * @since 0.1.12
+   */
+  public static TokenizedDocument tokenizeDocument(List<Sentence> sentences) {
+    return TokenizedDocument.of(sentences != null ? sentences : Collections.emptyList(), SyllableCache.defaultCache());
   }
 
   /**
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * Strategy for splitting raw text into sentences and word tokens. Engines
+ * report tokens to a {@link TokenVisitor} instead of materializing lists, so
+ * counting consumers see each word exactly once.
+ * 
+ * @since 0.1.12
+ */
+public interface TokenizerEngine {
+
+  /**
+   * Tokenize {@code content} and report every word and sentence boundary to
+   * {@code visitor}. {@code null} content reports nothing.
+   * 
+   * @param content to tokenize
+   * @param visitor to receive words and sentence boundaries
+   */
+  void tokenize(String content, TokenVisitor visitor);
+
+  /**
+   * Tokenize while reporting stage latencies to {@code metrics}. Engines
+   * without separately timed stages record their whole pass as
+   * {@link ReadabilityMetrics.Stage#SENTENCE_SPLITTING}, excluding time spent
+   * in {@code visitor}.
+   * 
+   * @param content to tokenize, may be {@code null}
+   * @param visitor to receive words and sentence boundaries
+   * @param metrics to record stage latencies with
+   */
+  default void tokenize(String content, TokenVisitor visitor, ReadabilityMetrics metrics) {
+    if (!metrics.isEnabled()) {
+      tokenize(content, visitor);
+      return;
+    }
+
+    var timed = new TimedVisitor(visitor);
+    var start = System.nanoTime();
+    tokenize(content, timed);
+    metrics.recordLatency(ReadabilityMetrics.Stage.SENTENCE_SPLITTING, System.nanoTime() - start - timed.visiting);
+  }
+
+  /**
+   * High-accuracy engine backed by CoreNLP sentence splitting and POS tagging,
+   * sharing {@link CoreNlpPipeline#defaultPipeline()}.
+   * 
+   * @return CoreNLP engine
+   */
+  static TokenizerEngine coreNlp() {
+    return CoreNlpTokenizerEngine.INSTANCE;
+  }
+
+  /**
+   * @param pipeline to tokenize, split and tag with
+   * @return CoreNLP engine backed by {@code pipeline}
+   */
+  static TokenizerEngine coreNlp(CoreNlpPipeline pipeline) {
+    return coreNlp(pipeline, TokenFilterPolicy.defaultPolicy());
+  }
+
+  /**
+   * @param pipeline to tokenize, split and tag with
+   * @param filter   deciding which tagged tokens count as words
+   * @return CoreNLP engine backed by {@code pipeline}
+   */
+  static TokenizerEngine coreNlp(CoreNlpPipeline pipeline, TokenFilterPolicy filter) {
+    return new CoreNlpTokenizerEngine(pipeline, filter);
+  }
+
+  /**
+   * Fast engine that segments sentences and words by rules and classifies
+   * possessive and symbol tokens without a POS tagger.
+   * 
+   * @return rule-based engine
+   */
+  static TokenizerEngine ruleBased() {
+    return RuleBasedTokenizerEngine.INSTANCE;
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 Whelk Contributors (http://whelk.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.whelk.flesch.kincaid;
+
+/**
+ * Language-neutral {@link SyllableCounter} that counts groups of adjacent
+ * vowels, for languages without hyphenation patterns. Vowels are given per
+ * language, accented letters included, and compared after lower-casing.
+ * 
+ * <p>
+ * Three refinements cover the common exceptions: adjacent strong vowels split
+ * into separate syllables (Spanish {@code po-e-ta}), a breaking vowel such as
+ * {@code ï} always opens a new syllable ({@code na-ïve}), and a final
+ * {@code e} or {@code es} after a consonant can be silent ({@code fromage}).
+ * {@code null} or blank words have no syllables, and words without vowels
+ * count as one.
+ * 
+ * @since 0.1.12
+ */
+final class VowelGroupSyllableCounter implements SyllableCounter {
+
+  /** accented English loanwords such as {@code café} or {@code naïve} */
+  static final VowelGroupSyllableCounter ENGLISH = new VowelGroupSyllableCounter( //
+      "aeiouyàáâäèéêëìíîïòóôöùúûü", "", "ëïö", true);
+
+  static final VowelGroupSyllableCounter GERMAN = new VowelGroupSyllableCounter( //
+      "aeiouyäöü", "", "", false);
+
+  static final VowelGroupSyllableCounter FRENCH = new VowelGroupSyllableCounter( //
+      "aeiouyàâæèéêëîïôœùûüÿ", "", "ëïü", true);
+
+  /** {@code y} is a consonant between vowels ({@code ma-yo}) and joins a diphthong otherwise */
+  static final VowelGroupSyllableCounter SPANISH = new VowelGroupSyllableCounter( //
+      "aeiouáéíóúü", "aeoáéíóú", "", false);
+
+  static final VowelGroupSyllableCounter ITALIAN = new VowelGroupSyllableCounter( //
+      "aeiouàèéìíòóù", "aeoàèéòó", "", false);
+
+  static final VowelGroupSyllableCounter DUTCH = new VowelGroupSyllableCounter( //
+      "aeiouyáéíóúäëïöü", "", "äëïöü", false);
+
+  private final String vowels;
+  private final String strongVowels;
+  private final String breakingVowels;
+  private final boolean silentFinalE;
+
+  /**
+   * @param vowels         lower-case vowel letters
+   * @param strongVowels   vowels that form separate syllables when adjacent
+   * @param breakingVowels vowels that always open a new syllable
+   * @param silentFinalE   whether a final {@code e} or {@code es} after a
+   *                       consonant is silent
+   */
+  VowelGroupSyllableCounter(String vowels, String strongVowels, String breakingVowels, boolean silentFinalE) {
+    this.vowels = vowels;
+    this.strongVowels = strongVowels;
+    this.breakingVowels = breakingVowels;
+    this.silentFinalE = silentFinalE;
+  }
+
+  @Override
+  public int countSyllables(String word) {
+    return countSyllables((CharSequence) word);
+  }
+
+  @Override
+  public int countSyllables(CharSequence word) {
+    if (word == null)
+      return 0;
+
+    var length = word.length();
+    var syllables = 0;
+    var blank = true;
+    var previous = (char) 0;
+    var previousVowel = false;
+
+    for (var i = 0; i < length; i++) {
+      var c = Character.toLowerCase(word.charAt(i));
+      if (!Character.isWhitespace(c))
+        blank = false;
+
+      var vowel = vowels.indexOf(c) >= 0;
+      if (vowel && (!previousVowel || isHiatus(previous, c)))
+        syllables++;
+
+      previous = c;
+      previousVowel = vowel;
+    }
+
+    if (blank)
+      return 0;
+
+    if (silentFinalE && syllables > 1 && hasSilentFinalE(word))
+      syllables--;
+
+    return Math.max(syllables, 1);
+  }
+
+  /**
+   * @return settings, for {@link AnalyzerFingerprint}
+   */
+  String fingerprint() {
+    return "vowel-groups " + vowels + " " + strongVowels + " " + breakingVowels + " " + silentFinalE;
+  }
+
+  private boolean isHiatus(char previous, char c) {
+    return breakingVowels.indexOf(c) >= 0 //
+        || strongVowels.indexOf(previous) >= 0 && strongVowels.indexOf(c) >= 0;
+  }
+
+  private boolean hasSilentFinalE(CharSequence word) {
+    var end = word.length();
+    if (end > 1 && Character.toLowerCase(word.charAt(end - 1)) == 's')
+      end--;
+
+    return end > 1 //
+        && Character.toLowerCase(word.charAt(end - 1)) == 'e' //
+        && vowels.indexOf(Character.toLowerCase(word.charAt(end - 2))) < 0;
+  }
+
+}
@@ -0,0 +1,148 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.whelk.flesch.kincaid.AsyncReadabilityAnalyzer.SaturationPolicy;
+
+class AsyncReadabilityAnalyzerTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger scored = new AtomicInteger();
+
+  /** rule-based engine that holds each document until {@link #release} opens */
+  private final ReadabilityAnalyzer blocking = ReadabilityAnalyzer.builder() //
+      .tokenizer((content, visitor) -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        scored.incrementAndGet();
+        TokenizerEngine.ruleBased().tokenize(content, visitor);
+      }) //
+      .build();
+
+  @AfterEach
+  void openLatch() {
+    release.countDown();
+  }
+
+  @Test
+  void testAnalyze_withRuleBasedAnalyzer() throws Exception {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var content = TokenizerEngineTest.corpus("cinderella");
+
+    try (var async = AsyncReadabilityAnalyzer.builder().analyzer(analyzer).threads(2).build()) {
+      assertEquals(analyzer.analyze(content), async.analyze(content).get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void testAnalyze_withRejectWhenSaturated() throws Exception {
+    try (var async = AsyncReadabilityAnalyzer.builder().analyzer(blocking).threads(1).queueCapacity(1).build()) {
+      var first = async.analyze("One.");
+      var second = async.analyze("Two.");
+      var rejected = async.analyze("Three.");
+
+      var e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+      assertInstanceOf(RejectedExecutionException.class, e.getCause());
+
+      release.countDown();
+      assertEquals(1, first.get(10, TimeUnit.SECONDS).getWordCount());
+      assertEquals(1, second.get(10, TimeUnit.SECONDS).getWordCount());
+
+      // slots free up once documents finish
+      assertEquals(1, async.analyze("Four.").get(10, TimeUnit.SECONDS).getSentenceCount());
+    }
+  }
+
+  @Test
+  void testAnalyze_withQueueWhenSaturated() throws Exception {
+    try (var async = AsyncReadabilityAnalyzer.builder() //
+        .analyzer(blocking) //
+        .threads(1) //
+        .queueCapacity(1) //
+        .saturationPolicy(SaturationPolicy.QUEUE) //
+        .build()) {
+      async.analyze("One.");
+      async.analyze("Two.");
+
+      var submitted = new CountDownLatch(1);
+      var third = CompletableFuture.supplyAsync(() -> {
+        var future = async.analyze("Three.");
+        submitted.countDown();
+        return future;
+      });
+
+      assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+
+      release.countDown();
+      assertEquals(1, third.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS).getWordCount());
+    }
+  }
+
+  @Test
+  void testAnalyze_withCancelledBeforeStart() throws Exception {
+    var async = AsyncReadabilityAnalyzer.builder().analyzer(blocking).threads(1).queueCapacity(4).build();
+    var running = async.analyze("One.");
+    var cancelled = async.analyze("Two.");
+
+    assertTrue(cancelled.cancel(true));
+    release.countDown();
+    running.get(10, TimeUnit.SECONDS);
+    async.close();
+    assertTrue(async.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(1, scored.get());
+    assertTrue(cancelled.isCancelled());
+  }
+
+  @Test
+  void testAnalyze_withCancelledFreeingSlot() throws Exception {
+    try (var async = AsyncReadabilityAnalyzer.builder().analyzer(blocking).threads(1).queueCapacity(1).build()) {
+      var running = async.analyze("One.");
+      var cancelled = async.analyze("Two.");
+
+      assertTrue(cancelled.cancel(true));
+      assertEquals(0, async.getQueuedCount());
+
+      // the cancelled document's slot is free while the first still runs
+      var accepted = async.analyze("Three.");
+      assertFalse(accepted.isCompletedExceptionally());
+
+      release.countDown();
+      assertEquals(1, running.get(10, TimeUnit.SECONDS).getWordCount());
+      assertEquals(1, accepted.get(10, TimeUnit.SECONDS).getWordCount());
+      assertEquals(2, scored.get());
+    }
+  }
+
+  @Test
+  void testAnalyze_withClosedAnalyzer() {
+    var async = AsyncReadabilityAnalyzer.builder().threads(1).build();
+    async.close();
+
+    var e = assertThrows(ExecutionException.class, () -> async.analyze("One.").get());
+    assertInstanceOf(RejectedExecutionException.class, e.getCause());
+  }
+
+  @Test
+  void testBuilder_withNegativeThreads() {
+    assertThrows(IllegalArgumentException.class, () -> AsyncReadabilityAnalyzer.builder().threads(-1).build());
+  }
+
+}
@@ -0,0 +1,46 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ContentHashTest {
+
+  @Test
+  void testOf_withReferenceVectors() {
+    assertEquals("00000000000000000000000000000000", ContentHash.of("").toString());
+    assertEquals("ee2ee18fe1bfd3877b927262d8c336c4", ContentHash.of("hello").toString());
+    assertEquals("55d8a5981f3f41f35e9fa4782c55002a",
+        ContentHash.of("The quick brown fox jumps over the lazy dog.").toString());
+  }
+
+  @Test
+  void testOf_withCharSequenceView() {
+    var content = "The quick brown fox";
+    var slice = new CharSlice().reset("xx" + content + "yy", 2, 2 + content.length());
+
+    assertEquals(ContentHash.of(content), ContentHash.of(slice));
+  }
+
+  @Test
+  void testOf_withSingleCharacterDifference() {
+    assertNotEquals(ContentHash.of("The cat sat."), ContentHash.of("The cat sat!"));
+    assertNotEquals(ContentHash.of("abcdefgh"), ContentHash.of("abcdefg"));
+  }
+
+  @Test
+  void testParse_withToString() {
+    var hash = ContentHash.of(TokenizerEngineTest.corpus("gettysburg"));
+
+    assertEquals(hash, ContentHash.parse(hash.toString()));
+  }
+
+  @Test
+  void testParse_withMalformedHex() {
+    assertThrows(IllegalArgumentException.class, () -> ContentHash.parse("abc"));
+    assertThrows(IllegalArgumentException.class, () -> ContentHash.parse("zz2ee18fe1bfd3877b927262d8c336c4"));
+  }
+
+}
@@ -0,0 +1,112 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class CoreNlpPipelineTest {
+
+  @Test
+  void testDefaultPipeline_withSharedInstance() {
+    assertSame(CoreNlpPipeline.defaultPipeline(), CoreNlpPipeline.defaultPipeline());
+  }
+
+  @Test
+  void testDefaultProperties_withRequiredAnnotators() {
+    assertEquals("tokenize,ssplit,pos", CoreNlpPipeline.defaultProperties().getProperty("annotators"));
+  }
+
+  @Test
+  void testWarmUp_withLazyLoad() {
+    var pipeline = new CoreNlpPipeline(CoreNlpPipeline.defaultProperties());
+    assertFalse(pipeline.isLoaded());
+
+    var report = pipeline.warmUp();
+    assertTrue(pipeline.isLoaded());
+    assertTrue(report.getLoadTime().compareTo(Duration.ZERO) > 0);
+    assertTrue(report.getHeapBytes() >= 0);
+
+    var again = pipeline.warmUp();
+    assertEquals(Duration.ZERO, again.getLoadTime());
+    assertEquals(0, again.getHeapBytes());
+  }
+
+  @Test
+  void testCheckModels_withDefaultModels() {
+    assertDoesNotThrow(() -> CoreNlpPipeline.defaultPipeline().checkModels());
+  }
+
+  @Test
+  void testWarmUp_withMissingModel() {
+    var properties = CoreNlpPipeline.defaultProperties();
+    properties.setProperty("pos.model", "edu/stanford/nlp/models/pos-tagger/missing.tagger");
+    var pipeline = new CoreNlpPipeline(properties);
+
+    var e = assertThrows(IllegalStateException.class, pipeline::warmUp);
+    assertTrue(e.getMessage().contains("missing.tagger"));
+    assertFalse(pipeline.isLoaded());
+  }
+
+  @Test
+  void testWarmUp_withUnsupportedAnnotator() {
+    var properties = CoreNlpPipeline.defaultProperties();
+    properties.setProperty("annotators", "tokenize,ssplit,pos,lemma,ner");
+    var pipeline = new CoreNlpPipeline(properties);
+
+    var e = assertThrows(IllegalStateException.class, pipeline::warmUp);
+    assertTrue(e.getMessage().contains("lemma"));
+    assertFalse(pipeline.isLoaded());
+  }
+
+  @Test
+  void testWarmUp_withAnnotatorsSharedPerProperties() {
+    var first = new CoreNlpPipeline(CoreNlpPipeline.defaultProperties());
+    var same = new CoreNlpPipeline(CoreNlpPipeline.defaultProperties());
+    var properties = CoreNlpPipeline.defaultProperties();
+    properties.setProperty("pos.maxlen", "100");
+    var other = new CoreNlpPipeline(properties);
+
+    assertTrue(first.stageAnnotators().isEmpty());
+    first.warmUp();
+    same.warmUp();
+    other.warmUp();
+
+    var firstStages = first.stageAnnotators();
+    var sameStages = same.stageAnnotators();
+    var otherStages = other.stageAnnotators();
+    assertEquals(2, firstStages.size());
+    assertEquals(2, otherStages.size());
+    for (int i = 0; i < firstStages.size(); i++) {
+      assertSame(firstStages.get(i), sameStages.get(i));
+      assertNotSame(firstStages.get(i), otherStages.get(i));
+    }
+  }
+
+  @Test
+  void testTokenize_withConcurrentCallers() {
+    var pipeline = new CoreNlpPipeline(CoreNlpPipeline.defaultProperties());
+    var engine = TokenizerEngine.coreNlp(pipeline);
+    var content = TokenizerEngineTest.corpus("gettysburg");
+    var expected = TokenizerEngineTest.tokenize(TokenizerEngine.coreNlp(), content);
+
+    var futures = new ArrayList<CompletableFuture<List<List<String>>>>();
+    for (int i = 0; i < 8; i++)
+      futures.add(CompletableFuture.supplyAsync(() -> TokenizerEngineTest.tokenize(engine, content)));
+
+    for (var future : futures)
+      assertEquals(expected, future.join());
+    assertTrue(pipeline.isLoaded());
+  }
+
+}
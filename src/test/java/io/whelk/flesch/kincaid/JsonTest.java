@@ -0,0 +1,78 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class JsonTest {
+
+  @Test
+  void testParseObject_withNestedValues() {
+    var object = Json.parseObject(
+        "{\"id\": 7, \"text\": \"Hi.\", \"tags\": [\"a\", true, null], \"meta\": {\"score\": -1.5e2}}");
+
+    assertEquals(7.0, object.get("id"));
+    assertEquals("Hi.", object.get("text"));
+    assertEquals(Arrays.asList("a", true, null), object.get("tags"));
+    assertEquals(Map.of("score", -150.0), object.get("meta"));
+  }
+
+  @Test
+  void testParseObject_withEscapes() {
+    var object = Json.parseObject("{\"text\":\"Line one.\\nShe said \\\"hi\\\" \\u00e9\\\\\"}");
+
+    assertEquals("Line one.\nShe said \"hi\" é\\", object.get("text"));
+  }
+
+  @Test
+  void testParse_withEmptyContainers() {
+    assertEquals(Map.of(), Json.parse(" {} "));
+    assertEquals(List.of(), Json.parse("[]"));
+    assertNull(Json.parse("null"));
+  }
+
+  @Test
+  void testParse_withMalformedJson() {
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"text\": \"open"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"text\" 1}"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("{} extra"));
+    assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[1, 2]"));
+  }
+
+  @Test
+  void testParse_withNestingDepth() {
+    var deepest = "[".repeat(Json.MAX_DEPTH) + "]".repeat(Json.MAX_DEPTH);
+    assertTrue(Json.parse(deepest) instanceof List);
+
+    var e = assertThrows(IllegalArgumentException.class, () -> Json.parse("[" + deepest + "]"));
+    assertTrue(e.getMessage().startsWith("nesting deeper than " + Json.MAX_DEPTH), e.getMessage());
+    assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\": ".repeat(100_000)));
+  }
+
+  @Test
+  void testQuote_withControlCharacters() {
+    assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", Json.quote("a\"b\\c\nd\u0001"));
+    assertEquals("null", Json.quote(null));
+  }
+
+  @Test
+  void testQuote_withRoundTrip() {
+    var text = "Tabs\tand \"quotes\" and \\ and é";
+
+    assertEquals(text, Json.parse(Json.quote(text)));
+  }
+
+  @Test
+  void testNumber_withNonFinite() {
+    assertEquals("null", Json.number(Double.NaN));
+    assertEquals("1.5", Json.number(1.5));
+  }
+
+}
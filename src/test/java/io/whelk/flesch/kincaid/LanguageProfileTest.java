@@ -0,0 +1,127 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class LanguageProfileTest {
+
+  static final String GERMAN = "Der Hund läuft über die Straße. Das Mädchen spielt im Garten.";
+  static final String FRENCH = "Le chat dort sur la table. Nous mangeons du fromage à midi.";
+  static final String SPANISH = "El niño juega en el parque. La ciudad es muy bonita en mayo.";
+
+  @Test
+  void testForLanguage_withBuiltInLanguages() {
+    assertEquals(Locale.GERMAN.getLanguage(), LanguageProfile.forLanguage("de").getLanguage());
+    assertEquals("Amstad", LanguageProfile.forLanguage("de").getFormula());
+    assertEquals("Kandel-Moles", LanguageProfile.forLanguage("fr").getFormula());
+    assertEquals("Fernández-Huerta", LanguageProfile.forLanguage("es").getFormula());
+    assertEquals("Flesch", LanguageProfile.forLanguage("en").getFormula());
+    assertTrue(LanguageProfile.languages().containsAll(java.util.Set.of("en", "de", "fr", "es", "it", "nl")));
+  }
+
+  @Test
+  void testForLanguage_withRegionTags() {
+    var german = LanguageProfile.forLanguage("de");
+
+    assertSame(german, LanguageProfile.forLanguage("de-AT"));
+    assertSame(german, LanguageProfile.forLanguage("de_CH"));
+    assertSame(german, LanguageProfile.forLanguage("DE"));
+    assertSame(german, LanguageProfile.forLocale(Locale.GERMANY));
+  }
+
+  @Test
+  void testForLanguage_withUnsupportedLanguage() {
+    assertFalse(LanguageProfile.isSupported("tlh"));
+    assertFalse(LanguageProfile.isSupported(null));
+    assertThrows(IllegalArgumentException.class, () -> LanguageProfile.forLanguage("tlh"));
+    assertThrows(IllegalArgumentException.class, () -> LanguageProfile.forLanguage(""));
+    assertThrows(IllegalArgumentException.class, () -> LanguageProfile.forLocale(null));
+  }
+
+  @Test
+  void testForLanguage_withConcurrentLookups() throws Exception {
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      var tasks = new ArrayList<Callable<LanguageProfile>>();
+      for (var i = 0; i < 64; i++)
+        tasks.add(() -> LanguageProfile.forLanguage("nl"));
+
+      var expected = LanguageProfile.forLanguage("nl");
+      for (var future : executor.invokeAll(tasks))
+        assertSame(expected, future.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testRegister_withCustomProfile() {
+    var profile = LanguageProfile.builder() //
+        .language("pt-BR") //
+        .formula("Martins") //
+        .base(248.835) //
+        .sentenceLengthWeight(1.015) //
+        .wordLengthWeight(84.6) //
+        .build();
+
+    LanguageProfile.register(profile);
+
+    assertEquals("pt", profile.getLanguage());
+    assertTrue(LanguageProfile.isSupported("pt"));
+    assertSame(profile, LanguageProfile.forLanguage("pt-PT"));
+    assertThrows(IllegalArgumentException.class, () -> LanguageProfile.register(null));
+  }
+
+  @Test
+  void testAnalyze_withGerman() {
+    var profile = LanguageProfile.forLanguage("de");
+    var report = profile.analyze(GERMAN);
+
+    assertEquals(2, report.getSentenceCount());
+    assertEquals(11, report.getWordCount());
+    assertEquals(15, report.getSyllableCount());
+    assertEquals(180 - 5.5 - 58.5 * 15 / 11, profile.readingEase(report), 1e-9);
+    assertEquals(profile.readingEase(report), profile.readingEase(GERMAN), 1e-9);
+  }
+
+  @Test
+  void testAnalyze_withFrench() {
+    var profile = LanguageProfile.forLanguage("fr");
+    var report = profile.analyze(FRENCH);
+
+    assertEquals(2, report.getSentenceCount());
+    assertEquals(12, report.getWordCount());
+    assertEquals(15, report.getSyllableCount());
+    assertEquals(207 - 1.015 * 6 - 73.6 * 15 / 12, profile.readingEase(report), 1e-9);
+  }
+
+  @Test
+  void testAnalyze_withSpanish() {
+    var profile = LanguageProfile.forLanguage("es");
+    var report = profile.analyze(SPANISH);
+
+    assertEquals(2, report.getSentenceCount());
+    assertEquals(13, report.getWordCount());
+    assertEquals(20, report.getSyllableCount());
+    assertEquals(206.84 - 1.02 * 6.5 - 60.0 * 20 / 13, profile.readingEase(report), 1e-9);
+  }
+
+  @Test
+  void testCalculateReadingEase_withEnglishMatchingFlesch() {
+    var english = LanguageProfile.forLanguage("en");
+
+    assertEquals(ReadabilityCalculator.calculateReadingEase(4, 40, 55), english.calculateReadingEase(4, 40, 55), 1e-9);
+    assertTrue(Double.isNaN(english.calculateReadingEase(0, 0, 0)));
+  }
+
+}
@@ -0,0 +1,62 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerReadabilityMetricsTest {
+
+  @Test
+  void testAnalyze_withRegisteredMeters() {
+    var registry = new SimpleMeterRegistry();
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .metrics(new MicrometerReadabilityMetrics(registry)) //
+        .build();
+
+    analyzer.analyze("The cat sat. The dog ran.");
+
+    assertEquals(1, registry.get("readability.documents").counter().count());
+    assertEquals(2, registry.get("readability.sentences").counter().count());
+    assertEquals(6, registry.get("readability.words").counter().count());
+    assertEquals(1, registry.get("readability.stage").tag("stage", "syllable-counting").timer().count());
+    assertEquals(1, registry.get("readability.stage").tag("stage", "sentence-splitting").timer().count());
+    assertEquals(0, registry.get("readability.stage").tag("stage", "pos-tagging").timer().count());
+  }
+
+  @Test
+  void testMonitor_withSyllableCache() {
+    var registry = new SimpleMeterRegistry();
+    var cache = SyllableCache.builder().delegate(word -> 1).build();
+    new MicrometerReadabilityMetrics(registry).monitor(cache, "syllables");
+
+    cache.countSyllables("cat");
+    cache.countSyllables("cat");
+    cache.countSyllables("dog");
+
+    assertEquals(1, registry.get("cache.gets").tags("cache", "syllables", "result", "hit").functionCounter().count());
+    assertEquals(2, registry.get("cache.gets").tags("cache", "syllables", "result", "miss").functionCounter().count());
+    assertEquals(2, registry.get("cache.size").tag("cache", "syllables").gauge().value());
+  }
+
+  @Test
+  void testMonitor_withResultCache() {
+    var registry = new SimpleMeterRegistry();
+    var cache = ResultCache.builder().build();
+    new MicrometerReadabilityMetrics(registry).monitor(cache, "results");
+
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .resultCache(cache) //
+        .build();
+    analyzer.analyze("The cat sat.");
+    analyzer.analyze("The cat sat.");
+
+    assertEquals(1, registry.get("cache.gets").tags("cache", "results", "result", "hit").functionCounter().count());
+    assertEquals(1, registry.get("cache.gets").tags("cache", "results", "result", "miss").functionCounter().count());
+    assertEquals(0, registry.get("cache.store.failures").functionCounter().count());
+  }
+
+}
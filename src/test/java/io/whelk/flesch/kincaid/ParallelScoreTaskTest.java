@@ -0,0 +1,47 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelScoreTaskTest {
+
+  @Test
+  void testBlankLineNear_withNearestBreak() {
+    var text = "One.\n\nTwo three four.\n\nFive.";
+
+    assertEquals(6, ParallelScoreTask.blankLineNear(text, 8, 0, text.length()));
+    assertEquals(23, ParallelScoreTask.blankLineNear(text, 18, 0, text.length()));
+  }
+
+  @Test
+  void testBlankLineNear_withWhitespaceOnlyLine() {
+    var text = "One.\n \t\nTwo.";
+
+    assertEquals(8, ParallelScoreTask.blankLineNear(text, 6, 0, text.length()));
+  }
+
+  @Test
+  void testBlankLineNear_withinRange() {
+    var text = "One.\n\nTwo.\nThree.";
+
+    assertEquals(-1, ParallelScoreTask.blankLineNear(text, 10, 6, text.length()));
+    assertEquals(-1, ParallelScoreTask.blankLineNear("One.\nTwo.", 4, 0, 9));
+  }
+
+  @Test
+  void testBlankLineNear_withContextDependentBreaks() {
+    // closing quote, abbreviation and lower-case continuation
+    assertEquals(-1, ParallelScoreTask.blankLineNear("He said \"no.\"\n\nThen.", 14, 0, 21));
+    assertEquals(-1, ParallelScoreTask.blankLineNear("Ask Mr.\n\nSmith.", 8, 0, 15));
+    assertEquals(-1, ParallelScoreTask.blankLineNear("Done.\n\nand more.", 6, 0, 16));
+  }
+
+  @Test
+  void testBlankLineNear_withOpeningQuote() {
+    var text = "Done.\n\n\"Next,\" she said.";
+
+    assertEquals(7, ParallelScoreTask.blankLineNear(text, 3, 0, text.length()));
+  }
+
+}
@@ -1,5 +1,6 @@
 package io.whelk.flesch.kincaid;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import edu.stanford.nlp.simple.Sentence;
 import edu.stanford.nlp.simple.Token;
+import io.whelk.flesch.kincaid.PennTreebankValidator.PennTreebankTag;
 
 class PennTreebankValidatorTest {
 
@@ -35,4 +37,31 @@ class PennTreebankValidatorTest {
     assertTrue(result);
   }
 
+  @Test
+  void testIsWordTag_withWordTags() {
+    assertTrue(PennTreebankValidator.isWordTag("NN"));
+    assertTrue(PennTreebankValidator.isWordTag("PRP$"));
+    assertTrue(PennTreebankValidator.isWordTag("WRB"));
+  }
+
+  @Test
+  void testIsWordTag_withInvalidTags() {
+    assertFalse(PennTreebankValidator.isWordTag("POS"));
+    assertFalse(PennTreebankValidator.isWordTag("SYM"));
+    assertFalse(PennTreebankValidator.isWordTag("."));
+    assertFalse(PennTreebankValidator.isWordTag("-LRB-"));
+    assertFalse(PennTreebankValidator.isWordTag("HYPH"));
+    assertFalse(PennTreebankValidator.isWordTag("nn"));
+    assertFalse(PennTreebankValidator.isWordTag(null));
+  }
+
+  @Test
+  void testParse_withPunctuationTags() {
+    assertEquals(PennTreebankTag.PERIOD, PennTreebankTag.parse("."));
+    assertEquals(PennTreebankTag.OPENING_QUOTE, PennTreebankTag.parse("``"));
+    assertEquals(PennTreebankTag.LEFT_BRACKET, PennTreebankTag.parse("-LRB-"));
+    assertEquals(PennTreebankTag.PRP$, PennTreebankTag.parse("PRP$"));
+    assertEquals(PennTreebankTag.UNKNOWN, PennTreebankTag.parse("-NONE-"));
+  }
+
 }
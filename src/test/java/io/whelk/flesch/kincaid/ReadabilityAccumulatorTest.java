@@ -0,0 +1,98 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ReadabilityAccumulatorTest {
+
+  private static final ReadabilityAnalyzer ANALYZER = ReadabilityAnalyzer.builder() //
+      .tokenizer(TokenizerEngine.ruleBased()) //
+      .build();
+
+  private static final List<String> PARAGRAPHS = List.of(TokenizerEngineTest.corpus("gettysburg").split("\n\n"));
+
+  @Test
+  void testToReport_withNoContent() {
+    var accumulator = new ReadabilityAccumulator();
+
+    assertEquals(ReadabilityReport.builder().build(), accumulator.toReport());
+    assertEquals(Double.NaN, accumulator.getReadingEase());
+  }
+
+  @Test
+  void testAdd_withCounts() {
+    var accumulator = new ReadabilityAccumulator().add(1, 4, 5).add(0, 5, 5);
+
+    assertEquals(103.70000000000002, accumulator.getReadingEase());
+    assertEquals(1.0311111111111124, accumulator.getGradeLevel());
+  }
+
+  @Test
+  void testAdd_withTextChunks() {
+    var accumulator = ANALYZER.accumulator();
+    PARAGRAPHS.forEach(accumulator::add);
+
+    assertEquals(ANALYZER.analyze(String.join("\n\n", PARAGRAPHS)), accumulator.toReport());
+  }
+
+  @Test
+  void testMerge_isAssociative() {
+    var a = ANALYZER.accumulator().add(PARAGRAPHS.get(0));
+    var b = ANALYZER.accumulator().add(PARAGRAPHS.get(1));
+    var c = ANALYZER.accumulator().add(PARAGRAPHS.get(2));
+
+    var left = ANALYZER.accumulator().merge(a).merge(b).merge(c).toReport();
+    var right = ANALYZER.accumulator().merge(a).merge(ANALYZER.accumulator().merge(b).merge(c)).toReport();
+
+    assertEquals(left, right);
+    assertEquals(ANALYZER.analyze(String.join("\n\n", PARAGRAPHS)), left);
+  }
+
+  @Test
+  void testAdd_withReports() {
+    var accumulator = new ReadabilityAccumulator();
+    PARAGRAPHS.stream().map(ANALYZER::analyze).forEach(accumulator::add);
+
+    assertEquals(ANALYZER.analyze(String.join("\n\n", PARAGRAPHS)), accumulator.toReport());
+  }
+
+  @Test
+  void testCollector_withParallelStream() {
+    var result = PARAGRAPHS.parallelStream().collect(ReadabilityAccumulator.collector(ANALYZER));
+
+    assertEquals(ANALYZER.analyze(String.join("\n\n", PARAGRAPHS)), result);
+  }
+
+  @Test
+  void testAdd_withFamiliarWords() {
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .familiarWords(Set.of("the", "cat", "sat", "on")) //
+        .build();
+
+    var report = analyzer.accumulator().add("The cat sat on the mat. The dog barked.").toReport();
+
+    assertEquals(3, report.getUnfamiliarWordCount());
+    assertEquals(ReadabilityCalculator.calculateDaleChallScore(2, 9, 3), report.getDaleChallScore());
+    assertEquals(29, report.getCharacterCount());
+  }
+
+  @Test
+  void testMerge_withUncountedWords() {
+    var counted = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .familiarWords(Set.of("the")) //
+        .build() //
+        .accumulator() //
+        .add("The end.");
+
+    assertEquals(1, counted.toReport().getUnfamiliarWordCount());
+    assertEquals(ReadabilityReport.UNCOUNTED, counted.merge(ANALYZER.accumulator().add("More.")).toReport()
+        .getUnfamiliarWordCount());
+  }
+
+}
@@ -0,0 +1,212 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReadabilityAnalyzerTest {
+
+  @Test
+  void testDefaultAnalyzer() {
+    var analyzer = ReadabilityAnalyzer.defaultAnalyzer();
+
+    assertSame(TokenizerEngine.coreNlp(), analyzer.getTokenizer());
+  }
+
+  @Test
+  void testAnalyze_withNullContent() {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    String content = null;
+    var result = analyzer.analyze(content);
+
+    assertEquals(0, result.getSentenceCount());
+    assertEquals(0, result.getWordCount());
+    assertEquals(Double.NaN, result.getReadingEase());
+  }
+
+  @Test
+  void testAnalyze_withCinderalla() {
+    var expected = ReadabilityCalculator.analyze(ReadabilityCalculatorTest.CINDERLLA_EXCERPT);
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var result = analyzer.analyze(ReadabilityCalculatorTest.CINDERLLA_EXCERPT);
+
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void testAnalyzeAll_withEmptyCollection() {
+    var result = ReadabilityAnalyzer.defaultAnalyzer().analyzeAll(Collections.emptyList());
+
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void testAnalyzeAll_withInputOrder() {
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .syllableCounter(word -> 1) //
+        .build();
+
+    var documents = new ArrayList<String>();
+    for (var i = 1; i <= 1_000; i++)
+      documents.add(String.join(" ", Collections.nCopies(i % 17 + 1, "word")) + ".");
+
+    var result = analyzer.analyzeAll(documents);
+
+    assertEquals(documents.size(), result.size());
+    for (var i = 0; i < documents.size(); i++)
+      assertEquals(analyzer.analyze(documents.get(i)), result.get(i).getReport());
+  }
+
+  @Test
+  void testAnalyzeAll_withFailingDocument() {
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .syllableCounter(word -> {
+          if (word.equals("boom"))
+            throw new IllegalStateException(word);
+          return 1;
+        }) //
+        .build();
+
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      var result = analyzer.analyzeAll(List.of("One fine day.", "It went boom.", "Then quiet."), executor);
+
+      assertTrue(result.get(0).isSuccess());
+      assertEquals(3, result.get(0).getReport().getWordCount());
+      assertFalse(result.get(1).isSuccess());
+      assertNull(result.get(1).getReport());
+      assertEquals(IllegalStateException.class, result.get(1).getError().getClass());
+      assertTrue(result.get(2).isSuccess());
+      assertEquals(2, result.get(2).getReport().getWordCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testAnalyzeAll_withStream() {
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .syllableCounter(word -> 1) //
+        .build();
+
+    var documents = IntStream.range(0, 10).mapToObj(i -> "Word " + i + ".");
+    var result = analyzer.analyzeAll(documents, Runnable::run);
+
+    assertEquals(10, result.size());
+    result.forEach(r -> assertEquals(2, r.getReport().getWordCount()));
+  }
+
+  @Test
+  void testAnalyzeAll_withCoreNlp() {
+    var documents = Stream.of(ReadabilityCalculatorTest.DEFAULT_SENTENCE, ReadabilityCalculatorTest.CINDERLLA_EXCERPT);
+    var executor = Executors.newCachedThreadPool();
+    try {
+      var result = ReadabilityAnalyzer.defaultAnalyzer().analyzeAll(documents, executor);
+
+      assertEquals(ReadabilityCalculator.analyze(ReadabilityCalculatorTest.DEFAULT_SENTENCE), result.get(0).getReport());
+      assertEquals(ReadabilityCalculator.analyze(ReadabilityCalculatorTest.CINDERLLA_EXCERPT), result.get(1).getReport());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testAnalyze_withReader() throws IOException {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+
+    for (var name : TokenizerEngineTest.CORPUS) {
+      var content = TokenizerEngineTest.corpus(name);
+      var expected = analyzer.analyze(content);
+
+      assertEquals(expected, analyzer.analyze(new StringReader(content)), name);
+      assertEquals(expected, analyzer.analyze(new StringReader(content), 128), name);
+    }
+  }
+
+  @Test
+  void testAnalyze_withReaderAndCoreNlp() throws IOException {
+    var content = TokenizerEngineTest.corpus("gettysburg");
+    var expected = ReadabilityAnalyzer.defaultAnalyzer().analyze(content);
+    var result = ReadabilityAnalyzer.defaultAnalyzer().analyze(new StringReader(content), 256);
+
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void testAnalyze_withInputStream() throws IOException {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var content = ReadabilityCalculatorTest.CINDERLLA_EXCERPT;
+    var in = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(analyzer.analyze(content), analyzer.analyze(in, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testAnalyze_withPath(@TempDir Path directory) throws IOException {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var content = TokenizerEngineTest.corpus("dialogue");
+    var path = Files.writeString(directory.resolve("dialogue.txt"), content);
+
+    assertEquals(analyzer.analyze(content), analyzer.analyze(path));
+  }
+
+  @Test
+  void testAnalyzeParallel_withEqualSequentialResult() {
+    var pool = new ForkJoinPool(4);
+    try {
+      for (var tokenizer : List.of(TokenizerEngine.ruleBased(), TokenizerEngine.coreNlp())) {
+        var analyzer = ReadabilityAnalyzer.builder() //
+            .tokenizer(tokenizer) //
+            .familiarWords(Set.of("the", "a", "and", "she", "he", "was")) //
+            .build();
+
+        for (var name : TokenizerEngineTest.CORPUS) {
+          var content = String.join("\n\n", Collections.nCopies(3, TokenizerEngineTest.corpus(name)));
+
+          assertEquals(analyzer.analyze(content), analyzer.analyzeParallel(content, pool, 128), name);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testAnalyzeParallel_withoutBlankLines() {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var content = "One sentence here. ".repeat(200);
+
+    assertEquals(analyzer.analyze(content), analyzer.analyzeParallel(content, ForkJoinPool.commonPool(), 64));
+  }
+
+  @Test
+  void testAnalyzeParallel_withNullContent() {
+    var analyzer = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+
+    assertEquals(0, analyzer.analyzeParallel(null).getSentenceCount());
+  }
+
+}
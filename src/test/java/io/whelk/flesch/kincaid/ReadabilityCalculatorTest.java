@@ -1,6 +1,8 @@
 package io.whelk.flesch.kincaid;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -101,6 +103,53 @@ class ReadabilityCalculatorTest {
     assertEquals(6.943587069864442, result);
   }
 
+  @Test
+  void testAnalyze_withNullContent() {
+    String content = null;
+    var result = ReadabilityCalculator.analyze(content);
+
+    assertEquals(0, result.getSentenceCount());
+    assertEquals(0, result.getWordCount());
+    assertEquals(0, result.getSyllableCount());
+    assertEquals(Double.NaN, result.getReadingEase());
+    assertEquals(Double.NaN, result.getGradeLevel());
+  }
+
+  @Test
+  void testAnalyze_withCinderalla() {
+    var content = CINDERLLA_EXCERPT;
+    var result = ReadabilityCalculator.analyze(content);
+
+    assertEquals(7, result.getSentenceCount());
+    assertEquals(137, result.getWordCount());
+    assertEquals(173, result.getSyllableCount());
+    assertEquals(ReadabilityCalculator.calculateReadingEase(content), result.getReadingEase());
+    assertEquals(ReadabilityCalculator.calculateGradeLevel(content), result.getGradeLevel());
+  }
+
+  @Test
+  void testAnalyze_withSentences() {
+    var sentences = new Document(CINDERLLA_EXCERPT).sentences();
+    var words = Tokenizer.tokenizeSentences(sentences);
+    var result = ReadabilityCalculator.analyze(sentences, words);
+
+    assertEquals(ReadabilityCalculator.calculateReadingEase(sentences, words), result.getReadingEase());
+    assertEquals(ReadabilityCalculator.calculateGradeLevel(sentences, words), result.getGradeLevel());
+  }
+
+  @Test
+  void testAnalyze_withSentencesOpeningWithPolysyllables() {
+    var content = "Beautiful flowers grow here. Wonderful gardens bloom nearby. Elegant houses stand tall.";
+    var sentences = new Document(content).sentences();
+    var result = ReadabilityCalculator.analyze(sentences, Tokenizer.tokenizeSentences(sentences));
+    var expected = ReadabilityCalculator.analyze(content);
+
+    assertEquals(expected.getSentenceCount(), result.getSentenceCount());
+    assertEquals(expected.getWordCount(), result.getWordCount());
+    assertEquals(expected.getPolysyllableCount(), result.getPolysyllableCount());
+    assertEquals(expected.getComplexWordCount(), result.getComplexWordCount());
+  }
+
   @Test
   void testCountSyllables_withNullWord() {
     String word = null;
@@ -157,4 +206,75 @@ class ReadabilityCalculatorTest {
     assertEquals(2.0, result);
   }
 
+  @Test
+  void testCalculateGunningFog_withTotals() {
+    assertEquals(8.0, ReadabilityCalculator.calculateGunningFog(10, 100, 10), 1e-9);
+  }
+
+  @Test
+  void testCalculateSmogIndex_withTotals() {
+    assertEquals(6.2581, ReadabilityCalculator.calculateSmogIndex(30, 9), 1e-9);
+    assertEquals(6.2581, ReadabilityCalculator.calculateSmogIndex(10, 3), 1e-9);
+  }
+
+  @Test
+  void testCalculateColemanLiauIndex_withTotals() {
+    assertEquals(9.18, ReadabilityCalculator.calculateColemanLiauIndex(5, 100, 450), 1e-9);
+  }
+
+  @Test
+  void testCalculateAutomatedReadabilityIndex_withTotals() {
+    assertEquals(4.765, ReadabilityCalculator.calculateAutomatedReadabilityIndex(10, 100, 450), 1e-9);
+  }
+
+  @Test
+  void testCalculateDaleChallScore_withTotals() {
+    assertEquals(1.1276, ReadabilityCalculator.calculateDaleChallScore(10, 100, 4), 1e-9);
+    // more than 5% unfamiliar words adds the adjustment
+    assertEquals(5.7115, ReadabilityCalculator.calculateDaleChallScore(10, 100, 10), 1e-9);
+  }
+
+  @Test
+  void testCountCharacters_withPunctuation() {
+    assertEquals(4, ReadabilityCalculator.countCharacters("don't"));
+    assertEquals(3, ReadabilityCalculator.countCharacters("B-52"));
+    assertEquals(0, ReadabilityCalculator.countCharacters(""));
+  }
+
+  @Test
+  void testIsComplexWord_withPolysyllables() {
+    assertTrue(ReadabilityCalculator.isComplexWord("beautiful", 3, false));
+    assertTrue(ReadabilityCalculator.isComplexWord("interesting", 4, false));
+    assertTrue(ReadabilityCalculator.isComplexWord("families", 3, false));
+    assertTrue(ReadabilityCalculator.isComplexWord("Beautiful", 3, true));
+    assertFalse(ReadabilityCalculator.isComplexWord("table", 2, false));
+  }
+
+  @Test
+  void testIsComplexWord_withExclusions() {
+    // proper noun
+    assertFalse(ReadabilityCalculator.isComplexWord("America", 4, false));
+    // hyphenated compound
+    assertFalse(ReadabilityCalculator.isComplexWord("re-evaluate", 5, false));
+    // third syllable from an inflection
+    assertFalse(ReadabilityCalculator.isComplexWord("created", 3, false));
+    assertFalse(ReadabilityCalculator.isComplexWord("computing", 3, false));
+    assertFalse(ReadabilityCalculator.isComplexWord("witnesses", 3, false));
+  }
+
+  @Test
+  void testIsAsciiLetters_withLetters() {
+    assertTrue(ReadabilityCalculator.isAsciiLetters("stepchild"));
+    assertTrue(ReadabilityCalculator.isAsciiLetters("AZaz"));
+  }
+
+  @Test
+  void testIsAsciiLetters_withNonLetters() {
+    assertFalse(ReadabilityCalculator.isAsciiLetters(""));
+    assertFalse(ReadabilityCalculator.isAsciiLetters("U.S."));
+    assertFalse(ReadabilityCalculator.isAsciiLetters("n't"));
+    assertFalse(ReadabilityCalculator.isAsciiLetters("café"));
+    assertFalse(ReadabilityCalculator.isAsciiLetters("[]"));
+  }
+
 }
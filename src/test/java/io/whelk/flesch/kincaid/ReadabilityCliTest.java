@@ -0,0 +1,103 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReadabilityCliTest {
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+  private int run(String stdin, String... args) {
+    var in = new ByteArrayInputStream(stdin.getBytes(StandardCharsets.UTF_8));
+    return ReadabilityCli.run(args, in, out, new PrintStream(err, true, StandardCharsets.UTF_8));
+  }
+
+  private List<String> lines() {
+    return Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+  }
+
+  @Test
+  void testRun_withStdinLines() {
+    var status = run("The cat sat. The dog ran.\n\nHello there.\n", "--engine", "rule-based", "--threads", "2");
+    var lines = lines();
+
+    assertEquals(ReadabilityCli.EXIT_OK, status);
+    assertEquals("id,sentences,words,syllables,reading_ease,grade_level,error", lines.get(0));
+    assertEquals(3, lines.size());
+    var byId = lines.subList(1, 3).stream().sorted().collect(Collectors.toList());
+    assertTrue(byId.get(0).startsWith("1,2,6,"), byId.get(0));
+    assertTrue(byId.get(1).startsWith("3,1,2,"), byId.get(1));
+    assertTrue(err.toString(StandardCharsets.UTF_8).contains("scored 2 documents (0 failed), 8 words"));
+  }
+
+  @Test
+  void testRun_withStdinJsonl() {
+    var stdin = "{\"id\": 42, \"body\": \"Hello there.\"}\n"
+        + "{\"id\": \"b\", \"title\": \"no body\"}\n"
+        + "not json\n";
+
+    var status = run(stdin, "--input", "jsonl", "--text-field", "body", "--format", "jsonl",
+        "--engine", "rule-based", "--threads", "1");
+    var lines = lines().stream().sorted().collect(Collectors.toList());
+
+    assertEquals(ReadabilityCli.EXIT_FAILURES, status);
+    assertEquals(3, lines.size());
+    assertTrue(lines.get(0).startsWith("{\"id\":\"3\",\"error\":"), lines.get(0));
+    assertTrue(lines.get(1).startsWith("{\"id\":\"42\",\"sentences\":1,\"words\":2,"), lines.get(1));
+    assertEquals("{\"id\":\"b\",\"error\":\"missing string field \\\"body\\\"\"}", lines.get(2));
+  }
+
+  @Test
+  void testRun_withDirectoryTree(@TempDir Path directory) throws IOException {
+    Files.createDirectories(directory.resolve("nested"));
+    Files.writeString(directory.resolve("a.txt"), "One sentence here.");
+    Files.writeString(directory.resolve("nested/b, c.txt"), "First one. Second one.");
+
+    var status = run("", "--engine", "rule-based", directory.toString());
+    var lines = lines();
+
+    assertEquals(ReadabilityCli.EXIT_OK, status);
+    assertEquals(3, lines.size());
+    assertTrue(lines.stream().anyMatch(line -> line.startsWith(directory.resolve("a.txt") + ",1,3,")));
+    assertTrue(lines.stream().anyMatch(line -> line.startsWith("\"" + directory.resolve("nested/b, c.txt") + "\",2,4,")));
+  }
+
+  @Test
+  void testRun_withMissingFile(@TempDir Path directory) {
+    var status = run("", "--engine", "rule-based", directory.resolve("missing.txt").toString());
+
+    assertEquals(ReadabilityCli.EXIT_FAILURES, status);
+    assertTrue(lines().get(1).startsWith(directory.resolve("missing.txt") + ",,,,,,"));
+  }
+
+  @Test
+  void testRun_withInvalidOptions() {
+    assertEquals(ReadabilityCli.EXIT_USAGE, run("", "--threads", "0"));
+    assertEquals(ReadabilityCli.EXIT_USAGE, run("", "--format", "xml"));
+    assertEquals(ReadabilityCli.EXIT_USAGE, run("", "--bogus"));
+    assertEquals(ReadabilityCli.EXIT_USAGE, run("", "--engine"));
+    assertTrue(err.toString(StandardCharsets.UTF_8).contains("usage:"));
+  }
+
+  @Test
+  void testRun_withHelp() {
+    assertEquals(ReadabilityCli.EXIT_OK, run("", "--help"));
+    assertEquals("", out.toString(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,130 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ReadabilityDocumentTest {
+
+  private static final ReadabilityAnalyzer RULE_BASED = ReadabilityAnalyzer.builder() //
+      .tokenizer(TokenizerEngine.ruleBased()) //
+      .build();
+
+  private static final String[] FRAGMENTS = { //
+      " ", ".", ". ", "\n\n", "word", " The end. ", "Dr. Smith", " it's ", "?! ", "hyphen-ated", "\"Quote.\" " };
+
+  @Test
+  void testToReport_withInitialText() {
+    var content = TokenizerEngineTest.corpus("cinderella");
+    var document = new ReadabilityDocument(content, RULE_BASED);
+
+    assertEquals(RULE_BASED.analyze(content), document.toReport());
+    assertEquals(content, document.getText());
+  }
+
+  @Test
+  void testToReport_withEmptyText() {
+    var document = new ReadabilityDocument(null, RULE_BASED);
+
+    assertEquals(0, document.length());
+    assertEquals(RULE_BASED.analyze(""), document.toReport());
+
+    document.insert(0, "Hello there. How are you?");
+    assertEquals(RULE_BASED.analyze("Hello there. How are you?"), document.toReport());
+
+    document.delete(0, document.length());
+    assertEquals(RULE_BASED.analyze(""), document.toReport());
+  }
+
+  @Test
+  void testInsert_withSentenceSplit() {
+    var document = new ReadabilityDocument("The cat sat on the mat and the dog sat on the rug.", RULE_BASED);
+
+    document.insert(22, ". And");
+
+    assertEquals("The cat sat on the mat. And and the dog sat on the rug.", document.getText());
+    assertEquals(2, document.toReport().getSentenceCount());
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+  }
+
+  @Test
+  void testDelete_withSentenceMerge() {
+    var document = new ReadabilityDocument("One two three. Four five six. Seven eight nine.", RULE_BASED);
+
+    document.delete(13, 14);
+
+    assertEquals(2, document.toReport().getSentenceCount());
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+  }
+
+  @Test
+  void testReplace_withMergesAndSplitsAcrossNeighbours() {
+    var content = "One two. Three four. I met Smith. He left. Five six. Seven eight. Nine ten. ".repeat(200);
+    var document = new ReadabilityDocument(content, RULE_BASED);
+    var middle = content.length() / 2;
+
+    // deleting the sentence ends inside the window merges five sentences into one
+    var merge = document.getText().indexOf("Three four.", middle);
+    document.delete(merge + "Three four".length(), merge + "Three four".length() + 1);
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+    var span = document.getText().indexOf("Five six.", merge);
+    document.replace(merge, span + "Five six.".length(), "Three four five six seven.");
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+
+    // an abbreviation joins a sentence to the one after it
+    var abbreviation = document.getText().indexOf("I met Smith.", middle);
+    document.insert(abbreviation + "I met Smith".length(), " and Dr");
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+
+    // one insertion splits a sentence into many
+    var split = document.getText().indexOf("Seven eight.", middle) + "Seven".length();
+    document.insert(split, ". A b. C d. E f. G");
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+
+    // edits at both ends of the document
+    document.insert(0, "Start here. ");
+    document.delete(document.length() - "Nine ten. ".length(), document.length());
+    document.insert(document.length(), "The end");
+    assertEquals(RULE_BASED.analyze(document.getText()), document.toReport());
+  }
+
+  @Test
+  void testReplace_withRandomEdits() {
+    var random = new Random(42);
+    var document = new ReadabilityDocument(TokenizerEngineTest.corpus("dialogue"), RULE_BASED);
+
+    for (int i = 0; i < 500; i++) {
+      var start = random.nextInt(document.length() + 1);
+      var end = Math.min(document.length(), start + random.nextInt(12));
+      var fragment = random.nextBoolean() ? FRAGMENTS[random.nextInt(FRAGMENTS.length)] : "";
+
+      document.replace(start, end, fragment);
+
+      assertEquals(RULE_BASED.analyze(document.getText()), document.toReport(), "edit " + i);
+    }
+  }
+
+  @Test
+  void testReplace_withCoreNlp() {
+    var document = new ReadabilityDocument(TokenizerEngineTest.corpus("gettysburg"));
+    var offset = document.getText().indexOf("Now we are");
+
+    document.insert(offset, "This is new. ");
+    assertEquals(ReadabilityAnalyzer.defaultAnalyzer().analyze(document.getText()), document.toReport());
+
+    document.delete(offset, offset + "This is new. ".length());
+    assertEquals(ReadabilityAnalyzer.defaultAnalyzer().analyze(document.getText()), document.toReport());
+  }
+
+  @Test
+  void testReplace_withOutOfBounds() {
+    var document = new ReadabilityDocument("Short text.", RULE_BASED);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> document.replace(5, 20, "x"));
+    assertThrows(IndexOutOfBoundsException.class, () -> document.delete(4, 2));
+  }
+
+}
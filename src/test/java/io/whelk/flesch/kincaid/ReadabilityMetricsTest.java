@@ -0,0 +1,112 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.whelk.flesch.kincaid.ReadabilityMetrics.Stage;
+
+class ReadabilityMetricsTest {
+
+  static class RecordingMetrics implements ReadabilityMetrics {
+
+    final Map<Stage, AtomicLong> calls = new EnumMap<>(Stage.class);
+    final Map<Stage, AtomicLong> nanos = new EnumMap<>(Stage.class);
+    final AtomicLong documents = new AtomicLong();
+    final AtomicLong sentences = new AtomicLong();
+    final AtomicLong words = new AtomicLong();
+
+    RecordingMetrics() {
+      for (var stage : Stage.values()) {
+        calls.put(stage, new AtomicLong());
+        nanos.put(stage, new AtomicLong());
+      }
+    }
+
+    @Override
+    public void recordLatency(Stage stage, long nanos) {
+      calls.get(stage).incrementAndGet();
+      this.nanos.get(stage).addAndGet(nanos);
+    }
+
+    @Override
+    public void recordDocument() {
+      documents.incrementAndGet();
+    }
+
+    @Override
+    public void recordTokens(long sentences, long words) {
+      this.sentences.addAndGet(sentences);
+      this.words.addAndGet(words);
+    }
+
+  }
+
+  @Test
+  void testNoop_withDisabled() {
+    assertFalse(ReadabilityMetrics.noop().isEnabled());
+    assertSame(ReadabilityMetrics.noop(), ReadabilityAnalyzer.defaultAnalyzer().getMetrics());
+  }
+
+  @Test
+  void testAnalyze_withCoreNlpStages() {
+    var metrics = new RecordingMetrics();
+    var analyzer = ReadabilityAnalyzer.builder().metrics(metrics).build();
+    var content = TokenizerEngineTest.corpus("gettysburg");
+
+    var report = analyzer.analyze(content);
+
+    assertEquals(ReadabilityAnalyzer.defaultAnalyzer().analyze(content), report);
+    for (var stage : Stage.values()) {
+      assertEquals(1, metrics.calls.get(stage).get(), stage.tag());
+      assertTrue(metrics.nanos.get(stage).get() > 0, stage.tag());
+    }
+    assertEquals(1, metrics.documents.get());
+    assertEquals(report.getSentenceCount(), metrics.sentences.get());
+    assertEquals(report.getWordCount(), metrics.words.get());
+  }
+
+  @Test
+  void testAnalyze_withRuleBasedStages() {
+    var metrics = new RecordingMetrics();
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .metrics(metrics) //
+        .build();
+
+    analyzer.analyze("The cat sat. The dog ran.");
+    analyzer.analyze("Another document.");
+
+    assertEquals(2, metrics.calls.get(Stage.SENTENCE_SPLITTING).get());
+    assertEquals(2, metrics.calls.get(Stage.SYLLABLE_COUNTING).get());
+    assertEquals(0, metrics.calls.get(Stage.POS_TAGGING).get());
+    assertEquals(2, metrics.documents.get());
+    assertEquals(3, metrics.sentences.get());
+    assertEquals(8, metrics.words.get());
+  }
+
+  @Test
+  void testAnalyze_withCachedDocument() {
+    var metrics = new RecordingMetrics();
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .resultCache(ResultCache.builder().build()) //
+        .metrics(metrics) //
+        .build();
+
+    analyzer.analyze("The cat sat.");
+    analyzer.analyze("The cat sat.");
+
+    assertEquals(2, metrics.documents.get());
+    assertEquals(1, metrics.calls.get(Stage.SYLLABLE_COUNTING).get());
+    assertEquals(3, metrics.words.get());
+  }
+
+}
@@ -0,0 +1,336 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class ReadabilityProcessorTest {
+
+  private final ReadabilityAnalyzer analyzer = ReadabilityAnalyzer.builder() //
+      .tokenizer((content, visitor) -> {
+        if (content.startsWith("boom"))
+          throw new IllegalStateException("boom");
+        TokenizerEngine.ruleBased().tokenize(content, visitor);
+      }) //
+      .build();
+
+  /** documents of distinct lengths so that each result is identifiable by word count */
+  static List<String> documents(int count) {
+    var documents = new ArrayList<String>();
+    for (int i = 1; i <= count; i++)
+      documents.add("word ".repeat(i).trim() + ".");
+    return documents;
+  }
+
+  static final class CollectingSubscriber implements Flow.Subscriber<ReadabilityResult> {
+
+    final List<ReadabilityResult> results = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch done = new CountDownLatch(1);
+    final long initialRequest;
+    volatile Flow.Subscription subscription;
+    volatile Throwable error;
+
+    CollectingSubscriber(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0)
+        subscription.request(initialRequest);
+    }
+
+    @Override
+    public void onNext(ReadabilityResult item) {
+      results.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+
+  }
+
+  /** publisher that emits only when told to and records upstream demand */
+  static final class ManualPublisher implements Flow.Publisher<String> {
+
+    Flow.Subscriber<? super String> subscriber;
+    long requested;
+    boolean cancelled;
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+      this.subscriber = subscriber;
+      subscriber.onSubscribe(new Flow.Subscription() {
+
+        @Override
+        public void request(long n) {
+          requested += n;
+        }
+
+        @Override
+        public void cancel() {
+          cancelled = true;
+        }
+
+      });
+    }
+
+    void emit(int count) {
+      for (var document : documents(count))
+        subscriber.onNext(document);
+    }
+
+  }
+
+  List<Long> wordCounts(List<ReadabilityResult> results) {
+    return results.stream().map(result -> result.getReport().getWordCount()).collect(Collectors.toList());
+  }
+
+  @Test
+  void testProcess_withOrderedOutput() throws Exception {
+    var executor = Executors.newFixedThreadPool(4);
+    var publisher = new SubmissionPublisher<String>();
+    try {
+      var processor = ReadabilityProcessor.builder() //
+          .analyzer(analyzer) //
+          .executor(executor) //
+          .parallelism(4) //
+          .batchSize(3) //
+          .ordered(true) //
+          .build();
+      var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+      publisher.subscribe(processor);
+      processor.subscribe(subscriber);
+
+      var documents = documents(200);
+      Collections.shuffle(documents);
+      documents.forEach(publisher::submit);
+      publisher.close();
+
+      assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+      assertNull(subscriber.error);
+      assertEquals(documents.stream().map(document -> analyzer.analyze(document).getWordCount())
+          .collect(Collectors.toList()), wordCounts(subscriber.results));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testProcess_withUnorderedOutput() throws Exception {
+    var executor = Executors.newFixedThreadPool(4);
+    var publisher = new SubmissionPublisher<String>();
+    try {
+      var processor = ReadabilityProcessor.builder() //
+          .analyzer(analyzer) //
+          .executor(executor) //
+          .parallelism(4) //
+          .batchSize(5) //
+          .build();
+      var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+      publisher.subscribe(processor);
+      processor.subscribe(subscriber);
+      documents(300).forEach(publisher::submit);
+      publisher.close();
+
+      assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+      assertNull(subscriber.error);
+      assertEquals(300, subscriber.results.size());
+      assertEquals(300, new HashSet<>(wordCounts(subscriber.results)).size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testProcess_withBurstSpreadOverTasks() throws Exception {
+    var started = new CountDownLatch(4);
+    var concurrent = ReadabilityAnalyzer.builder() //
+        .tokenizer((content, visitor) -> {
+          started.countDown();
+          try {
+            started.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          TokenizerEngine.ruleBased().tokenize(content, visitor);
+        }) //
+        .build();
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var processor = ReadabilityProcessor.builder() //
+          .analyzer(concurrent) //
+          .executor(executor) //
+          .parallelism(4) //
+          .batchSize(16) //
+          .build();
+      var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+      // the whole burst arrives inside the first upstream request, so it is buffered before any task starts
+      Flow.Publisher<String> publisher = target -> target.onSubscribe(new Flow.Subscription() {
+
+        @Override
+        public void request(long n) {
+          documents(8).forEach(target::onNext);
+          target.onComplete();
+        }
+
+        @Override
+        public void cancel() {}
+
+      });
+      publisher.subscribe(processor);
+      processor.subscribe(subscriber);
+
+      assertTrue(started.await(5, TimeUnit.SECONDS), "burst of 8 scored by a single task");
+      assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+      assertEquals(8, subscriber.results.size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testProcess_withBoundedUpstreamDemand() {
+    var publisher = new ManualPublisher();
+    var processor = ReadabilityProcessor.builder() //
+        .analyzer(analyzer) //
+        .executor(Runnable::run) //
+        .parallelism(2) //
+        .batchSize(4) //
+        .build();
+    var subscriber = new CollectingSubscriber(0);
+
+    publisher.subscribe(processor);
+    processor.subscribe(subscriber);
+    assertEquals(16, publisher.requested);
+
+    // scored but undelivered results still count against the window
+    publisher.emit(16);
+    assertEquals(16, publisher.requested);
+    assertTrue(subscriber.results.isEmpty());
+
+    subscriber.subscription.request(4);
+    assertEquals(4, subscriber.results.size());
+    assertEquals(16, publisher.requested);
+
+    // replenished once half the window drains
+    subscriber.subscription.request(4);
+    assertEquals(8, subscriber.results.size());
+    assertEquals(24, publisher.requested);
+  }
+
+  @Test
+  void testProcess_withFailedDocument() throws Exception {
+    var publisher = new ManualPublisher();
+    var processor = ReadabilityProcessor.builder().analyzer(analyzer).executor(Runnable::run).build();
+    var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+    publisher.subscribe(processor);
+    processor.subscribe(subscriber);
+    publisher.subscriber.onNext("One two.");
+    publisher.subscriber.onNext("boom goes the document.");
+    publisher.subscriber.onNext("Three.");
+    publisher.subscriber.onComplete();
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertNull(subscriber.error);
+    assertEquals(3, subscriber.results.size());
+    assertFalse(subscriber.results.get(1).isSuccess());
+    assertInstanceOf(IllegalStateException.class, subscriber.results.get(1).getError());
+    assertEquals(1, subscriber.results.get(2).getReport().getWordCount());
+  }
+
+  @Test
+  void testProcess_withUpstreamError() throws Exception {
+    var publisher = new ManualPublisher();
+    var processor = ReadabilityProcessor.builder().analyzer(analyzer).executor(Runnable::run).build();
+    var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+    publisher.subscribe(processor);
+    processor.subscribe(subscriber);
+    publisher.subscriber.onError(new IllegalStateException("upstream"));
+
+    assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+    assertEquals("upstream", subscriber.error.getMessage());
+  }
+
+  @Test
+  void testProcess_withCancel() {
+    var publisher = new ManualPublisher();
+    var processor = ReadabilityProcessor.builder().analyzer(analyzer).executor(Runnable::run).build();
+    var subscriber = new CollectingSubscriber(1);
+
+    publisher.subscribe(processor);
+    processor.subscribe(subscriber);
+    publisher.emit(3);
+    subscriber.subscription.cancel();
+
+    assertTrue(publisher.cancelled);
+    assertEquals(1, subscriber.results.size());
+  }
+
+  @Test
+  void testProcess_withNonPositiveRequest() {
+    var publisher = new ManualPublisher();
+    var processor = ReadabilityProcessor.builder().analyzer(analyzer).executor(Runnable::run).build();
+    var subscriber = new CollectingSubscriber(0);
+
+    publisher.subscribe(processor);
+    processor.subscribe(subscriber);
+    var requested = publisher.requested;
+    subscriber.subscription.request(0);
+
+    assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+    assertTrue(publisher.cancelled);
+
+    // documents already in flight upstream are dropped and no more are requested
+    publisher.emit(3);
+    assertEquals(requested, publisher.requested);
+    assertTrue(subscriber.results.isEmpty());
+  }
+
+  @Test
+  void testSubscribe_withSecondSubscriber() {
+    var processor = ReadabilityProcessor.builder().analyzer(analyzer).build();
+    processor.subscribe(new CollectingSubscriber(0));
+
+    var second = new CollectingSubscriber(0);
+    processor.subscribe(second);
+
+    assertInstanceOf(IllegalStateException.class, second.error);
+  }
+
+  @Test
+  void testBuilder_withNegativeParallelism() {
+    assertThrows(IllegalArgumentException.class, () -> ReadabilityProcessor.builder().parallelism(-1).build());
+  }
+
+}
@@ -0,0 +1,95 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReadabilityProfileTest {
+
+  private static final String PARAGRAPHS = "The cat sat on the mat. It was warm.\n\n"
+      + "Then the dog came in. It barked loudly.\n  \nEveryone left.";
+
+  @Test
+  void testTotal_withCinderella() {
+    var sentences = Tokenizer.tokenizeContent(TokenizerEngineTest.corpus("cinderella"));
+    var profile = ReadabilityProfile.of(sentences);
+
+    assertEquals(ReadabilityCalculator.analyze(sentences, Tokenizer.tokenizeSentences(sentences)), profile.total());
+  }
+
+  @Test
+  void testSentence_withPerSentenceCounts() {
+    var sentences = Tokenizer.tokenizeContent(PARAGRAPHS);
+    var profile = ReadabilityProfile.of(sentences, word -> 1);
+
+    assertEquals(5, profile.sentenceCount());
+    for (int i = 0; i < sentences.size(); i++) {
+      var words = Tokenizer.tokenizeSentences(List.of(sentences.get(i))).size();
+      var report = profile.sentence(i);
+      assertEquals(1, report.getSentenceCount());
+      assertEquals(words, report.getWordCount());
+      assertEquals(words, report.getSyllableCount());
+    }
+  }
+
+  @Test
+  void testWindows_withSlidingRanges() {
+    var profile = ReadabilityProfile.of(Tokenizer.tokenizeContent(PARAGRAPHS), word -> 1);
+    var windows = profile.windows(2);
+
+    assertEquals(4, windows.size());
+    for (int i = 0; i < windows.size(); i++) {
+      assertEquals(2, windows.get(i).getSentenceCount());
+      assertEquals(profile.sentence(i).getWordCount() + profile.sentence(i + 1).getWordCount(),
+          windows.get(i).getWordCount());
+    }
+  }
+
+  @Test
+  void testWindows_withWindowLargerThanDocument() {
+    var profile = ReadabilityProfile.of(Tokenizer.tokenizeContent(PARAGRAPHS), word -> 1);
+
+    assertEquals(List.of(profile.total()), profile.windows(50));
+  }
+
+  @Test
+  void testWindows_withInvalidSize() {
+    var profile = ReadabilityProfile.of(Tokenizer.tokenizeContent(PARAGRAPHS), word -> 1);
+
+    assertThrows(IllegalArgumentException.class, () -> profile.windows(0));
+  }
+
+  @Test
+  void testParagraphs_withBlankLines() {
+    var profile = ReadabilityProfile.of(Tokenizer.tokenizeContent(PARAGRAPHS), word -> 1);
+    var paragraphs = profile.paragraphs();
+
+    assertEquals(3, paragraphs.size());
+    assertEquals(List.of(2L, 2L, 1L), List.of(paragraphs.get(0).getSentenceCount(),
+        paragraphs.get(1).getSentenceCount(), paragraphs.get(2).getSentenceCount()));
+    assertEquals(profile.total().getWordCount(),
+        paragraphs.stream().mapToLong(ReadabilityReport::getWordCount).sum());
+  }
+
+  @Test
+  void testOf_withNullSentences() {
+    var profile = ReadabilityProfile.of(null);
+
+    assertEquals(0, profile.sentenceCount());
+    assertEquals(0, profile.paragraphCount());
+    assertTrue(profile.windows(3).isEmpty());
+  }
+
+  @Test
+  void testRange_withOutOfBounds() {
+    var profile = ReadabilityProfile.of(Tokenizer.tokenizeContent(PARAGRAPHS), word -> 1);
+
+    assertThrows(IndexOutOfBoundsException.class, () -> profile.range(3, 6));
+    assertThrows(IndexOutOfBoundsException.class, () -> profile.range(2, 1));
+  }
+
+}
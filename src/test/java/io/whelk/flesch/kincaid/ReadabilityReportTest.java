@@ -0,0 +1,77 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+class ReadabilityReportTest {
+
+  @Test
+  void testGetReadingEase_withTotals() {
+    var report = ReadabilityReport.builder() //
+        .sentenceCount(1) //
+        .wordCount(9) //
+        .syllableCount(10) //
+        .build();
+
+    assertEquals(103.70000000000002, report.getReadingEase());
+  }
+
+  @Test
+  void testGetGradeLevel_withTotals() {
+    var report = ReadabilityReport.builder() //
+        .sentenceCount(1) //
+        .wordCount(9) //
+        .syllableCount(10) //
+        .build();
+
+    assertEquals(1.0311111111111124, report.getGradeLevel());
+  }
+
+  @Test
+  void testGetReadingEase_withNoWords() {
+    var report = ReadabilityReport.builder().build();
+
+    assertEquals(Double.NaN, report.getReadingEase());
+    assertEquals(Double.NaN, report.getGradeLevel());
+  }
+
+  @Test
+  void testGetDaleChallScore_withUncountedWords() {
+    var report = ReadabilityReport.builder() //
+        .sentenceCount(1) //
+        .wordCount(9) //
+        .syllableCount(10) //
+        .build();
+
+    assertEquals(ReadabilityReport.UNCOUNTED, report.getUnfamiliarWordCount());
+    assertEquals(Double.NaN, report.getDaleChallScore());
+  }
+
+  @Test
+  void testScores_withAllFormulas() {
+    var report = ReadabilityReport.builder() //
+        .sentenceCount(10) //
+        .wordCount(100) //
+        .syllableCount(140) //
+        .characterCount(450) //
+        .polysyllableCount(12) //
+        .complexWordCount(10) //
+        .unfamiliarWordCount(4) //
+        .build();
+
+    var scores = report.scores(EnumSet.allOf(ReadabilityFormula.class));
+
+    assertEquals(ReadabilityFormula.values().length, scores.size());
+    assertEquals(report.getReadingEase(), scores.get(ReadabilityFormula.FLESCH_READING_EASE));
+    assertEquals(report.getGradeLevel(), scores.get(ReadabilityFormula.FLESCH_KINCAID_GRADE_LEVEL));
+    assertEquals(8.0, scores.get(ReadabilityFormula.GUNNING_FOG), 1e-9);
+    assertEquals(report.getSmogIndex(), report.score(ReadabilityFormula.SMOG));
+    assertEquals(report.getColemanLiauIndex(), scores.get(ReadabilityFormula.COLEMAN_LIAU));
+    assertEquals(4.765, scores.get(ReadabilityFormula.AUTOMATED_READABILITY_INDEX), 1e-9);
+    assertEquals(1.1276, scores.get(ReadabilityFormula.DALE_CHALL), 1e-9);
+  }
+
+}
@@ -0,0 +1,233 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReadabilityServerTest {
+
+  static final String CONTENT = "The cat sat on the mat. The dog ran in the park.";
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final ReadabilityAnalyzer analyzer = ReadabilityAnalyzer.builder() //
+      .tokenizer(TokenizerEngine.ruleBased()) //
+      .build();
+
+  private ReadabilityServer server;
+
+  @AfterEach
+  void close() {
+    if (server != null)
+      server.close();
+  }
+
+  ReadabilityServer start(ReadabilityServer.ReadabilityServerBuilder builder) throws IOException {
+    server = builder.port(0).build().start();
+    return server;
+  }
+
+  URI uri(String path) {
+    return URI.create("http://localhost:" + server.getPort() + path);
+  }
+
+  HttpResponse<String> post(String path, String contentType, String body) throws Exception {
+    return postAsync(path, contentType, body).get(10, TimeUnit.SECONDS);
+  }
+
+  CompletableFuture<HttpResponse<String>> postAsync(String path, String contentType, String body) {
+    var request = HttpRequest.newBuilder(uri(path)) //
+        .header("Content-Type", contentType) //
+        .POST(HttpRequest.BodyPublishers.ofString(body)) //
+        .build();
+    return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  HttpResponse<String> get(String path) throws Exception {
+    return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Test
+  void testScore_withJsonDocument() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1));
+
+    var response = post(ReadabilityServer.SCORE_PATH, "application/json", "{\"id\": 7, \"text\": \"" + CONTENT + "\"}");
+    var expected = analyzer.analyze(CONTENT);
+    var body = Json.parseObject(response.body());
+
+    assertEquals(200, response.statusCode());
+    assertEquals("7", body.get("id"));
+    assertEquals((double) expected.getSentenceCount(), body.get("sentences"));
+    assertEquals((double) expected.getWordCount(), body.get("words"));
+    assertEquals((double) expected.getSyllableCount(), body.get("syllables"));
+    assertEquals(expected.getReadingEase(), (Double) body.get("readingEase"), 1e-9);
+    assertEquals(expected.getGradeLevel(), (Double) body.get("gradeLevel"), 1e-9);
+  }
+
+  @Test
+  void testScore_withPlainText() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1));
+
+    var response = post(ReadabilityServer.SCORE_PATH, "text/plain", CONTENT);
+
+    assertEquals(200, response.statusCode());
+    assertEquals((double) analyzer.analyze(CONTENT).getWordCount(), Json.parseObject(response.body()).get("words"));
+  }
+
+  @Test
+  void testScore_withLanguage() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1));
+
+    var content = "Der Hund läuft über die Straße. Das Mädchen spielt im Garten.";
+    var response = post(ReadabilityServer.SCORE_PATH, "application/json",
+        "{\"text\": \"" + content + "\", \"language\": \"de-AT\"}");
+    var body = Json.parseObject(response.body());
+    var german = LanguageProfile.forLanguage("de");
+
+    assertEquals(200, response.statusCode());
+    assertEquals("de", body.get("language"));
+    assertEquals(german.readingEase(content), (Double) body.get("readingEase"), 1e-9);
+    assertEquals(null, body.get("gradeLevel"));
+  }
+
+  @Test
+  void testScore_withInvalidRequests() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1).maxRequestBytes(64));
+
+    assertEquals(400, post(ReadabilityServer.SCORE_PATH, "application/json", "{\"text\":").statusCode());
+    assertEquals(400, post(ReadabilityServer.SCORE_PATH, "application/json", "{\"body\": \"x\"}").statusCode());
+    assertEquals(400,
+        post(ReadabilityServer.SCORE_PATH, "application/json", "{\"text\": \"x\", \"language\": \"tlh\"}").statusCode());
+    assertEquals(413, post(ReadabilityServer.SCORE_PATH, "text/plain", "word ".repeat(20)).statusCode());
+    assertEquals(405, get(ReadabilityServer.SCORE_PATH).statusCode());
+    assertEquals(404, get(ReadabilityServer.SCORE_PATH + "/unknown").statusCode());
+  }
+
+  @Test
+  void testScore_withDeeplyNestedJson() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1));
+
+    var response = post(ReadabilityServer.SCORE_PATH, "application/json", "[".repeat(500_000));
+    var batch = post(ReadabilityServer.BATCH_PATH, "application/json", "[{\"text\": " + "[".repeat(500_000));
+
+    assertEquals(400, response.statusCode());
+    assertTrue(response.body().contains("nesting deeper than " + Json.MAX_DEPTH), response.body());
+    assertEquals(400, batch.statusCode());
+  }
+
+  @Test
+  void testScoreBatch_withMixedDocuments() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(2).batchSize(2));
+
+    var response = post(ReadabilityServer.BATCH_PATH, "application/json",
+        "[\"" + CONTENT + "\", {\"id\": \"b\", \"text\": \"One. Two.\"}, {\"id\": \"c\", \"text\": \"\"}]");
+    var results = (List<?>) Json.parse(response.body());
+
+    assertEquals(200, response.statusCode());
+    assertEquals(3, results.size());
+    assertEquals((double) analyzer.analyze(CONTENT).getWordCount(), ((Map<?, ?>) results.get(0)).get("words"));
+    assertEquals("b", ((Map<?, ?>) results.get(1)).get("id"));
+    assertEquals(2.0, ((Map<?, ?>) results.get(1)).get("sentences"));
+    assertEquals("c", ((Map<?, ?>) results.get(2)).get("id"));
+  }
+
+  @Test
+  void testScoreBatch_withInvalidRequests() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1).queueCapacity(2));
+
+    assertEquals(400, post(ReadabilityServer.BATCH_PATH, "application/json", "{\"text\": \"x\"}").statusCode());
+    assertEquals(400, post(ReadabilityServer.BATCH_PATH, "application/json", "[1]").statusCode());
+    assertEquals(413, post(ReadabilityServer.BATCH_PATH, "application/json", "[\"a\", \"b\", \"c\"]").statusCode());
+    assertEquals("[]", post(ReadabilityServer.BATCH_PATH, "application/json", "[]").body());
+  }
+
+  @Test
+  void testScore_withSaturatedQueue() throws Exception {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var blocking = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .syllableCounter(word -> {
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return 1;
+        }) //
+        .build();
+
+    start(ReadabilityServer.builder().analyzer(blocking).threads(1).queueCapacity(1));
+
+    var first = postAsync(ReadabilityServer.SCORE_PATH, "text/plain", "One.");
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    var second = postAsync(ReadabilityServer.SCORE_PATH, "text/plain", "Two.");
+    while (server.getQueuedCount() == 0)
+      Thread.sleep(1);
+
+    var shed = post(ReadabilityServer.SCORE_PATH, "text/plain", "Three.");
+    assertEquals(503, shed.statusCode());
+    assertEquals("1", shed.headers().firstValue("Retry-After").orElse(null));
+    assertEquals(503, post(ReadabilityServer.BATCH_PATH, "application/json", "[\"Four.\"]").statusCode());
+
+    release.countDown();
+    assertEquals(200, first.get(10, TimeUnit.SECONDS).statusCode());
+    assertEquals(200, second.get(10, TimeUnit.SECONDS).statusCode());
+
+    var metrics = get(ReadabilityServer.METRICS_PATH).body();
+    assertTrue(metrics.contains("readability_rejected_total 2\n"), metrics);
+    assertTrue(metrics.contains("readability_documents_total 2\n"), metrics);
+    assertTrue(metrics.contains("readability_request_duration_seconds_count 2\n"), metrics);
+  }
+
+  @Test
+  void testMetrics_withQueueDrains() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1).batchSize(4));
+
+    post(ReadabilityServer.BATCH_PATH, "application/json", "[\"a.\", \"b.\", \"c.\", \"d.\", \"e.\"]");
+    var response = get(ReadabilityServer.METRICS_PATH);
+
+    assertEquals(200, response.statusCode());
+    assertTrue(response.body().contains("readability_batch_requests_total 1\n"));
+    assertTrue(response.body().contains("readability_queue_drained_documents_total 5\n"));
+    assertTrue(response.body().contains("readability_request_duration_seconds_bucket{le=\"+Inf\"} 1\n"));
+    assertEquals("ok", get(ReadabilityServer.HEALTH_PATH).body());
+  }
+
+  @Test
+  void testStart_withInvalidState() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1));
+
+    assertEquals("server already started", assertThrows(IllegalStateException.class, server::start).getMessage());
+    assertThrows(IllegalStateException.class, () -> ReadabilityServer.builder().build().getPort());
+    assertThrows(IllegalArgumentException.class, () -> ReadabilityServer.builder().threads(-1).build());
+  }
+
+  @Test
+  void testClose_withRejectedRequests() throws Exception {
+    start(ReadabilityServer.builder().analyzer(analyzer).threads(1));
+    var uri = uri(ReadabilityServer.HEALTH_PATH);
+
+    server.close();
+
+    assertThrows(IOException.class,
+        () -> client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+    assertEquals("server closed", assertThrows(IllegalStateException.class, server::start).getMessage());
+  }
+
+}
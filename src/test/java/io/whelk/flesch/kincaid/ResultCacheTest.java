@@ -0,0 +1,276 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultCacheTest {
+
+  private static final ContentHash SCOPE = ContentHash.of("scope");
+
+  private static final ReadabilityReport REPORT = ReadabilityReport.builder() //
+      .sentenceCount(2) //
+      .wordCount(11) //
+      .syllableCount(14) //
+      .characterCount(52) //
+      .polysyllableCount(2) //
+      .complexWordCount(1) //
+      .unfamiliarWordCount(3) //
+      .build();
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private final Function<String, ReadabilityReport> loader = content -> {
+    loads.incrementAndGet();
+    return REPORT;
+  };
+
+  @Test
+  void testGet_withRepeatedContent() {
+    var cache = ResultCache.builder().build();
+
+    assertSame(REPORT, cache.get(SCOPE, "Hello there. How are you?", loader));
+    assertSame(REPORT, cache.get(SCOPE, "Hello there. How are you?", loader));
+    assertSame(REPORT, cache.get(SCOPE, "Hello there. How are you?", loader));
+
+    assertEquals(1, loads.get());
+    var stats = cache.stats();
+    assertEquals(2, stats.getHitCount());
+    assertEquals(1, stats.getMissCount());
+    assertEquals(1, stats.getSize());
+    assertEquals(2.0 / 3, stats.getHitRate());
+  }
+
+  @Test
+  void testGet_withMaximumSize() {
+    var cache = ResultCache.builder().maximumSize(4).concurrencyLevel(1).build();
+
+    for (int i = 0; i < 10; i++)
+      cache.get(SCOPE, "document " + i, loader);
+
+    assertEquals(4, cache.size());
+    assertEquals(6, cache.stats().getEvictionCount());
+  }
+
+  @Test
+  void testGet_withExpireAfterWrite() {
+    var now = new AtomicLong();
+    var cache = new ResultCache(0, Duration.ofMinutes(5), null, 0, now::get);
+
+    cache.get(SCOPE, "content", loader);
+    now.addAndGet(TimeUnit.MINUTES.toMillis(4));
+    cache.get(SCOPE, "content", loader);
+    assertEquals(1, loads.get());
+
+    now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+    cache.get(SCOPE, "content", loader);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testGet_withDirectoryStore(@TempDir Path directory) {
+    var first = ResultCache.builder().store(ResultStore.directory(directory)).build();
+    first.get(SCOPE, "persisted content", loader);
+
+    var restarted = ResultCache.builder().store(ResultStore.directory(directory)).build();
+    assertEquals(REPORT, restarted.get(SCOPE, "persisted content", loader));
+
+    assertEquals(1, loads.get());
+    assertEquals(1, restarted.stats().getStoreHitCount());
+    assertEquals(0, restarted.stats().getMissCount());
+  }
+
+  @Test
+  void testGet_withExpireAfterWriteAndStore(@TempDir Path directory) {
+    var now = new AtomicLong(1_000_000);
+    var ttl = Duration.ofMinutes(5);
+    new ResultCache(0, ttl, ResultStore.directory(directory), 0, now::get).get(SCOPE, "content", loader);
+
+    now.addAndGet(TimeUnit.MINUTES.toMillis(4));
+    var restarted = new ResultCache(0, ttl, ResultStore.directory(directory), 0, now::get);
+    restarted.get(SCOPE, "content", loader);
+    assertEquals(1, loads.get());
+    assertEquals(1, restarted.stats().getStoreHitCount());
+
+    // the stored write time carries over, so the entry expires on its original schedule
+    now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+    restarted.get(SCOPE, "content", loader);
+    assertEquals(2, loads.get());
+
+    var again = new ResultCache(0, ttl, ResultStore.directory(directory), 0, now::get);
+    again.get(SCOPE, "content", loader);
+    assertEquals(2, loads.get());
+    assertEquals(1, again.stats().getStoreHitCount());
+
+    now.addAndGet(TimeUnit.MINUTES.toMillis(5));
+    var expired = new ResultCache(0, ttl, ResultStore.directory(directory), 0, now::get);
+    expired.get(SCOPE, "content", loader);
+    assertEquals(3, loads.get());
+    assertEquals(0, expired.stats().getStoreHitCount());
+    assertEquals(1, expired.stats().getMissCount());
+  }
+
+  @Test
+  void testGet_withScopes(@TempDir Path directory) {
+    var cache = ResultCache.builder().store(ResultStore.directory(directory)).build();
+    var other = ContentHash.of("other scope");
+
+    cache.get(SCOPE, "content", loader);
+    cache.get(other, "content", loader);
+    cache.get(SCOPE, "content", loader);
+
+    assertEquals(2, loads.get());
+    assertEquals(1, cache.stats().getHitCount());
+    assertEquals(2, cache.stats().getSize());
+  }
+
+  @Test
+  void testGet_withCorruptStoreFile(@TempDir Path directory) throws IOException {
+    var hex = ContentHash.of("content").scoped(SCOPE).toString();
+    Files.createDirectories(directory.resolve(hex.substring(0, 2)));
+    Files.writeString(directory.resolve(hex.substring(0, 2)).resolve(hex), "3 x");
+
+    var cache = ResultCache.builder().store(ResultStore.directory(directory)).build();
+
+    assertEquals(REPORT, cache.get(SCOPE, "content", loader));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testGet_withShortStoreFile(@TempDir Path directory) throws IOException {
+    var hex = ContentHash.of("content").scoped(SCOPE).toString();
+    Files.createDirectories(directory.resolve(hex.substring(0, 2)));
+    Files.writeString(directory.resolve(hex.substring(0, 2)).resolve(hex), "2 11 14 52 2 1 3\n");
+
+    var cache = ResultCache.builder().store(ResultStore.directory(directory)).build();
+
+    assertEquals(REPORT, cache.get(SCOPE, "content", loader));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testGet_withFailingStore() {
+    var cache = ResultCache.builder().store(new ResultStore() {
+
+      @Override
+      public ResultStore.StoredReport load(ContentHash hash) {
+        throw new UncheckedIOException(new IOException("disk gone"));
+      }
+
+      @Override
+      public void save(ContentHash hash, ResultStore.StoredReport report) {
+        throw new UncheckedIOException(new IOException("disk gone"));
+      }
+
+    }).build();
+
+    assertEquals(REPORT, cache.get(SCOPE, "content", loader));
+    assertEquals(2, cache.stats().getStoreFailureCount());
+  }
+
+  @Test
+  void testBuilder_withInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> ResultCache.builder().maximumSize(-1).build());
+    assertThrows(IllegalArgumentException.class, () -> ResultCache.builder().expireAfterWrite(Duration.ZERO).build());
+  }
+
+  @Test
+  void testFromProperties() {
+    var properties = new Properties();
+    assertNull(ResultCache.fromProperties(properties));
+
+    properties.setProperty(ResultCache.MAXIMUM_SIZE_PROPERTY, "1");
+    properties.setProperty(ResultCache.EXPIRE_AFTER_WRITE_PROPERTY, "PT1H");
+    var cache = ResultCache.fromProperties(properties);
+    for (int i = 0; i < 3; i++)
+      cache.get(SCOPE, "document " + i, loader);
+    assertEquals(1, cache.stats().getSize());
+
+    properties.setProperty(ResultCache.EXPIRE_AFTER_WRITE_PROPERTY, "6 hours");
+    assertThrows(IllegalArgumentException.class, () -> ResultCache.fromProperties(properties));
+  }
+
+  @Test
+  void testAnalyze_withSharedCacheAndStore(@TempDir Path directory) {
+    var cache = ResultCache.builder().store(ResultStore.directory(directory)).build();
+    var ruleBased = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .resultCache(cache) //
+        .build();
+    var vowelGroups = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .syllableCounter(SyllableCounter.vowelGroups("aeiou")) //
+        .resultCache(cache) //
+        .build();
+    var content = "Rhythm and rhyme sound lovely.";
+
+    assertEquals(ruleBased.accumulator().add(content).toReport(), ruleBased.analyze(content));
+    assertEquals(vowelGroups.accumulator().add(content).toReport(), vowelGroups.analyze(content));
+    assertEquals(0, cache.stats().getHitCount() + cache.stats().getStoreHitCount());
+
+    var restarted = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .resultCache(ResultCache.builder().store(ResultStore.directory(directory)).build()) //
+        .build();
+    restarted.analyze(content);
+    assertEquals(1, restarted.getResultCache().stats().getStoreHitCount());
+  }
+
+  @Test
+  void testFingerprint_withConfigurations() {
+    var ruleBased = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var sameRuleBased = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+    var familiar = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .familiarWords(Set.of("the", "cat")) //
+        .build();
+    var numbersExcluded = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.coreNlp(CoreNlpPipeline.defaultPipeline(),
+            TokenFilterPolicy.builder().excludeNumbers(true).build())) //
+        .build();
+    TokenizerEngine custom = (content, visitor) -> {};
+    var customTokenizer = ReadabilityAnalyzer.builder().tokenizer(custom).build();
+
+    assertEquals(ruleBased.getFingerprint(), sameRuleBased.getFingerprint());
+    assertNotEquals(ruleBased.getFingerprint(), familiar.getFingerprint());
+    assertNotEquals(ReadabilityAnalyzer.defaultAnalyzer().getFingerprint(), numbersExcluded.getFingerprint());
+    assertNotEquals(ruleBased.getFingerprint(), customTokenizer.getFingerprint());
+    assertNotEquals(customTokenizer.getFingerprint(),
+        ReadabilityAnalyzer.builder().tokenizer((content, visitor) -> {}).build().getFingerprint());
+  }
+
+  @Test
+  void testAnalyze_withAnalyzerResultCache() {
+    var cache = ResultCache.builder().build();
+    var analyzer = ReadabilityAnalyzer.builder() //
+        .tokenizer(TokenizerEngine.ruleBased()) //
+        .resultCache(cache) //
+        .build();
+    var content = TokenizerEngineTest.corpus("cinderella");
+
+    var first = analyzer.analyze(content);
+    var second = analyzer.analyze(content);
+
+    assertEquals(first, second);
+    assertEquals(1, cache.stats().getHitCount());
+    assertEquals(0, analyzer.analyze((String) null).getWordCount());
+  }
+
+}
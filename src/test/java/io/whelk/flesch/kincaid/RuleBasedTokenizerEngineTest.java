@@ -0,0 +1,83 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RuleBasedTokenizerEngineTest {
+
+  private static List<List<String>> tokenize(String content) {
+    return TokenizerEngineTest.tokenize(TokenizerEngine.ruleBased(), content);
+  }
+
+  @Test
+  void testTokenize_withNillContent() {
+    assertTrue(tokenize("").isEmpty());
+    assertTrue(tokenize(" \n ").isEmpty());
+  }
+
+  @Test
+  void testTokenize_withContent() {
+    var result = tokenize(ReadabilityCalculatorTest.DEFAULT_SENTENCE);
+
+    assertEquals(List.of(List.of("The", "quick", "brown", "fox", "jumps", "over", "the", "lazy", "dog")), result);
+  }
+
+  @Test
+  void testTokenize_withPossessive() {
+    var result = tokenize("The man's hat and the dogs' bowls.");
+
+    assertEquals(List.of(List.of("The", "man", "hat", "and", "the", "dogs", "bowls")), result);
+  }
+
+  @Test
+  void testTokenize_withContractions() {
+    var result = tokenize("I'm sure it's fine, but we can't stay.");
+
+    assertEquals(List.of(List.of("I", "'m", "sure", "it", "'s", "fine", "but", "we", "ca", "n't", "stay")), result);
+  }
+
+  @Test
+  void testTokenize_withSymbols() {
+    var result = tokenize("Costs rose 5% (or $20) -- see #4 & more.");
+
+    assertEquals(List.of(List.of("Costs", "rose", "5", "%", "or", "20", "see", "4", "&", "more")), result);
+  }
+
+  @Test
+  void testTokenize_withAbbreviations() {
+    var result = tokenize("Dr. Smith met J. R. Jones in the U.S. on Monday. He left.");
+
+    assertEquals(2, result.size());
+    assertEquals(List.of("Dr.", "Smith", "met", "J.", "R.", "Jones", "in", "the", "U.S.", "on", "Monday"), result.get(0));
+    assertEquals(List.of("He", "left"), result.get(1));
+  }
+
+  @Test
+  void testTokenize_withNumbers() {
+    var result = tokenize("About 3.5 million, or 3,500,000.");
+
+    assertEquals(List.of(List.of("About", "3.5", "million", "or", "3,500,000")), result);
+  }
+
+  @Test
+  void testTokenize_withQuotedSentence() {
+    var result = tokenize("She said, \"Stay here.\" Then she left! Why?");
+
+    assertEquals(3, result.size());
+    assertEquals(List.of("She", "said", "Stay", "here"), result.get(0));
+    assertEquals(List.of("Then", "she", "left"), result.get(1));
+    assertEquals(List.of("Why"), result.get(2));
+  }
+
+  @Test
+  void testTokenize_withParagraphs() {
+    var result = tokenize("First heading\n\nSecond heading");
+
+    assertEquals(List.of(List.of("First", "heading"), List.of("Second", "heading")), result);
+  }
+
+}
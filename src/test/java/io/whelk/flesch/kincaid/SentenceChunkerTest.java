@@ -0,0 +1,79 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SentenceChunkerTest {
+
+  private static List<String> chunks(String content, int chunkSize) throws IOException {
+    var chunker = new SentenceChunker(new StringReader(content), chunkSize);
+    var chunks = new ArrayList<String>();
+
+    for (var chunk = chunker.next(); chunk != null; chunk = chunker.next())
+      chunks.add(chunk);
+
+    return chunks;
+  }
+
+  @Test
+  void testNext_withNillContent() throws IOException {
+    var chunker = new SentenceChunker(new StringReader(""), 16);
+
+    assertNull(chunker.next());
+  }
+
+  @Test
+  void testNext_withContentSmallerThanChunk() throws IOException {
+    assertEquals(List.of("One. Two."), chunks("One. Two.", 64));
+  }
+
+  @Test
+  void testNext_withParagraphs() throws IOException {
+    var result = chunks("First one. Still first.\n\nSecond one. Still second.", 32);
+
+    assertEquals(List.of("First one. Still first.\n\n", "Second one. Still second."), result);
+  }
+
+  @Test
+  void testNext_withSentences() throws IOException {
+    var result = chunks("The dog ran. Mr. Hale said \"Stop!\" Then it sat.", 40);
+
+    assertEquals(List.of("The dog ran. Mr. Hale said \"Stop!\" ", "Then it sat."), result);
+  }
+
+  @Test
+  void testNext_withAbbreviation() throws IOException {
+    var result = chunks("It was Mr. Hale and Dr. Patel", 1);
+
+    assertEquals("It was Mr. Hale ", result.get(0));
+  }
+
+  @Test
+  void testNext_withLongSentence() throws IOException {
+    var content = "one two three four five six seven eight nine ten.";
+    var result = chunks(content, 8);
+
+    assertEquals(List.of(content), result);
+  }
+
+  @Test
+  void testNext_withOversizedSentence() throws IOException {
+    var result = chunks("aaaa bbbb cccc dddd", 1);
+
+    assertEquals(List.of("aaaa bbbb cccc ", "dddd"), result);
+  }
+
+  @Test
+  void testNew_withInvalidChunkSize() {
+    assertThrows(IllegalArgumentException.class, () -> new SentenceChunker(new StringReader(""), 0));
+  }
+
+}
@@ -0,0 +1,143 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SyllableCacheTest {
+
+  private final AtomicInteger delegateCalls = new AtomicInteger();
+
+  private final SyllableCounter delegate = word -> {
+    delegateCalls.incrementAndGet();
+    return word.length();
+  };
+
+  @Test
+  void testCountSyllables_withNullWord() {
+    var cache = SyllableCache.builder().delegate(delegate).build();
+
+    assertEquals(0, cache.countSyllables(null));
+    assertEquals(0, cache.countSyllables(" "));
+    assertEquals(0, delegateCalls.get());
+  }
+
+  @Test
+  void testCountSyllables_withRepeatedWord() {
+    var cache = SyllableCache.builder().delegate(delegate).build();
+
+    assertEquals(3, cache.countSyllables("the"));
+    assertEquals(3, cache.countSyllables("the"));
+    assertEquals(3, cache.countSyllables("The"));
+
+    var stats = cache.stats();
+    assertEquals(1, delegateCalls.get());
+    assertEquals(2, stats.getHitCount());
+    assertEquals(1, stats.getMissCount());
+    assertEquals(1, stats.getSize());
+    assertEquals(2.0 / 3.0, stats.getHitRate());
+  }
+
+  @Test
+  void testCountSyllables_withCharSequenceView() {
+    var cache = SyllableCache.builder().delegate(delegate).build();
+    var content = "Her stepchild and her mother.";
+
+    assertEquals(9, cache.countSyllables(new CharSlice().reset(content, 4, 13)));
+    assertEquals(9, cache.countSyllables("STEPCHILD"));
+    assertEquals(3, cache.countSyllables(new CharSlice().reset(content, 0, 3)));
+    assertEquals(3, cache.countSyllables(new CharSlice().reset(content, 18, 21)));
+
+    assertEquals(2, delegateCalls.get());
+    assertEquals(2, cache.stats().getHitCount());
+  }
+
+  @Test
+  void testCountSyllables_withEviction() {
+    var cache = SyllableCache.builder().delegate(delegate).maximumSize(4).concurrencyLevel(1).build();
+
+    for (var word : List.of("a", "bb", "ccc", "dddd", "eeeee", "ffffff"))
+      cache.countSyllables(word);
+
+    assertEquals(4, cache.size());
+    assertEquals(2, cache.stats().getEvictionCount());
+
+    // least recently used entries were evicted
+    cache.countSyllables("a");
+    assertEquals(7, delegateCalls.get());
+  }
+
+  @Test
+  void testCountSyllables_withConcurrentLookups() throws Exception {
+    var cache = SyllableCache.builder().delegate(delegate).maximumSize(64).build();
+    var executor = Executors.newFixedThreadPool(8);
+    var tasks = new ArrayList<Callable<Integer>>();
+
+    for (var t = 0; t < 8; t++) {
+      tasks.add(() -> {
+        var total = 0;
+        for (var i = 0; i < 10_000; i++)
+          total += cache.countSyllables("w" + (i % 32));
+        return total;
+      });
+    }
+
+    try {
+      for (var future : executor.invokeAll(tasks))
+        assertEquals(26_870, future.get());
+    } finally {
+      executor.shutdown();
+    }
+
+    var stats = cache.stats();
+    assertEquals(80_000, stats.getHitCount() + stats.getMissCount());
+    assertTrue(cache.size() <= 64);
+  }
+
+  @Test
+  void testWarmUp_withWords() {
+    var cache = SyllableCache.builder().delegate(delegate).build();
+    var loaded = cache.warmUp(List.of("the", "and", "her", "The", " "));
+
+    assertEquals(3, loaded);
+    assertEquals(3, cache.size());
+
+    cache.countSyllables("and");
+    assertEquals(1, cache.stats().getHitCount());
+    assertEquals(0, cache.stats().getMissCount());
+  }
+
+  @Test
+  void testWarmUp_withWordListBeyondCapacity(@TempDir Path directory) throws IOException {
+    var wordList = directory.resolve("frequencies.txt");
+    Files.write(wordList, List.of("# word count", "the 56271872", "of 33950064", "and 29944184", "to 25956096"));
+
+    var cache = SyllableCache.builder().delegate(delegate).maximumSize(2).concurrencyLevel(1).build();
+    var loaded = cache.warmUp(wordList);
+
+    assertEquals(2, loaded);
+    assertEquals(0, cache.stats().getEvictionCount());
+
+    cache.countSyllables("the");
+    cache.countSyllables("of");
+    assertEquals(2, cache.stats().getHitCount());
+  }
+
+  @Test
+  void testBuilder_withNegativeSize() {
+    assertThrows(IllegalArgumentException.class, () -> SyllableCache.builder().maximumSize(-1).build());
+  }
+
+}
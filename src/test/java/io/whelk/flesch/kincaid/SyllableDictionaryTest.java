@@ -0,0 +1,146 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SyllableDictionaryTest {
+
+  @TempDir
+  Path directory;
+
+  private SyllableDictionary dictionary(List<String> words, SyllableCounter fallback) throws IOException {
+    var file = directory.resolve("syllables.dict");
+    SyllableDictionary.write(words, word -> word.length(), file);
+    return SyllableDictionary.open(file, fallback);
+  }
+
+  @Test
+  void testCountSyllables_withDictionaryWords() throws IOException {
+    var dictionary = dictionary(List.of("cat", "elephant", "a", "banana", "zebra"), word -> -1);
+
+    assertEquals(5, dictionary.size());
+    assertEquals(3, dictionary.countSyllables("cat"));
+    assertEquals(8, dictionary.countSyllables("Elephant"));
+    assertEquals(1, dictionary.countSyllables("A"));
+    assertEquals(6, dictionary.countSyllables(new CharSlice().reset("a banana split", 2, 8)));
+  }
+
+  @Test
+  void testCountSyllables_withFallback() throws IOException {
+    var dictionary = dictionary(List.of("cat", "dog"), word -> 42);
+
+    assertEquals(42, dictionary.countSyllables("bird"));
+    assertEquals(42, dictionary.countSyllables("ca"));
+    assertEquals(42, dictionary.countSyllables("cats"));
+    assertEquals(42, dictionary.countSyllables("café"));
+  }
+
+  @Test
+  void testCountSyllables_withHyphenation() throws IOException {
+    var words = Arrays.asList(TokenizerEngineTest.corpus("gettysburg").split("[^A-Za-z]+"));
+    var file = directory.resolve("gettysburg.dict");
+    var hyphenation = SyllableCounter.hyphenation();
+
+    SyllableDictionary.write(words, file);
+    var dictionary = SyllableDictionary.open(file);
+
+    for (var word : words)
+      assertEquals(hyphenation.countSyllables(word.toLowerCase()), dictionary.countSyllables(word), word);
+    assertEquals(0, dictionary.countSyllables((String) null));
+    assertEquals(0, dictionary.countSyllables(" "));
+  }
+
+  @Test
+  void testDefaultDelegate_withDictionaryProperty() throws IOException {
+    var file = directory.resolve("syllables.dict");
+    SyllableDictionary.write(List.of("cat"), word -> 7, file);
+    var properties = new Properties();
+
+    assertSame(SyllableCounter.hyphenation(), SyllableCache.defaultDelegate(properties));
+
+    properties.setProperty(SyllableCache.DICTIONARY_PROPERTY, file.toString());
+    var counter = SyllableCache.defaultDelegate(properties);
+    assertEquals(7, counter.countSyllables("cat"));
+    assertEquals(SyllableCounter.hyphenation().countSyllables("dog"), counter.countSyllables("dog"));
+
+    properties.setProperty(SyllableCache.DICTIONARY_PROPERTY, directory.resolve("missing.dict").toString());
+    assertThrows(UncheckedIOException.class, () -> SyllableCache.defaultDelegate(properties));
+  }
+
+  @Test
+  void testContains_withSkippedWords() throws IOException {
+    var dictionary = dictionary(Arrays.asList("Apple", "apple", " pear ", "x-ray", "naïve", "", null), word -> 1);
+
+    assertEquals(2, dictionary.size());
+    assertTrue(dictionary.contains("APPLE"));
+    assertTrue(dictionary.contains("pear"));
+    assertFalse(dictionary.contains("x-ray"));
+    assertFalse(dictionary.contains("naïve"));
+  }
+
+  @Test
+  void testWrite_withWordList() throws IOException {
+    var wordList = directory.resolve("words.txt");
+    Files.writeString(wordList, "# word count\nthe 1000\nof 900\n\nreadability 12\n");
+
+    assertEquals(3, SyllableDictionary.write(wordList, directory.resolve("words.dict")));
+    assertTrue(SyllableDictionary.open(directory.resolve("words.dict")).contains("readability"));
+  }
+
+  @Test
+  void testOpen_withEmptyDictionary() throws IOException {
+    var dictionary = dictionary(List.of(), word -> 7);
+
+    assertEquals(0, dictionary.size());
+    assertEquals(7, dictionary.countSyllables("anything"));
+  }
+
+  @Test
+  void testOpen_withInvalidFile() throws IOException {
+    var file = directory.resolve("bogus.dict");
+    Files.writeString(file, "not a dictionary at all");
+
+    assertThrows(IllegalArgumentException.class, () -> SyllableDictionary.open(file));
+  }
+
+  @Test
+  void testOpen_withCorruptHeader() throws IOException {
+    var file = directory.resolve("syllables.dict");
+    SyllableDictionary.write(List.of("cat", "dog", "emu"), word -> 1, file);
+    var valid = Files.readAllBytes(file);
+
+    var overflowingSize = valid.clone();
+    ByteBuffer.wrap(overflowingSize).putInt(8, Integer.MAX_VALUE);
+    Files.write(file, overflowingSize);
+    assertThrows(IllegalArgumentException.class, () -> SyllableDictionary.open(file));
+
+    var decreasingOffset = valid.clone();
+    ByteBuffer.wrap(decreasingOffset).putInt(12 + 2 * Integer.BYTES, 1);
+    Files.write(file, decreasingOffset);
+    assertThrows(IllegalArgumentException.class, () -> SyllableDictionary.open(file));
+
+    var outOfBoundsOffset = valid.clone();
+    ByteBuffer.wrap(outOfBoundsOffset).putInt(12 + 2 * Integer.BYTES, 1 << 20);
+    Files.write(file, outOfBoundsOffset);
+    assertThrows(IllegalArgumentException.class, () -> SyllableDictionary.open(file));
+
+    Files.write(file, Arrays.copyOf(valid, valid.length - 1));
+    assertThrows(IllegalArgumentException.class, () -> SyllableDictionary.open(file));
+  }
+
+}
@@ -0,0 +1,85 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.whelk.flesch.kincaid.PennTreebankValidator.PennTreebankTag;
+
+class TokenFilterPolicyTest {
+
+  @Test
+  void testAccepts_withDefaultPolicy() {
+    var policy = TokenFilterPolicy.defaultPolicy();
+
+    assertTrue(policy.accepts("NN"));
+    assertTrue(policy.accepts("PRP$"));
+    assertTrue(policy.accepts("CD"));
+    assertTrue(policy.accepts("FW"));
+    assertFalse(policy.accepts("POS"));
+    assertFalse(policy.accepts("SYM"));
+    assertFalse(policy.accepts("XYZ"));
+    assertFalse(policy.accepts(""));
+    assertFalse(policy.accepts(null));
+  }
+
+  @Test
+  void testAccepts_withPunctuationTags() {
+    var policy = TokenFilterPolicy.defaultPolicy();
+
+    for (var tag : PennTreebankTag.values())
+      if (tag.isPunctuation())
+        assertFalse(policy.accepts(tag.getTag()), tag.getTag());
+  }
+
+  @Test
+  void testAccepts_withExcludedNumbersAndForeignWords() {
+    var policy = TokenFilterPolicy.builder() //
+        .excludeNumbers(true) //
+        .excludeForeignWords(true) //
+        .build();
+
+    assertFalse(policy.accepts("CD"));
+    assertFalse(policy.accepts("FW"));
+    assertTrue(policy.accepts("NN"));
+  }
+
+  @Test
+  void testAccepts_withExcludedTags() {
+    var policy = TokenFilterPolicy.builder().excludedTags(Set.of("UH", "LS")).build();
+
+    assertFalse(policy.accepts("UH"));
+    assertFalse(policy.accepts("LS"));
+    assertTrue(policy.accepts("CD"));
+  }
+
+  @Test
+  void testBuilder_withUnknownExcludedTag() {
+    assertThrows(IllegalArgumentException.class,
+        () -> TokenFilterPolicy.builder().excludedTags(Set.of("NOUN")).build());
+  }
+
+  @Test
+  void testTokenize_withExcludedNumbers() {
+    var policy = TokenFilterPolicy.builder().excludeNumbers(true).build();
+    var engine = TokenizerEngine.coreNlp(CoreNlpPipeline.defaultPipeline(), policy);
+    var content = "She bought 3 apples and 12 pears.";
+
+    assertEquals(List.of(List.of("She", "bought", "apples", "and", "pears")),
+        TokenizerEngineTest.tokenize(engine, content));
+    assertEquals(List.of(List.of("She", "bought", "3", "apples", "and", "12", "pears")),
+        TokenizerEngineTest.tokenize(TokenizerEngine.coreNlp(), content));
+  }
+
+  @Test
+  void testTagIds_withinBitset() {
+    assertTrue(PennTreebankTag.values().length <= Long.SIZE);
+  }
+
+}
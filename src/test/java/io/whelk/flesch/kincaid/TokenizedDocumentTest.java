@@ -0,0 +1,164 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TokenizedDocumentTest {
+
+  @Test
+  void testToReport_withCorpus() {
+    for (var name : TokenizerEngineTest.CORPUS) {
+      var content = TokenizerEngineTest.corpus(name);
+
+      assertEquals(ReadabilityAnalyzer.defaultAnalyzer().analyze(content),
+          ReadabilityCalculator.analyze(Tokenizer.tokenizeDocument(content)), name);
+    }
+  }
+
+  @Test
+  void testTokenizeDocument_withSentences() {
+    var content = TokenizerEngineTest.corpus("dialogue");
+
+    assertEquals(Tokenizer.tokenizeDocument(content),
+        Tokenizer.tokenizeDocument(Tokenizer.tokenizeContent(content)));
+  }
+
+  @Test
+  void testTokenizeDocument_withNullContent() {
+    var document = Tokenizer.tokenizeDocument((String) null);
+
+    assertEquals(0, document.tokenCount());
+    assertEquals(0, document.sentenceCount());
+    assertEquals(Double.NaN, document.toReport().getReadingEase());
+  }
+
+  @Test
+  void testToken_withPunctuation() {
+    var document = Tokenizer.tokenizeDocument("Hello, world.");
+
+    assertEquals(4, document.tokenCount());
+    assertEquals(1, document.sentenceCount());
+    assertEquals(4, document.sentenceEnd(0));
+    assertEquals("Hello", document.token(0).toString());
+    assertEquals(7, document.tokenBegin(2));
+    assertEquals(12, document.tokenEnd(2));
+    assertTrue(document.isWord(0));
+    assertFalse(document.isWord(1));
+    assertEquals(0, document.syllables(1));
+  }
+
+  @Test
+  void testAccept_withCoreNlpEngine() {
+    var content = TokenizerEngineTest.corpus("cinderella");
+    var document = Tokenizer.tokenizeDocument(content);
+    var words = new ArrayList<String>();
+    var ends = new ArrayList<Integer>();
+
+    document.accept(new TokenVisitor() {
+
+      @Override
+      public void word(CharSequence word) {
+        words.add(word.toString());
+      }
+
+      @Override
+      public void endSentence() {}
+
+      @Override
+      public void endSentence(int end) {
+        ends.add(end);
+      }
+
+    });
+
+    var expected = TokenizerEngineTest.tokenize(TokenizerEngine.coreNlp(), content);
+    assertEquals(expected.stream().mapToInt(List::size).sum(), words.size());
+    assertEquals(expected.size(), ends.size());
+    assertEquals(content.stripTrailing().length(), ends.get(ends.size() - 1));
+  }
+
+  @Test
+  void testRead_withWrittenDocument() throws IOException {
+    var document = Tokenizer.tokenizeDocument(TokenizerEngineTest.corpus("technical"));
+
+    var read = roundTrip(document);
+
+    assertEquals(document, read);
+    assertEquals(document.toReport(), read.toReport());
+  }
+
+  @Test
+  void testRead_withUnpairedSurrogate() throws IOException {
+    var builder = new TokenizedDocument.Builder("caf\uD800 bar\uDC00");
+    builder.token(0, 4, 1);
+    builder.token(5, 9, 1);
+    builder.endSentence();
+    var document = builder.build();
+
+    var read = roundTrip(document);
+
+    assertEquals(document, read);
+    assertEquals("bar\uDC00", read.token(1).toString());
+  }
+
+  @Test
+  void testRead_withCorruptCounts() throws IOException {
+    var builder = new TokenizedDocument.Builder("one two");
+    builder.token(0, 3, 1);
+    builder.token(4, 7, 1);
+    builder.endSentence();
+    var bytes = new ByteArrayOutputStream();
+    builder.build().write(new DataOutputStream(bytes));
+    var valid = bytes.toByteArray();
+    // version, text length, one chunk of 2 + 7 bytes, token count, offsets, flags, sentence count, end
+    var textLength = 4;
+    var tokenCount = 17;
+    var firstOffset = 21;
+    var sentenceEnd = 43;
+
+    for (var corrupt : new int[][] { { textLength, -1 }, { textLength, 3 }, { tokenCount, Integer.MAX_VALUE },
+        { tokenCount, 1 << 28 }, { firstOffset, 8 }, { sentenceEnd, 3 } }) {
+      var bytesCopy = valid.clone();
+      ByteBuffer.wrap(bytesCopy).putInt(corrupt[0], corrupt[1]);
+      var in = new DataInputStream(new ByteArrayInputStream(bytesCopy));
+
+      assertThrows(IOException.class, () -> TokenizedDocument.read(in), corrupt[0] + " = " + corrupt[1]);
+    }
+  }
+
+  @Test
+  void testRead_withUnknownVersion() {
+    var in = new DataInputStream(new ByteArrayInputStream(new byte[] { 0, 0, 0, 9 }));
+
+    assertThrows(IOException.class, () -> TokenizedDocument.read(in));
+  }
+
+  @Test
+  void testBuilder_withSaturatedSyllables() {
+    var builder = new TokenizedDocument.Builder("x");
+    builder.token(0, 1, 500);
+    builder.endSentence();
+
+    assertEquals(TokenizedDocument.MAX_SYLLABLES, builder.build().syllables(0));
+  }
+
+  static TokenizedDocument roundTrip(TokenizedDocument document) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    document.write(new DataOutputStream(bytes));
+    return TokenizedDocument.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+}
@@ -0,0 +1,123 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class TokenizerEngineTest {
+
+  static final List<String> CORPUS = List.of("cinderella", "gettysburg", "dialogue", "technical");
+
+  /** maximum tolerated reading ease drift of the rule-based engine, in points */
+  static final double MAX_READING_EASE_DRIFT = 2.0;
+
+  /** maximum tolerated grade level drift of the rule-based engine, in grades */
+  static final double MAX_GRADE_LEVEL_DRIFT = 0.5;
+
+  static String corpus(String name) {
+    try (InputStream in = TokenizerEngineTest.class.getResourceAsStream("corpus/" + name + ".txt")) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static List<List<String>> tokenize(TokenizerEngine engine, String content) {
+    var sentences = new ArrayList<List<String>>();
+    var current = new ArrayList<String>();
+
+    engine.tokenize(content, new TokenVisitor() {
+
+      @Override
+      public void word(CharSequence word) {
+        current.add(word.toString());
+      }
+
+      @Override
+      public void endSentence() {
+        sentences.add(new ArrayList<>(current));
+        current.clear();
+      }
+
+    });
+
+    return sentences;
+  }
+
+  @Test
+  void testTokenize_withNullContent() {
+    for (var engine : List.of(TokenizerEngine.coreNlp(), TokenizerEngine.ruleBased()))
+      assertTrue(tokenize(engine, null).isEmpty());
+  }
+
+  @Test
+  void testTokenize_withSentenceOffsets() {
+    var content = "One two. Three four!\n\nFive six";
+
+    for (var engine : List.of(TokenizerEngine.coreNlp(), TokenizerEngine.ruleBased())) {
+      var ends = new ArrayList<Integer>();
+      engine.tokenize(content, new TokenVisitor() {
+
+        @Override
+        public void word(CharSequence word) {}
+
+        @Override
+        public void endSentence() {}
+
+        @Override
+        public void endSentence(int end) {
+          ends.add(end);
+        }
+
+      });
+
+      assertEquals(List.of(8, 20, 30), ends);
+    }
+  }
+
+  @Test
+  void testTokenize_withCoreNlpMatchingTokenizer() {
+    for (var name : CORPUS) {
+      var content = corpus(name);
+      var sentences = tokenize(TokenizerEngine.coreNlp(), content);
+      var expected = Tokenizer.tokenizeSentences(Tokenizer.tokenizeContent(content));
+
+      assertEquals(Tokenizer.tokenizeContent(content).size(), sentences.size(), name);
+      assertEquals(expected, sentences.stream().flatMap(List::stream).collect(Collectors.toList()), name);
+    }
+  }
+
+  @Test
+  void testTokenize_withCorpusDrift() {
+    var coreNlp = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.coreNlp()).build();
+    var ruleBased = ReadabilityAnalyzer.builder().tokenizer(TokenizerEngine.ruleBased()).build();
+
+    for (var name : CORPUS) {
+      var content = corpus(name);
+      var expected = coreNlp.analyze(content);
+      var actual = ruleBased.analyze(content);
+
+      var easeDrift = actual.getReadingEase() - expected.getReadingEase();
+      var gradeDrift = actual.getGradeLevel() - expected.getGradeLevel();
+      var drift = String.format("%s drift: sentences %+d, words %+d, syllables %+d, ease %+.3f, grade %+.3f", //
+          name, //
+          actual.getSentenceCount() - expected.getSentenceCount(), //
+          actual.getWordCount() - expected.getWordCount(), //
+          actual.getSyllableCount() - expected.getSyllableCount(), //
+          easeDrift, gradeDrift);
+
+      assertTrue(Math.abs(easeDrift) <= MAX_READING_EASE_DRIFT, drift);
+      assertTrue(Math.abs(gradeDrift) <= MAX_GRADE_LEVEL_DRIFT, drift);
+    }
+  }
+
+}
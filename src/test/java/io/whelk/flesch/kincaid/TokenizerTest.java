@@ -44,6 +44,16 @@ class TokenizerTest {
     assertTrue(ReadabilityCalculatorTest.DEFAULT_SENTENCE.equals(result.get(0).text()));
   }
 
+  @Test
+  void testTokenizeContent_withDefaultPipeline() {
+    var result = Tokenizer.tokenizeContent("The fox ran. It hid!");
+
+    assertTrue(CoreNlpPipeline.defaultPipeline().isLoaded());
+    assertEquals(2, result.size());
+    assertEquals(Arrays.asList("DT", "NN", "VBD", "."), result.get(0).posTags());
+    assertEquals("hid", result.get(1).word(1));
+  }
+
   @Test
   void testTokenizeSentences_withNullList() {
     List<Sentence> sentences = null;
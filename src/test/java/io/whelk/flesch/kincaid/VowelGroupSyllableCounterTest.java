@@ -0,0 +1,83 @@
+package io.whelk.flesch.kincaid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class VowelGroupSyllableCounterTest {
+
+  static void assertSyllables(SyllableCounter counter, Map<String, Integer> expected) {
+    expected.forEach((word, syllables) -> assertEquals(syllables, counter.countSyllables(word), word));
+  }
+
+  @Test
+  void testCountSyllables_withNullWord() {
+    var counter = SyllableCounter.vowelGroups("aeiou");
+
+    assertEquals(0, counter.countSyllables((String) null));
+    assertEquals(0, counter.countSyllables(" "));
+    assertEquals(1, counter.countSyllables("17"));
+    assertEquals(1, counter.countSyllables("psst"));
+  }
+
+  @Test
+  void testCountSyllables_withVowelGroups() {
+    assertSyllables(SyllableCounter.vowelGroups("aeiou"), Map.of( //
+        "banana", 3, //
+        "Boat", 1, //
+        "ROUTINE", 3));
+  }
+
+  @Test
+  void testCountSyllables_withGerman() {
+    assertSyllables(VowelGroupSyllableCounter.GERMAN, Map.of( //
+        "Mädchen", 2, //
+        "Straße", 2, //
+        "Fräulein", 2, //
+        "Schmetterling", 3, //
+        "Übung", 2));
+  }
+
+  @Test
+  void testCountSyllables_withFrench() {
+    assertSyllables(VowelGroupSyllableCounter.FRENCH, Map.of( //
+        "fromage", 2, //
+        "tables", 1, //
+        "beaucoup", 2, //
+        "école", 2, //
+        "Noël", 2, //
+        "été", 2));
+  }
+
+  @Test
+  void testCountSyllables_withSpanish() {
+    assertSyllables(VowelGroupSyllableCounter.SPANISH, Map.of( //
+        "día", 2, //
+        "poeta", 3, //
+        "ciudad", 2, //
+        "cuando", 2, //
+        "mayo", 2, //
+        "hoy", 1, //
+        "canción", 2));
+  }
+
+  @Test
+  void testCountSyllables_withEnglishLoanwords() {
+    assertSyllables(VowelGroupSyllableCounter.ENGLISH, Map.of( //
+        "café", 2, //
+        "naïve", 2, //
+        "résumé", 3));
+  }
+
+  @Test
+  void testHyphenation_withAccentedWord() {
+    var counter = SyllableCounter.hyphenation();
+
+    assertEquals(2, counter.countSyllables("café"));
+    assertEquals(2, counter.countSyllables("naïve"));
+    assertEquals(1, counter.countSyllables("U.S."));
+  }
+
+}